@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compares time to readiness, first request latency and resident memory of the
+# plain JVM build, the JVM build with an AppCDS archive, a CRaC restore and the
+# native build. Everything runs with the inmemory profile so no Mongo instance
+# is needed; modes whose artifacts are missing are skipped.
+#
+#   mvn -DskipTests package                 (jvm)
+#   mvn -Pcds -DskipTests package           (cds, needs the jvm jar)
+#   scripts/startup-report.sh --checkpoint  (crac, needs a CRaC JDK)
+#   mvn -Pnative -DskipTests native:compile (native)
+#   scripts/startup-report.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-19090}"
+BASE_URL="http://localhost:${PORT}/spring-boot-testing"
+APP_ARGS=(--spring.profiles.active=inmemory --server.port="${PORT}" --app.in-memory.snapshot-file= --app.warm-up.enabled=false)
+JAR="$(ls target/spring-boot-testing-*.jar 2> /dev/null | grep -v plain | head -n 1 || true)"
+CDS_JAR="target/cds/$(basename "${JAR:-none}")"
+CDS_ARCHIVE="target/cds/application.jsa"
+CRAC_DIRECTORY="target/crac"
+NATIVE="target/spring-boot-testing"
+
+now_millis() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+if [[ "${1:-}" == "--checkpoint" ]]; then
+    rm -rf "${CRAC_DIRECTORY}"
+    java --enable-preview -XX:CRaCCheckpointTo="${CRAC_DIRECTORY}" -Dspring.context.checkpoint=onRefresh -Dapp.crac.enabled=true \
+        -jar "${JAR}" "${APP_ARGS[@]}" || true
+    exit 0
+fi
+RUNS="${1:-5}"
+
+# Starts the command, waits until the readiness probe answers, times one API
+# request, then prints "<millis to ready> <first request millis> <rss kB>".
+measure() {
+    local start pid ready first_request rss
+    start="$(now_millis)"
+    "$@" > target/startup-report.log 2>&1 &
+    pid=$!
+    until curl -sf "${BASE_URL}/actuator/health/readiness" > /dev/null; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "Application exited during startup, see target/startup-report.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    ready=$(($(now_millis) - start))
+    first_request="$(curl -s -o /dev/null -w '%{time_total}' "${BASE_URL}/api/v1/categories" | awk '{ printf "%d", $1 * 1000 }')"
+    rss="$(awk '/VmRSS/ { print $2 }' "/proc/${pid}/status")"
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+    echo "${ready} ${first_request} ${rss}"
+}
+
+report() {
+    local name="$1"
+    shift
+    local total_ready=0 total_first_request=0 total_rss=0 ready first_request rss
+    for _ in $(seq "${RUNS}"); do
+        read -r ready first_request rss <<< "$(measure "$@")"
+        total_ready=$((total_ready + ready))
+        total_first_request=$((total_first_request + first_request))
+        total_rss=$((total_rss + rss))
+    done
+    printf "%-8s %12d %20d %12d\n" "${name}" $((total_ready / RUNS)) $((total_first_request / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+printf "%-8s %12s %20s %12s\n" "mode" "ready (ms)" "first request (ms)" "rss (MB)"
+[[ -f "${JAR}" ]] && report jvm java --enable-preview -jar "${JAR}" "${APP_ARGS[@]}"
+[[ -f "${CDS_ARCHIVE}" ]] && report cds java --enable-preview -XX:SharedArchiveFile="${CDS_ARCHIVE}" -jar "${CDS_JAR}" "${APP_ARGS[@]}"
+[[ -d "${CRAC_DIRECTORY}" ]] && report crac java -XX:CRaCRestoreFrom="${CRAC_DIRECTORY}"
+[[ -x "${NATIVE}" ]] && report native "${NATIVE}" "${APP_ARGS[@]}"
+exit 0
@@ -1,9 +1,12 @@
 package com.example.testing;
 
+import com.example.testing.config.CatalogRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(CatalogRuntimeHints.class)
 public class SpringBootTestingApplication {
 
     public static void main(String[] args) {
@@ -1,6 +1,8 @@
 package com.example.testing.advice;
 
 import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.exception.ResourceNotFoundException;
+import com.example.testing.exception.ServiceOverloadedException;
 import com.example.testing.model.ApiError;
 import com.example.testing.model.ValidationError;
 import lombok.extern.log4j.Log4j2;
@@ -14,14 +16,21 @@ import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @ControllerAdvice
 @Log4j2
 public class GeneralExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private final LogRateLimiter notFoundLogRateLimiter = new LogRateLimiter(10, Duration.ofSeconds(1));
+
     @ExceptionHandler(InvalidRequestException.class)
     public ResponseEntity<ApiError> handleInvalidRequest(InvalidRequestException e, WebRequest webRequest) {
         log.error(e.getMessage(), e);
@@ -32,6 +41,27 @@ public class GeneralExceptionHandler extends ResponseEntityExceptionHandler {
     }
 
 
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ApiError> handleResourceNotFound(ResourceNotFoundException e, WebRequest webRequest) {
+        String message = e.describe(resolvePathId(webRequest));
+        String path = webRequest.getDescription(false);
+        long suppressed = notFoundLogRateLimiter.tryAcquire();
+        if (suppressed >= 0) {
+            log.warn("{} ({}, {} similar messages suppressed)", message, path, suppressed);
+        }
+        return new ResponseEntity<>(
+                new ApiError("INVALID_REQUEST", message, path),
+                HttpStatus.BAD_REQUEST
+        );
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiError> handleServiceOverloaded(ServiceOverloadedException e, WebRequest webRequest) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(new ApiError("SERVICE_OVERLOADED", e.getMessage(), webRequest.getDescription(false)));
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex, @NonNull HttpHeaders headers, @NonNull HttpStatusCode httpStatusCode, WebRequest request) {
         ValidationError validationError = new ValidationError(request.getDescription(false), "Invalid Request Data, Your request is either missing required data or contains invalid values");
@@ -41,4 +71,12 @@ public class GeneralExceptionHandler extends ResponseEntityExceptionHandler {
         globalErrors.forEach(globalError -> validationError.addError(globalError.getObjectName(), globalError.getDefaultMessage()));
         return new ResponseEntity<>(validationError, HttpStatus.BAD_REQUEST);
     }
+
+    private String resolvePathId(WebRequest webRequest) {
+        Object uriVariables = webRequest.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (uriVariables instanceof Map<?, ?> variables && variables.get("id") != null) {
+            return variables.get("id").toString();
+        }
+        return "unknown";
+    }
 }
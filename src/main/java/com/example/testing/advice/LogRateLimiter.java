@@ -0,0 +1,36 @@
+package com.example.testing.advice;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LogRateLimiter {
+
+    private final int permitsPerWindow;
+    private final long windowNanos;
+    private final AtomicLong windowStart;
+    private final AtomicLong permitsUsed = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    LogRateLimiter(int permitsPerWindow, Duration window) {
+        this.permitsPerWindow = permitsPerWindow;
+        this.windowNanos = window.toNanos();
+        this.windowStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Returns the number of messages suppressed since the last permitted one,
+     * or -1 when this message should be suppressed as well.
+     */
+    long tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            permitsUsed.set(0);
+        }
+        if (permitsUsed.incrementAndGet() <= permitsPerWindow) {
+            return suppressed.getAndSet(0);
+        }
+        suppressed.incrementAndGet();
+        return -1;
+    }
+}
@@ -1,30 +1,87 @@
 package com.example.testing.aop;
 
+import com.example.testing.jfr.ControllerInvocationEvent;
+import com.example.testing.monitoring.HotKeyTracker;
+import com.example.testing.monitoring.SlowCommandRecorder;
+import com.example.testing.warmup.WarmUpRequests;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.ThreadContext;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StopWatch;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Aspect
 @Log4j2
+@RequiredArgsConstructor
 public class AppLogger {
 
+    private final HotKeyTracker hotKeyTracker;
+    private final WarmUpRequests warmUpRequests;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
     @Around("execution(* com.example.testing.controller..*.*(..))")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        logMethodStatus(joinPoint, "start");
-        logMethodArguments(joinPoint);
-        StopWatch stopWatch = new StopWatch();
-        stopWatch.start();
-        Object returnedValue = joinPoint.proceed();
-        stopWatch.stop();
-        logMethodExecutionTime(joinPoint, stopWatch.getTotalTimeMillis());
-        logMethodStatus(joinPoint, "end");
-        return returnedValue;
+        Endpoint endpoint = endpoints.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), Endpoint::of);
+        String id = endpoint.id(joinPoint.getArgs());
+        recordHotKeys(endpoint, id);
+        ThreadContext.put(SlowCommandRecorder.ENDPOINT_CONTEXT_KEY, endpoint.name());
+        ControllerInvocationEvent event = new ControllerInvocationEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            logMethodStatus(joinPoint, "start");
+            logMethodArguments(joinPoint);
+            StopWatch stopWatch = new StopWatch();
+            stopWatch.start();
+            Object returnedValue = joinPoint.proceed();
+            stopWatch.stop();
+            logMethodExecutionTime(joinPoint, stopWatch.getTotalTimeMillis());
+            logMethodStatus(joinPoint, "end");
+            failed = false;
+            return returnedValue;
+        } finally {
+            ThreadContext.remove(SlowCommandRecorder.ENDPOINT_CONTEXT_KEY);
+            commitInvocationEvent(event, endpoint, id, failed);
+        }
+    }
+
+    /**
+     * Skips the synthetic warm-up requests, which would otherwise make the
+     * products they happen to pick look hot to the cache and autocomplete.
+     */
+    private void recordHotKeys(Endpoint endpoint, String id) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && warmUpRequests.isWarmUp(attributes.getRequest())) {
+            return;
+        }
+        hotKeyTracker.record(HotKeyTracker.ENDPOINTS, endpoint.name());
+        if (id != null) {
+            hotKeyTracker.record(endpoint.name(), id);
+        }
+    }
+
+    private void commitInvocationEvent(ControllerInvocationEvent event, Endpoint endpoint, String id, boolean failed) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = endpoint.name();
+            event.id = id;
+            event.failed = failed;
+            event.commit();
+        }
     }
 
     private void logMethodStatus(ProceedingJoinPoint joinPoint, String status) {
@@ -46,4 +103,26 @@ public class AppLogger {
                 joinPoint.getSignature().getName(),
                 executionTime);
     }
+
+    private record Endpoint(String name, int idArgumentIndex) {
+
+        static Endpoint of(Method method) {
+            Parameter[] parameters = method.getParameters();
+            int idArgumentIndex = -1;
+            for (int i = 0; i < parameters.length; i++) {
+                PathVariable pathVariable = parameters[i].getAnnotation(PathVariable.class);
+                if (pathVariable != null && "id".equals(pathVariable.value())) {
+                    idArgumentIndex = i;
+                }
+            }
+            return new Endpoint(method.getDeclaringClass().getSimpleName() + "." + method.getName(), idArgumentIndex);
+        }
+
+        String id(Object[] args) {
+            if (idArgumentIndex < 0 || args[idArgumentIndex] == null) {
+                return null;
+            }
+            return args[idArgumentIndex].toString();
+        }
+    }
 }
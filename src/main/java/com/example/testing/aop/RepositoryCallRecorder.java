@@ -0,0 +1,41 @@
+package com.example.testing.aop;
+
+import com.example.testing.jfr.RepositoryCallEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link RepositoryCallEvent} for every repository call so flight
+ * recordings attribute request latency to individual queries.
+ */
+@Component
+@Aspect
+public class RepositoryCallRecorder {
+
+    @Around("(this(com.example.testing.repository.ProductRepository) || this(com.example.testing.repository.CategoryRepository))"
+            + " && !execution(* java.lang.Object.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.operation = RepositoryOperations.isWrite(event.method) ? "write" : "read";
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.testing.aop;
+
+import com.example.testing.concurrent.AdaptiveConcurrencyLimiter;
+import com.example.testing.config.RepositoryLimiterProperties;
+import com.example.testing.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Guards every repository call with an adaptive concurrency limit, one for
+ * reads and one for writes, and fails fast with a 503 once it is reached.
+ * Methods returning a {@link java.util.stream.Stream} are left out: their
+ * cursor is read after the call returns, by background index rebuilds, so
+ * neither the permit nor the round trip time would cover the actual work.
+ */
+@Component
+@Aspect
+@EnableConfigurationProperties(RepositoryLimiterProperties.class)
+public class RepositoryConcurrencyLimiter {
+
+    private final RepositoryLimiterProperties limiterProperties;
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+
+    public RepositoryConcurrencyLimiter(RepositoryLimiterProperties limiterProperties, MeterRegistry meterRegistry) {
+        this.limiterProperties = limiterProperties;
+        this.readLimiter = registerMetrics(new AdaptiveConcurrencyLimiter("read",
+                limiterProperties.readInitialLimit(), limiterProperties.minLimit(), limiterProperties.readMaxLimit()), meterRegistry);
+        this.writeLimiter = registerMetrics(new AdaptiveConcurrencyLimiter("write",
+                limiterProperties.writeInitialLimit(), limiterProperties.minLimit(), limiterProperties.writeMaxLimit()), meterRegistry);
+    }
+
+    @Around("(this(com.example.testing.repository.ProductRepository) || this(com.example.testing.repository.CategoryRepository))"
+            + " && !execution(* java.lang.Object.*(..)) && !execution(java.util.stream.Stream+ *(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!limiterProperties.enabled()) {
+            return joinPoint.proceed();
+        }
+        AdaptiveConcurrencyLimiter limiter = RepositoryOperations.isWrite(joinPoint.getSignature().getName()) ? writeLimiter : readLimiter;
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent " + limiter.getName() + " operations, please retry later",
+                    limiterProperties.retryAfter());
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limiter.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+            limiter.onDropped();
+            throw e;
+        } catch (Throwable e) {
+            limiter.onIgnored();
+            throw e;
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter registerMetrics(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry) {
+        Gauge.builder("repository.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("operation", limiter.getName())
+                .register(meterRegistry);
+        Gauge.builder("repository.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("operation", limiter.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("repository.concurrency.rejections", limiter, AdaptiveConcurrencyLimiter::getRejections)
+                .tag("operation", limiter.getName())
+                .register(meterRegistry);
+        return limiter;
+    }
+}
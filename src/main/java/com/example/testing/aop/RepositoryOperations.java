@@ -0,0 +1,13 @@
+package com.example.testing.aop;
+
+final class RepositoryOperations {
+
+    private RepositoryOperations() {
+    }
+
+    static boolean isWrite(String methodName) {
+        return methodName.startsWith("save")
+                || methodName.startsWith("insert")
+                || methodName.startsWith("delete");
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.testing.cache;
+
+@FunctionalInterface
+public interface AdmissionPolicy<K> {
+
+    boolean admit(K candidate, K victim);
+
+    static <K> AdmissionPolicy<K> always() {
+        return (candidate, victim) -> true;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.testing.cache;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An encoded response body together with everything needed to write it again
+ * without touching Jackson: its content type, a strong ETag and, for bodies
+ * large enough to be worth it, a gzip variant. {@code expiresAt} is a
+ * {@link System#nanoTime()} value.
+ */
+public record CachedResponse(String contentType, String etag, byte[] body, byte[] gzipBody, long expiresAt) {
+
+    public static CachedResponse of(String contentType, byte[] body, int minCompressSize, long expiresAt) {
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+        return new CachedResponse(contentType, etag, body, body.length >= minCompressSize ? gzip(body) : null, expiresAt);
+    }
+
+    public boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
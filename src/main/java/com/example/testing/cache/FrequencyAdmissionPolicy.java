@@ -0,0 +1,21 @@
+package com.example.testing.cache;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * TinyLFU style admission: a new key only replaces the LRU victim of a full
+ * segment when it has been requested at least as often.
+ */
+public class FrequencyAdmissionPolicy<K> implements AdmissionPolicy<K> {
+
+    private final ToLongFunction<K> frequency;
+
+    public FrequencyAdmissionPolicy(ToLongFunction<K> frequency) {
+        this.frequency = frequency;
+    }
+
+    @Override
+    public boolean admit(K candidate, K victim) {
+        return frequency.applyAsLong(candidate) >= frequency.applyAsLong(victim);
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.testing.cache;
+
+import com.example.testing.jfr.CacheAccessEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Bounded on-heap cache split into independently locked LRU segments, so
+ * readers and writers of different keys rarely contend on the same lock.
+ */
+public class LocalCache<K, V> {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final String name;
+    private final Segment<K, V>[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public LocalCache(String name, int maximumSize) {
+        this(name, maximumSize, AdmissionPolicy.always());
+    }
+
+    @SuppressWarnings("unchecked")
+    public LocalCache(String name, int maximumSize, AdmissionPolicy<K> admissionPolicy) {
+        this.name = name;
+        int segmentCapacity = Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentCapacity, admissionPolicy);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(K key) {
+        V value = segmentFor(key).get(key);
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.isEnabled()) {
+            event.cache = name;
+            event.hit = value != null;
+            event.commit();
+        }
+        return value;
+    }
+
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> found = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (!found.containsKey(key)) {
+                V value = get(key);
+                if (value != null) {
+                    found.put(key, value);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the cached value, creating it under the segment lock when absent.
+     * The mapping function must be cheap, and its value is always returned even
+     * when the admission policy keeps it out of the cache.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        return segmentFor(key).computeIfAbsent(key, mappingFunction);
+    }
+
+    public void put(K key, V value) {
+        if (value != null) {
+            segmentFor(key).put(key, value);
+        }
+    }
+
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Copies the cached values, one segment at a time, without touching their
+     * recency.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Segment<K, V> segment : segments) {
+            segment.copyValuesTo(values);
+        }
+        return values;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private static final class Segment<K, V> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final AdmissionPolicy<K> admissionPolicy;
+        private final LinkedHashMap<K, V> entries;
+
+        Segment(int capacity, AdmissionPolicy<K> admissionPolicy) {
+            this.capacity = capacity;
+            this.admissionPolicy = admissionPolicy;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        V get(K key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(K key, V value) {
+            lock.lock();
+            try {
+                if (entries.size() >= capacity && !entries.containsKey(key)
+                        && !admissionPolicy.admit(key, entries.keySet().iterator().next())) {
+                    return;
+                }
+                entries.put(key, value);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+            lock.lock();
+            try {
+                V value = entries.get(key);
+                if (value == null) {
+                    value = mappingFunction.apply(key);
+                    if (entries.size() < capacity || admissionPolicy.admit(key, entries.keySet().iterator().next())) {
+                        entries.put(key, value);
+                    }
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(K key) {
+            lock.lock();
+            try {
+                entries.remove(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void copyValuesTo(List<V> values) {
+            lock.lock();
+            try {
+                values.addAll(entries.values());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.testing.cache;
+
+import com.example.testing.jfr.CacheAccessEvent;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Byte-bounded cache that keeps serialized values outside the Java heap, so a
+ * large working set adds almost nothing for the garbage collector to trace.
+ * Like {@link LocalCache} it is split into independently locked segments.
+ * Each segment owns a slab of native memory used as a circular log, with an
+ * open-addressing index held in two int arrays. Entries are appended at the
+ * head and reclaimed at the tail; a recently read entry at the tail gets a
+ * second chance and is moved to the head instead, which approximates LRU the
+ * way a clock does. A capacity of zero turns the cache off.
+ */
+public class OffHeapCache<V> implements AutoCloseable {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Segments are picked by the top bits of the hash, leaving the low bits to
+     * the index inside the segment.
+     */
+    private static final int SEGMENT_SHIFT = Integer.numberOfLeadingZeros(SEGMENT_COUNT - 1);
+
+    /**
+     * Used to size the index of a segment; smaller entries are evicted early
+     * once the index is three quarters full.
+     */
+    private static final int MIN_EXPECTED_ENTRY_BYTES = 128;
+
+    private final String name;
+    private final Serializer<V> serializer;
+    private final Arena arena;
+    private final Segment[] segments;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public OffHeapCache(String name, long capacityBytes, Serializer<V> serializer) {
+        long segmentCapacity = (capacityBytes + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+        if (capacityBytes < 0 || segmentCapacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported off-heap cache capacity: " + capacityBytes);
+        }
+        this.name = name;
+        this.serializer = serializer;
+        this.arena = Arena.ofShared();
+        this.segments = new Segment[capacityBytes == 0 ? 0 : SEGMENT_COUNT];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(arena.allocate(segmentCapacity), evictionCount);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(String key) {
+        int hash = hash(key);
+        byte[] value = segments.length == 0 ? null : segmentFor(hash).get(hash, key.getBytes(StandardCharsets.UTF_8));
+        if (value == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.isEnabled()) {
+            event.cache = name;
+            event.hit = value != null;
+            event.commit();
+        }
+        return value == null ? null : serializer.read(key, ByteBuffer.wrap(value));
+    }
+
+    /**
+     * Stores a copy of the value. Values too large for a segment are not
+     * cached.
+     */
+    public void put(String key, V value) {
+        if (value != null && segments.length != 0) {
+            int hash = hash(key);
+            segmentFor(hash).put(hash, key.getBytes(StandardCharsets.UTF_8), serializer.write(value));
+        }
+    }
+
+    public void invalidate(String key) {
+        if (segments.length != 0) {
+            int hash = hash(key);
+            segmentFor(hash).remove(hash, key.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.count();
+        }
+        return size;
+    }
+
+    /**
+     * Bytes held by live entries, headers and keys included.
+     */
+    public long usedBytes() {
+        long usedBytes = 0;
+        for (Segment segment : segments) {
+            usedBytes += segment.liveBytes();
+        }
+        return usedBytes;
+    }
+
+    public long capacityBytes() {
+        long capacityBytes = 0;
+        for (Segment segment : segments) {
+            capacityBytes += segment.capacity;
+        }
+        return capacityBytes;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Frees the native memory. The cache must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static int hash(String key) {
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    /**
+     * Turns values into compact bytes and back. The key is not part of the
+     * stored value and is handed back on read.
+     */
+    public interface Serializer<V> {
+
+        byte[] write(V value);
+
+        V read(String key, ByteBuffer value);
+    }
+
+    /**
+     * One slab of native memory used as a circular log. An entry is laid out
+     * as its total length, the key hash, the key length, a flags byte, the
+     * key bytes and the value bytes. A length of {@code -1}, or fewer bytes
+     * left than a header needs, marks the end of the log before it wraps.
+     */
+    private static final class Segment {
+
+        private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED;
+        private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED;
+
+        private static final int LENGTH_OFFSET = 0;
+        private static final int HASH_OFFSET = 4;
+        private static final int KEY_LENGTH_OFFSET = 8;
+        private static final int FLAGS_OFFSET = 10;
+        private static final int HEADER_BYTES = 12;
+
+        private static final int WRAP = -1;
+        private static final byte LIVE = 1;
+        private static final byte REFERENCED = 2;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final MemorySegment slab;
+        private final int capacity;
+        private final LongAdder evictionCount;
+
+        /**
+         * Entry offsets plus one, so that zero marks a free slot.
+         */
+        private final int[] slots;
+        private final int[] slotHashes;
+        private final int maximumCount;
+
+        private int head;
+        private int tail;
+        private int used;
+        private int liveBytes;
+        private int count;
+
+        Segment(MemorySegment slab, LongAdder evictionCount) {
+            this.slab = slab;
+            this.capacity = (int) slab.byteSize();
+            this.evictionCount = evictionCount;
+            int slotCount = Integer.highestOneBit(Math.max(16, capacity / MIN_EXPECTED_ENTRY_BYTES) * 2 - 1);
+            this.slots = new int[slotCount];
+            this.slotHashes = new int[slotCount];
+            this.maximumCount = slotCount / 4 * 3;
+        }
+
+        byte[] get(int hash, byte[] key) {
+            lock.lock();
+            try {
+                int slot = find(hash, key);
+                if (slot < 0) {
+                    return null;
+                }
+                long offset = slots[slot] - 1;
+                slab.set(ValueLayout.JAVA_BYTE, offset + FLAGS_OFFSET, (byte) (LIVE | REFERENCED));
+                long valueOffset = offset + HEADER_BYTES + key.length;
+                int valueLength = slab.get(INT, offset + LENGTH_OFFSET) - HEADER_BYTES - key.length;
+                return slab.asSlice(valueOffset, valueLength).toArray(ValueLayout.JAVA_BYTE);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(int hash, byte[] key, byte[] value) {
+            int length = HEADER_BYTES + key.length + value.length;
+            if (length > capacity || key.length > Short.MAX_VALUE) {
+                remove(hash, key);
+                return;
+            }
+            lock.lock();
+            try {
+                int slot = find(hash, key);
+                if (slot >= 0) {
+                    release(slot);
+                }
+                while (count >= maximumCount) {
+                    evictTail();
+                }
+                int offset = reserve(length);
+                slab.set(INT, offset + LENGTH_OFFSET, length);
+                slab.set(INT, offset + HASH_OFFSET, hash);
+                slab.set(SHORT, offset + KEY_LENGTH_OFFSET, (short) key.length);
+                slab.set(ValueLayout.JAVA_BYTE, offset + FLAGS_OFFSET, LIVE);
+                MemorySegment.copy(key, 0, slab, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES, key.length);
+                MemorySegment.copy(value, 0, slab, ValueLayout.JAVA_BYTE, offset + HEADER_BYTES + key.length, value.length);
+                insertSlot(hash, offset);
+                advanceHead(length);
+                liveBytes += length;
+                count++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(int hash, byte[] key) {
+            lock.lock();
+            try {
+                int slot = find(hash, key);
+                if (slot >= 0) {
+                    release(slot);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                Arrays.fill(slots, 0);
+                head = 0;
+                tail = 0;
+                used = 0;
+                liveBytes = 0;
+                count = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int count() {
+            lock.lock();
+            try {
+                return count;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int liveBytes() {
+            lock.lock();
+            try {
+                return liveBytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Makes room for a contiguous entry at the head and returns its
+         * offset, evicting from the tail as needed.
+         */
+        private int reserve(int length) {
+            while (true) {
+                if (used == 0) {
+                    head = 0;
+                    tail = 0;
+                    return 0;
+                }
+                if (head > tail) {
+                    if (capacity - head >= length) {
+                        return head;
+                    }
+                    slab.set(INT, head + LENGTH_OFFSET, WRAP);
+                    used += capacity - head;
+                    head = 0;
+                    continue;
+                }
+                if (head < tail && tail - head >= length) {
+                    return head;
+                }
+                evictTail();
+            }
+        }
+
+        /**
+         * Reclaims the entry at the tail. A live entry read since it was
+         * written or last moved is moved to the head instead, if there is
+         * room for it there. When the head is right behind the tail the entry
+         * just slides back over the free bytes, or stays put if there are
+         * none.
+         */
+        private void evictTail() {
+            int length = slab.get(INT, tail + LENGTH_OFFSET);
+            if (length == WRAP) {
+                advanceTail(capacity - tail);
+                return;
+            }
+            byte flags = slab.get(ValueLayout.JAVA_BYTE, tail + FLAGS_OFFSET);
+            if ((flags & LIVE) != 0) {
+                int slot = slotOf(tail);
+                if ((flags & REFERENCED) != 0 && (head <= tail || capacity - head >= length)) {
+                    if (head != tail) {
+                        MemorySegment.copy(slab, tail, slab, head, length);
+                        slots[slot] = head + 1;
+                    }
+                    slab.set(ValueLayout.JAVA_BYTE, head + FLAGS_OFFSET, LIVE);
+                    advanceHead(length);
+                } else {
+                    deleteSlot(slot);
+                    liveBytes -= length;
+                    count--;
+                    evictionCount.increment();
+                }
+            }
+            advanceTail(length);
+        }
+
+        private void advanceHead(int length) {
+            head += length;
+            used += length;
+            if (capacity - head < HEADER_BYTES) {
+                used += capacity - head;
+                head = 0;
+            }
+        }
+
+        private void advanceTail(int length) {
+            tail += length;
+            used -= length;
+            if (capacity - tail < HEADER_BYTES) {
+                used -= capacity - tail;
+                tail = 0;
+            }
+        }
+
+        /**
+         * Marks the entry in the slot dead and drops it from the index. Its
+         * bytes are reclaimed once the tail passes them.
+         */
+        private void release(int slot) {
+            int offset = slots[slot] - 1;
+            slab.set(ValueLayout.JAVA_BYTE, offset + FLAGS_OFFSET, (byte) 0);
+            liveBytes -= slab.get(INT, offset + LENGTH_OFFSET);
+            count--;
+            deleteSlot(slot);
+        }
+
+        private int find(int hash, byte[] key) {
+            int mask = slots.length - 1;
+            for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                if (slotHashes[slot] == hash && keyEquals(slots[slot] - 1, key)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private int slotOf(int offset) {
+            int mask = slots.length - 1;
+            int slot = slab.get(INT, offset + HASH_OFFSET) & mask;
+            while (slots[slot] != offset + 1) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private boolean keyEquals(int offset, byte[] key) {
+            if (slab.get(SHORT, offset + KEY_LENGTH_OFFSET) != key.length) {
+                return false;
+            }
+            long keyOffset = offset + HEADER_BYTES;
+            return MemorySegment.mismatch(slab, keyOffset, keyOffset + key.length,
+                    MemorySegment.ofArray(key), 0, key.length) == -1;
+        }
+
+        private void insertSlot(int hash, int offset) {
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = offset + 1;
+            slotHashes[slot] = hash;
+        }
+
+        /**
+         * Backward-shift deletion, which keeps linear probing free of
+         * tombstones.
+         */
+        private void deleteSlot(int slot) {
+            int mask = slots.length - 1;
+            int hole = slot;
+            int next = (hole + 1) & mask;
+            while (slots[next] != 0) {
+                int home = slotHashes[next] & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    slots[hole] = slots[next];
+                    slotHashes[hole] = slotHashes[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            slots[hole] = 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.testing.cache;
+
+import com.example.testing.model.Product;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of a {@link Product} for the off-heap cache. Strings
+ * are written as a length and UTF-8 bytes, with a length of {@code -1} for
+ * null, and the price as its scale and unscaled two's-complement bytes.
+ */
+public class ProductSerializer implements OffHeapCache.Serializer<Product> {
+
+    private static final int NULL_LENGTH = -1;
+
+    @Override
+    public byte[] write(Product product) {
+        byte[] name = bytes(product.getName());
+        byte[] description = bytes(product.getDescription());
+        byte[] categoryId = bytes(product.getCategoryId());
+        byte[] unscaledPrice = product.getPrice() == null ? null : product.getPrice().unscaledValue().toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(length(name) + length(description) + length(categoryId)
+                + (unscaledPrice == null ? 4 : 8 + unscaledPrice.length) + 4);
+        put(buffer, name);
+        put(buffer, description);
+        put(buffer, categoryId);
+        if (unscaledPrice == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(unscaledPrice.length).put(unscaledPrice).putInt(product.getPrice().scale());
+        }
+        buffer.putInt(product.getStock());
+        return buffer.array();
+    }
+
+    @Override
+    public Product read(String id, ByteBuffer buffer) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(string(buffer));
+        product.setDescription(string(buffer));
+        product.setCategoryId(string(buffer));
+        int unscaledLength = buffer.getInt();
+        if (unscaledLength != NULL_LENGTH) {
+            byte[] unscaledPrice = new byte[unscaledLength];
+            buffer.get(unscaledPrice);
+            product.setPrice(new BigDecimal(new BigInteger(unscaledPrice), buffer.getInt()));
+        }
+        product.setStock(buffer.getInt());
+        return product;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 4 : 4 + value.length;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.testing.codec;
+
+import org.bson.BsonObjectId;
+import org.bson.BsonReader;
+import org.bson.BsonString;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+
+import java.math.BigDecimal;
+
+/**
+ * Registry and shared helpers of the catalog codecs. They follow the rules
+ * Spring Data applies to the documents it writes, so the codecs and the
+ * mapping converter can read each other's output: string ids that look like
+ * ObjectIds are stored as ObjectIds, null properties are left out, decimals
+ * are stored as strings and the type follows the properties under
+ * {@code _class}.
+ */
+public final class CatalogCodecs {
+
+    static final String ID = "_id";
+    static final String CLASS = "_class";
+
+    private CatalogCodecs() {
+    }
+
+    public static CodecRegistry withCatalogCodecs(CodecRegistry registry) {
+        return CodecRegistries.fromRegistries(
+                CodecRegistries.fromCodecs(new ProductCodec(), new CategoryCodec()),
+                registry);
+    }
+
+    /**
+     * The value an id is stored as, for filters on {@code _id}.
+     */
+    public static Object storedId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    static BsonValue idValue(String id) {
+        return ObjectId.isValid(id) ? new BsonObjectId(new ObjectId(id)) : new BsonString(id);
+    }
+
+    static void writeId(BsonWriter writer, String id) {
+        if (id != null) {
+            writer.writeName(ID);
+            if (ObjectId.isValid(id)) {
+                writer.writeObjectId(new ObjectId(id));
+            } else {
+                writer.writeString(id);
+            }
+        }
+    }
+
+    static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case INT32 -> Integer.toString(reader.readInt32());
+            case INT64 -> Long.toString(reader.readInt64());
+            default -> readString(reader);
+        };
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() == BsonType.NULL) {
+            reader.readNull();
+            return null;
+        }
+        return reader.readString();
+    }
+
+    static BigDecimal readDecimal(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case STRING -> new BigDecimal(reader.readString());
+            case DECIMAL128 -> reader.readDecimal128().bigDecimalValue();
+            case DOUBLE -> BigDecimal.valueOf(reader.readDouble());
+            case INT32 -> BigDecimal.valueOf(reader.readInt32());
+            case INT64 -> BigDecimal.valueOf(reader.readInt64());
+            case NULL -> {
+                reader.readNull();
+                yield null;
+            }
+            default -> throw new IllegalStateException("Cannot read a decimal from " + reader.getCurrentBsonType());
+        };
+    }
+
+    static int readInt(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> Math.toIntExact(reader.readInt64());
+            case DOUBLE -> (int) reader.readDouble();
+            case NULL -> {
+                reader.readNull();
+                yield 0;
+            }
+            default -> throw new IllegalStateException("Cannot read an int from " + reader.getCurrentBsonType());
+        };
+    }
+}
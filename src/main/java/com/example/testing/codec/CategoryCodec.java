@@ -0,0 +1,73 @@
+package com.example.testing.codec;
+
+import com.example.testing.model.Category;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Reads and writes {@link Category} field by field, in the layout Spring Data
+ * stores it in.
+ */
+public final class CategoryCodec implements CollectibleCodec<Category> {
+
+    @Override
+    public void encode(BsonWriter writer, Category category, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        CatalogCodecs.writeId(writer, category.getId());
+        CatalogCodecs.writeString(writer, "name", category.getName());
+        CatalogCodecs.writeString(writer, "description", category.getDescription());
+        writer.writeString(CatalogCodecs.CLASS, Category.class.getName());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Category decode(BsonReader reader, DecoderContext decoderContext) {
+        Category category = new Category();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case CatalogCodecs.ID -> category.setId(CatalogCodecs.readId(reader));
+                case "name" -> category.setName(CatalogCodecs.readString(reader));
+                case "description" -> category.setDescription(CatalogCodecs.readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return category;
+    }
+
+    @Override
+    public Class<Category> getEncoderClass() {
+        return Category.class;
+    }
+
+    /**
+     * Assigns a new ObjectId on insert, as Spring Data does.
+     */
+    @Override
+    public Category generateIdIfAbsentFromDocument(Category category) {
+        if (!documentHasId(category)) {
+            category.setId(new ObjectId().toHexString());
+        }
+        return category;
+    }
+
+    @Override
+    public boolean documentHasId(Category category) {
+        return category.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(Category category) {
+        if (!documentHasId(category)) {
+            throw new IllegalStateException("The category does not have an id");
+        }
+        return CatalogCodecs.idValue(category.getId());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.testing.codec;
+
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductPriceShadow;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.bson.BsonWriter;
+import org.bson.codecs.CollectibleCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+/**
+ * Reads and writes {@link Product} field by field, in the layout Spring Data
+ * stores it in, including the numeric price copy {@link ProductPriceShadow}
+ * adds on every save.
+ */
+public final class ProductCodec implements CollectibleCodec<Product> {
+
+    @Override
+    public void encode(BsonWriter writer, Product product, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        CatalogCodecs.writeId(writer, product.getId());
+        CatalogCodecs.writeString(writer, "name", product.getName());
+        CatalogCodecs.writeString(writer, "description", product.getDescription());
+        if (product.getPrice() != null) {
+            writer.writeString("price", product.getPrice().toString());
+        }
+        writer.writeInt32("stock", product.getStock());
+        CatalogCodecs.writeString(writer, "categoryId", product.getCategoryId());
+        writer.writeString(CatalogCodecs.CLASS, Product.class.getName());
+        if (product.getPrice() != null) {
+            writer.writeDecimal128(ProductPriceShadow.FIELD, ProductPriceShadow.value(product.getPrice()));
+        }
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Product decode(BsonReader reader, DecoderContext decoderContext) {
+        Product product = new Product();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case CatalogCodecs.ID -> product.setId(CatalogCodecs.readId(reader));
+                case "name" -> product.setName(CatalogCodecs.readString(reader));
+                case "description" -> product.setDescription(CatalogCodecs.readString(reader));
+                case "price" -> product.setPrice(CatalogCodecs.readDecimal(reader));
+                case "stock" -> product.setStock(CatalogCodecs.readInt(reader));
+                case "categoryId" -> product.setCategoryId(CatalogCodecs.readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return product;
+    }
+
+    @Override
+    public Class<Product> getEncoderClass() {
+        return Product.class;
+    }
+
+    /**
+     * Assigns a new ObjectId on insert, as Spring Data does.
+     */
+    @Override
+    public Product generateIdIfAbsentFromDocument(Product product) {
+        if (!documentHasId(product)) {
+            product.setId(new ObjectId().toHexString());
+        }
+        return product;
+    }
+
+    @Override
+    public boolean documentHasId(Product product) {
+        return product.getId() != null;
+    }
+
+    @Override
+    public BsonValue getDocumentId(Product product) {
+        if (!documentHasId(product)) {
+            throw new IllegalStateException("The product does not have an id");
+        }
+        return CatalogCodecs.idValue(product.getId());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.testing.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gradient based concurrency limit in the style of Netflix concurrency-limits.
+ * The limit grows while the latency of recent calls stays close to the long
+ * term average and shrinks in proportion when it rises, so callers are shed
+ * instead of piling up behind a slow dependency. Timeouts and connection
+ * failures cut the limit multiplicatively.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        if (rttNanos <= 0 || !updateLock.tryLock()) {
+            return;
+        }
+        try {
+            samples++;
+            double alpha = samples < LONG_WINDOW ? 1.0 / samples : 2.0 / (LONG_WINDOW + 1);
+            longRttNanos += alpha * (rttNanos - longRttNanos);
+            if (longRttNanos / rttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+            double current = limit;
+            if (inFlightAtCompletion < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+            double target = current * gradient + Math.sqrt(current);
+            setLimit(current * (1 - SMOOTHING) + target * SMOOTHING);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        updateLock.lock();
+        try {
+            setLimit(limit * BACKOFF_RATIO);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    private void setLimit(double newLimit) {
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.testing.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into a single in-flight call.
+ * The first caller for a key runs the loader, every caller arriving while it is
+ * still running waits for and shares its result or failure.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<FlightKey, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> collapsedCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String namespace, String key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(namespace, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = flights.putIfAbsent(flightKey, flight);
+        if (inFlight != null) {
+            counter(collapsedCounters, "coalescer.calls.collapsed", namespace).increment();
+            return (T) await(inFlight);
+        }
+        counter(executedCounters, "coalescer.calls.executed", namespace).increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(flightKey, flight);
+        }
+    }
+
+    public int inFlightCount() {
+        return flights.size();
+    }
+
+    private Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String namespace) {
+        return counters.computeIfAbsent(namespace, ns -> Counter.builder(name)
+                .tag("namespace", ns)
+                .register(meterRegistry));
+    }
+
+    private record FlightKey(String namespace, String key) {
+    }
+}
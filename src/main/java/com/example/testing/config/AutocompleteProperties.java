@@ -0,0 +1,10 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.autocomplete")
+public record AutocompleteProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int maxCompletions) {
+}
@@ -0,0 +1,88 @@
+package com.example.testing.config;
+
+import com.example.testing.cache.CachedResponse;
+import com.example.testing.cache.FrequencyAdmissionPolicy;
+import com.example.testing.cache.LocalCache;
+import com.example.testing.cache.OffHeapCache;
+import com.example.testing.cache.ProductSerializer;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.monitoring.HotKeyTracker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({CatalogCacheProperties.class, ResponseCacheProperties.class, OffHeapCacheProperties.class})
+public class CacheConfig {
+
+    /**
+     * Admission weighs product ids by how often the service read them, so ids
+     * fetched in batches count as much as single lookups.
+     */
+    @Bean
+    public LocalCache<String, Product> productCache(CatalogCacheProperties cacheProperties, HotKeyTracker hotKeyTracker, MeterRegistry meterRegistry) {
+        LocalCache<String, Product> productCache = new LocalCache<>("product", cacheProperties.productMaximumSize(),
+                new FrequencyAdmissionPolicy<String>(id -> hotKeyTracker.estimate(HotKeyTracker.PRODUCT_READS, id)));
+        return registerMetrics(productCache, meterRegistry);
+    }
+
+    /**
+     * Second level behind {@code productCache}, holding a larger working set
+     * outside the heap. Empty unless enabled; closing the context frees its
+     * memory.
+     */
+    @Bean
+    public OffHeapCache<Product> productOffHeapCache(OffHeapCacheProperties offHeapCacheProperties, MeterRegistry meterRegistry) {
+        long capacity = offHeapCacheProperties.enabled() ? offHeapCacheProperties.productCapacity().toBytes() : 0;
+        OffHeapCache<Product> productOffHeapCache = new OffHeapCache<>("product-offheap", capacity, new ProductSerializer());
+        FunctionCounter.builder("cache.local.requests", productOffHeapCache, OffHeapCache::hitCount)
+                .tag("cache", productOffHeapCache.getName())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.local.requests", productOffHeapCache, OffHeapCache::missCount)
+                .tag("cache", productOffHeapCache.getName())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.local.evictions", productOffHeapCache, OffHeapCache::evictionCount)
+                .tag("cache", productOffHeapCache.getName())
+                .register(meterRegistry);
+        Gauge.builder("cache.local.size", productOffHeapCache, OffHeapCache::size)
+                .tag("cache", productOffHeapCache.getName())
+                .register(meterRegistry);
+        Gauge.builder("cache.local.bytes", productOffHeapCache, OffHeapCache::usedBytes)
+                .tag("cache", productOffHeapCache.getName())
+                .register(meterRegistry);
+        return productOffHeapCache;
+    }
+
+    @Bean
+    public LocalCache<String, Category> categoryCache(CatalogCacheProperties cacheProperties, HotKeyTracker hotKeyTracker, MeterRegistry meterRegistry) {
+        LocalCache<String, Category> categoryCache = new LocalCache<>("category", cacheProperties.categoryMaximumSize(),
+                new FrequencyAdmissionPolicy<String>(id -> hotKeyTracker.estimate(HotKeyTracker.CATEGORY_LOOKUP, id)));
+        return registerMetrics(categoryCache, meterRegistry);
+    }
+
+    @Bean
+    public LocalCache<String, CachedResponse> responseCache(ResponseCacheProperties responseCacheProperties, MeterRegistry meterRegistry) {
+        return registerMetrics(new LocalCache<>("response", responseCacheProperties.maximumSize()), meterRegistry);
+    }
+
+    private <K, V> LocalCache<K, V> registerMetrics(LocalCache<K, V> cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.local.requests", cache, LocalCache::hitCount)
+                .tag("cache", cache.getName())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.local.requests", cache, LocalCache::missCount)
+                .tag("cache", cache.getName())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.local.size", cache, LocalCache::size)
+                .tag("cache", cache.getName())
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.cache")
+public record CatalogCacheProperties(
+        @DefaultValue("100000") int productMaximumSize,
+        @DefaultValue("10000") int categoryMaximumSize) {
+}
@@ -0,0 +1,31 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Shape of a generated catalog. Products pick their category from a Zipf
+ * distribution with exponent {@code categorySkew}, prices are log-normal around
+ * {@code priceMedian} and stock is geometric with mean {@code stockMean}, with
+ * {@code outOfStockRatio} of the products at zero. Ids are stamped from
+ * {@code idEpoch}, or from the start of the run when it is not set.
+ */
+@ConfigurationProperties(prefix = "app.generator")
+public record CatalogGeneratorProperties(
+        @DefaultValue("42") long seed,
+        Instant idEpoch,
+        @DefaultValue("1000") int categories,
+        @DefaultValue("10000000") long products,
+        @DefaultValue("1.0") double categorySkew,
+        @DefaultValue("25.00") BigDecimal priceMedian,
+        @DefaultValue("1.0") double priceSigma,
+        @DefaultValue("50") double stockMean,
+        @DefaultValue("0.05") double outOfStockRatio,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("8") int parallelism,
+        @DefaultValue("false") boolean dropExisting,
+        @DefaultValue("true") boolean exitWhenDone) {
+}
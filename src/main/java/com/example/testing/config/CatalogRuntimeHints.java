@@ -0,0 +1,57 @@
+package com.example.testing.config;
+
+import com.example.testing.aop.AppLogger;
+import com.example.testing.aop.RepositoryCallRecorder;
+import com.example.testing.aop.RepositoryConcurrencyLimiter;
+import com.example.testing.idempotency.IdempotentResponse;
+import com.example.testing.jfr.RecordingInfo;
+import com.example.testing.model.ApiError;
+import com.example.testing.model.Category;
+import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
+import com.example.testing.model.Product;
+import com.example.testing.model.ProductRequest;
+import com.example.testing.model.ValidationError;
+import com.example.testing.monitoring.ExplainedSlowCommand;
+import com.example.testing.monitoring.HotKey;
+import com.example.testing.monitoring.SlowCommand;
+import com.example.testing.repository.CategoryRepository;
+import com.example.testing.repository.ProductRepository;
+import com.example.testing.search.Completion;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for a native image. Spring AOT covers most beans, but
+ * not the Lombok-generated accessors and constructors Jackson, bean validation
+ * and the Mongo mapping use reflectively, nor the aspects' advice methods.
+ */
+public class CatalogRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> DATA_TYPES = List.of(
+            Product.class, Category.class, ProductRequest.class, CategoryRequest.class, MultiGetResponse.class,
+            ApiError.class, ValidationError.class, HotKey.class, SlowCommand.class, ExplainedSlowCommand.class,
+            RecordingInfo.class, IdempotentResponse.class, Completion.class);
+
+    private static final List<Class<?>> ASPECTS = List.of(
+            AppLogger.class, RepositoryConcurrencyLimiter.class, RepositoryCallRecorder.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        DATA_TYPES.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS,
+                MemberCategory.DECLARED_FIELDS));
+        ASPECTS.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS));
+        hints.reflection().registerType(JavaTimeModule.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(ProductRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(CategoryRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.resources().registerPattern("application-*.yml");
+    }
+}
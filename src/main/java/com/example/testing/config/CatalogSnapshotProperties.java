@@ -0,0 +1,19 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "app.catalog-snapshot")
+public record CatalogSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        Path file,
+        @DefaultValue("500") int reconcileBatchSize) {
+
+    public CatalogSnapshotProperties {
+        if (file == null) {
+            file = Path.of(System.getProperty("java.io.tmpdir"), "catalog.snapshot");
+        }
+    }
+}
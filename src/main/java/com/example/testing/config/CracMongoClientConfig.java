@@ -0,0 +1,35 @@
+package com.example.testing.config;
+
+import com.example.testing.crac.ReopenableMongoClient;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Replaces the auto-configured Mongo client with one that is closed before a
+ * CRaC checkpoint and reopened after restore. The client is built exactly as
+ * Spring Boot would build it, from the same settings and customizers.
+ */
+@Configuration
+@Profile("!inmemory")
+@ConditionalOnProperty(prefix = "app.crac", name = "enabled", havingValue = "true")
+public class CracMongoClientConfig {
+
+    @Bean
+    public ReopenableMongoClient reopenableMongoClient(MongoClientSettings settings,
+                                                       ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        MongoClientFactory clientFactory = new MongoClientFactory(customizers.orderedStream().toList());
+        return new ReopenableMongoClient(() -> clientFactory.createMongoClient(settings));
+    }
+
+    @Bean
+    public MongoClient mongoClient(ReopenableMongoClient reopenableMongoClient) {
+        return reopenableMongoClient.getClient();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.flight-recorder")
+public record FlightRecorderProperties(
+        @DefaultValue("false") boolean continuous,
+        @DefaultValue("6h") Duration continuousMaxAge,
+        @DefaultValue("250MB") DataSize continuousMaxSize,
+        @DefaultValue("30m") Duration maxDuration) {
+}
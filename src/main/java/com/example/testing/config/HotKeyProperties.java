@@ -0,0 +1,11 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.hot-keys")
+public record HotKeyProperties(
+        @DefaultValue("20") int topK,
+        @DefaultValue("8192") int sketchWidth,
+        @DefaultValue("4") int sketchDepth) {
+}
@@ -0,0 +1,44 @@
+package com.example.testing.config;
+
+import com.example.testing.idempotency.IdempotencyStore;
+import com.example.testing.idempotency.InMemoryIdempotencyStore;
+import com.example.testing.idempotency.MongoIdempotencyStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    /**
+     * Shared by the stores, which compare against it, and the filter, which
+     * stamps the responses they compare.
+     */
+    @Bean
+    @ConditionalOnMissingBean(Clock.class)
+    public Clock idempotencyClock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    @Profile("!inmemory")
+    @ConditionalOnProperty(prefix = "app.idempotency", name = "store", havingValue = "mongo")
+    public IdempotencyStore mongoIdempotencyStore(MongoTemplate mongoTemplate, IdempotencyProperties idempotencyProperties,
+                                                  Clock clock) {
+        return new MongoIdempotencyStore(mongoTemplate, idempotencyProperties.ttl(), idempotencyProperties.pendingTimeout(), clock);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(IdempotencyStore.class)
+    public IdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties idempotencyProperties, Clock clock) {
+        return new InMemoryIdempotencyStore(idempotencyProperties.maximumSize(), idempotencyProperties.ttl(),
+                idempotencyProperties.pendingTimeout(), clock);
+    }
+}
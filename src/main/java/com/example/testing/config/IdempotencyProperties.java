@@ -0,0 +1,20 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") Store store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("100000") int maximumSize,
+        @DefaultValue("30s") Duration pendingTimeout,
+        @DefaultValue("50ms") Duration pollInterval) {
+
+    public enum Store {
+        MEMORY, MONGO
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "app.in-memory")
+public record InMemoryStoreProperties(Path snapshotFile) {
+}
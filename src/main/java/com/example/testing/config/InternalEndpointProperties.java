@@ -0,0 +1,12 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.internal")
+public record InternalEndpointProperties(
+        String token,
+        @DefaultValue({"flightrecorder", "slowcommands", "hotkeys"}) List<String> protectedEndpoints) {
+}
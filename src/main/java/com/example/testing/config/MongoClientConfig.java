@@ -0,0 +1,49 @@
+package com.example.testing.config;
+
+import com.example.testing.codec.CatalogCodecs;
+import com.example.testing.monitoring.MongoConnectionPoolMetrics;
+import com.example.testing.monitoring.SlowCommandRecorder;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.ReadPreference;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Driver settings of the Mongo client. Reads go to the primary, so a listing
+ * or a page always reflects the writes made before it. Only lookups by id opt
+ * into secondaries, because their services confirm a miss on the primary:
+ * GET /products/{id}, /products?ids=, /categories/{id} and /categories?ids=
+ * may be served from a lagging secondary, everything else is not.
+ */
+@Configuration
+@Profile("!inmemory")
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(MongoClientProperties mongoClientProperties, MeterRegistry meterRegistry,
+                                                                  SlowCommandRecorder slowCommandRecorder) {
+        return builder -> builder
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(mongoClientProperties.poolMinSize())
+                        .maxSize(mongoClientProperties.poolMaxSize())
+                        .maxWaitTime(mongoClientProperties.poolMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(mongoClientProperties.poolMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(mongoClientProperties.poolMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new MongoConnectionPoolMetrics(meterRegistry)))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(mongoClientProperties.connectTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(mongoClientProperties.socketReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(mongoClientProperties.serverSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .readPreference(ReadPreference.valueOf(mongoClientProperties.readPreference()))
+                .codecRegistry(CatalogCodecs.withCatalogCodecs(MongoClientSettings.getDefaultCodecRegistry()))
+                .addCommandListener(slowCommandRecorder);
+    }
+}
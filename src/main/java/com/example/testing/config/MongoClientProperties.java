@@ -0,0 +1,19 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.mongodb")
+public record MongoClientProperties(
+        @DefaultValue("5") int poolMinSize,
+        @DefaultValue("100") int poolMaxSize,
+        @DefaultValue("2s") Duration poolMaxWaitTime,
+        @DefaultValue("60s") Duration poolMaxConnectionIdleTime,
+        @DefaultValue("0s") Duration poolMaxConnectionLifeTime,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("5s") Duration socketReadTimeout,
+        @DefaultValue("5s") Duration serverSelectionTimeout,
+        @DefaultValue("primary") String readPreference) {
+}
@@ -0,0 +1,11 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "app.off-heap-cache")
+public record OffHeapCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256MB") DataSize productCapacity) {
+}
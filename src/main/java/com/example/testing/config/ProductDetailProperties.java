@@ -0,0 +1,14 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.product-detail")
+public record ProductDetailProperties(
+        @DefaultValue("1s") Duration requiredPartTimeout,
+        @DefaultValue("200ms") Duration optionalPartTimeout,
+        @DefaultValue("5") int relatedProductsLimit,
+        @DefaultValue("1s") Duration retryAfter) {
+}
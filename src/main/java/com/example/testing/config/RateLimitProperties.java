@@ -0,0 +1,19 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("200") long readCapacity,
+        @DefaultValue("100") double readRefillPerSecond,
+        @DefaultValue("50") long writeCapacity,
+        @DefaultValue("20") double writeRefillPerSecond,
+        @DefaultValue("20") long bulkCapacity,
+        @DefaultValue("5") double bulkRefillPerSecond,
+        @DefaultValue Set<String> apiKeys) {
+}
@@ -0,0 +1,10 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.raw-read")
+public record RawReadProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1000") int exportBatchSize) {
+}
@@ -0,0 +1,17 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.repository-limiter")
+public record RepositoryLimiterProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("20") int readInitialLimit,
+        @DefaultValue("200") int readMaxLimit,
+        @DefaultValue("10") int writeInitialLimit,
+        @DefaultValue("50") int writeMaxLimit,
+        @DefaultValue("1s") Duration retryAfter) {
+}
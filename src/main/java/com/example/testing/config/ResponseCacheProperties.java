@@ -0,0 +1,15 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("1KB") DataSize minCompressSize,
+        @DefaultValue("5s") Duration timeToLive) {
+}
@@ -0,0 +1,12 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.search")
+public record SearchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.2") float k1,
+        @DefaultValue("0.75") float b,
+        @DefaultValue("10000") int maxResults) {
+}
@@ -0,0 +1,13 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.slow-commands")
+public record SlowCommandProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration threshold,
+        @DefaultValue("200") int capacity) {
+}
@@ -0,0 +1,16 @@
+package com.example.testing.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.warm-up")
+public record WarmUpProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("60s") Duration timeBudget,
+        @DefaultValue("100") int topProducts,
+        @DefaultValue("50") int requestsPerRound,
+        @DefaultValue("30") int maxRounds,
+        @DefaultValue("0.2") double steadyStateTolerance) {
+}
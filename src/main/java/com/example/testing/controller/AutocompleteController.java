@@ -0,0 +1,28 @@
+package com.example.testing.controller;
+
+import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.search.Completion;
+import com.example.testing.service.design.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/autocomplete")
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    @GetMapping
+    public List<Completion> complete(@RequestParam("prefix") String prefix,
+                                     @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (prefix.isBlank() || limit < 1) {
+            throw new InvalidRequestException("A non-blank prefix and a positive limit are required");
+        }
+        return autocompleteService.complete(prefix, limit);
+    }
+}
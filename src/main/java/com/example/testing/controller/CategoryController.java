@@ -1,8 +1,10 @@
 package com.example.testing.controller;
 
 import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.exception.ResourceNotFoundException;
 import com.example.testing.model.Category;
 import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.service.design.CategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,8 @@ import java.util.List;
 @Slf4j
 public class CategoryController {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final CategoryService categoryService;
 
     @GetMapping
@@ -25,11 +29,19 @@ public class CategoryController {
         return categoryService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public MultiGetResponse<Category> findAllById(@RequestParam("ids") List<String> ids) {
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+        return categoryService.findAllById(ids);
+    }
+
     @GetMapping("/{id}")
     public Category findById(@PathVariable("id") String id) {
         Category category = categoryService.findById(id);
         if (category == null) {
-            throw new InvalidRequestException("Category not found with this id: " + id);
+            throw ResourceNotFoundException.CATEGORY;
         }
         return category;
     }
@@ -1,15 +1,23 @@
 package com.example.testing.controller;
 
 import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.exception.ResourceNotFoundException;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.model.Product;
+import com.example.testing.model.ProductDetail;
 import com.example.testing.model.ProductRequest;
+import com.example.testing.service.design.ProductDetailService;
+import com.example.testing.service.design.ProductSearchService;
 import com.example.testing.service.design.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -18,7 +26,11 @@ import java.util.List;
 @Slf4j
 public class ProductController {
 
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final ProductService productService;
+    private final ProductDetailService productDetailService;
+    private final ProductSearchService productSearchService;
 
     @GetMapping
     public List<Product> findAll() {
@@ -26,16 +38,63 @@ public class ProductController {
         return productService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public MultiGetResponse<Product> findAllById(@RequestParam("ids") List<String> ids) {
+        log.info("ProductController :: findAllById :: start");
+        if (ids.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_SIZE + " ids can be requested at once");
+        }
+        return productService.findAllById(ids);
+    }
+
+    @GetMapping(params = "categoryId")
+    public List<Product> findByCategoryId(@RequestParam("categoryId") String categoryId, @PageableDefault(size = 20) Pageable pageable) {
+        log.info("ProductController :: findByCategoryId :: start");
+        return productService.findByCategoryId(categoryId, pageable);
+    }
+
+    @GetMapping(params = {"minPrice", "maxPrice"})
+    public List<Product> findByPriceRange(@RequestParam("minPrice") BigDecimal minPrice, @RequestParam("maxPrice") BigDecimal maxPrice,
+                                          @PageableDefault(size = 20) Pageable pageable) {
+        log.info("ProductController :: findByPriceRange :: start");
+        return productService.findByPriceRange(minPrice, maxPrice, pageable);
+    }
+
+    @GetMapping(params = "namePrefix")
+    public List<Product> findByNamePrefix(@RequestParam("namePrefix") String namePrefix, @PageableDefault(size = 20) Pageable pageable) {
+        log.info("ProductController :: findByNamePrefix :: start");
+        return productService.findByNamePrefix(namePrefix, pageable);
+    }
+
+    @GetMapping("/search")
+    public List<Product> search(@RequestParam("q") String query, @PageableDefault(size = 20) Pageable pageable) {
+        log.info("ProductController :: search :: start");
+        if (query.isBlank()) {
+            throw new InvalidRequestException("The search query must not be blank");
+        }
+        return productSearchService.search(query, pageable);
+    }
+
     @GetMapping("/{id}")
     public Product findById(@PathVariable("id") String id) {
         log.info("ProductController :: findById :: start");
         Product product = productService.findById(id);
         if (product == null) {
-            throw new InvalidRequestException("Product not found with this id: " + id);
+            throw ResourceNotFoundException.PRODUCT;
         }
         return product;
     }
 
+    @GetMapping("/{id}/detail")
+    public ProductDetail findDetailById(@PathVariable("id") String id) {
+        log.info("ProductController :: findDetailById :: start");
+        ProductDetail productDetail = productDetailService.findById(id);
+        if (productDetail == null) {
+            throw ResourceNotFoundException.PRODUCT;
+        }
+        return productDetail;
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Product save(@Valid @RequestBody ProductRequest productRequest) {
@@ -0,0 +1,100 @@
+package com.example.testing.controller;
+
+import com.example.testing.exception.ResourceNotFoundException;
+import com.example.testing.raw.BsonJsonTranscoder;
+import com.example.testing.raw.RawProductReader;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCursor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.RawBsonDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Read-only product endpoints that copy stored BSON straight to the response
+ * as JSON, in the same layout as {@link ProductController}. An optional
+ * {@code fields} parameter limits the fields written and read.
+ */
+@RestController
+@RequestMapping("/api/v1/raw/products")
+@Profile("!inmemory")
+@ConditionalOnProperty(prefix = "app.raw-read", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RawProductController {
+
+    private final RawProductReader rawProductReader;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/{id}")
+    public void findById(@PathVariable("id") String id, @RequestParam(name = "fields", required = false) List<String> fields,
+                         HttpServletResponse response) throws IOException {
+        log.info("RawProductController :: findById :: start");
+        BsonJsonTranscoder transcoder = transcoder(fields);
+        RawBsonDocument document = rawProductReader.findById(id, transcoder.storedFieldNames());
+        if (document == null) {
+            throw ResourceNotFoundException.PRODUCT;
+        }
+        try (JsonGenerator generator = jsonGenerator(response)) {
+            transcoder.write(document, generator);
+        }
+    }
+
+    @GetMapping(params = "categoryId")
+    public void findByCategoryId(@RequestParam("categoryId") String categoryId, @PageableDefault(size = 20) Pageable pageable,
+                                 @RequestParam(name = "fields", required = false) List<String> fields,
+                                 HttpServletResponse response) throws IOException {
+        log.info("RawProductController :: findByCategoryId :: start");
+        BsonJsonTranscoder transcoder = transcoder(fields);
+        try (MongoCursor<RawBsonDocument> cursor = rawProductReader.findByCategoryId(categoryId, pageable, transcoder.storedFieldNames())) {
+            writeArray(cursor, transcoder, response);
+        }
+    }
+
+    @GetMapping("/export")
+    public void export(@RequestParam(name = "fields", required = false) List<String> fields,
+                       HttpServletResponse response) throws IOException {
+        log.info("RawProductController :: export :: start");
+        BsonJsonTranscoder transcoder = transcoder(fields);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.json\"");
+        try (MongoCursor<RawBsonDocument> cursor = rawProductReader.findAll(transcoder.storedFieldNames())) {
+            writeArray(cursor, transcoder, response);
+        }
+    }
+
+    private void writeArray(MongoCursor<RawBsonDocument> cursor, BsonJsonTranscoder transcoder,
+                            HttpServletResponse response) throws IOException {
+        try (JsonGenerator generator = jsonGenerator(response)) {
+            generator.writeStartArray();
+            while (cursor.hasNext()) {
+                transcoder.write(cursor.next(), generator);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private JsonGenerator jsonGenerator(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        return objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+    }
+
+    private static BsonJsonTranscoder transcoder(List<String> fields) {
+        return fields == null || fields.isEmpty() ? BsonJsonTranscoder.PRODUCT : BsonJsonTranscoder.PRODUCT.project(fields);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.testing.crac;
+
+import com.mongodb.client.MongoClient;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Hands out a {@link MongoClient} proxy whose target can be closed and created
+ * again. Spring stops lifecycle beans before a CRaC checkpoint and starts them
+ * after restore; this one closes every Mongo socket on stop and opens a fresh
+ * client on start. Its phase places it below the web server, so Tomcat stops
+ * accepting requests before the client closes and resumes only after it reopens.
+ */
+@Log4j2
+public class ReopenableMongoClient implements SmartLifecycle, InvocationHandler {
+
+    static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final Supplier<MongoClient> clientFactory;
+    private final MongoClient proxy;
+    private volatile MongoClient target;
+
+    public ReopenableMongoClient(Supplier<MongoClient> clientFactory) {
+        this.clientFactory = clientFactory;
+        this.target = clientFactory.get();
+        this.proxy = (MongoClient) Proxy.newProxyInstance(
+                MongoClient.class.getClassLoader(), new Class<?>[]{MongoClient.class}, this);
+    }
+
+    public MongoClient getClient() {
+        return proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        MongoClient client = target;
+        if (client == null) {
+            if ("close".equals(method.getName())) {
+                return null;
+            }
+            throw new IllegalStateException("Mongo client is closed for checkpoint");
+        }
+        try {
+            return method.invoke(client, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (target == null) {
+            target = clientFactory.get();
+            log.info("Mongo client reopened");
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        MongoClient client = target;
+        if (client != null) {
+            target = null;
+            client.close();
+            log.info("Mongo client closed");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return target != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
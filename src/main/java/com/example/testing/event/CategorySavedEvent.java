@@ -0,0 +1,9 @@
+package com.example.testing.event;
+
+import com.example.testing.model.Category;
+
+/**
+ * Published by the category service after a category has been written.
+ */
+public record CategorySavedEvent(Category category) {
+}
@@ -0,0 +1,9 @@
+package com.example.testing.event;
+
+import com.example.testing.model.Product;
+
+/**
+ * Published by the product service after a product has been written.
+ */
+public record ProductSavedEvent(Product product) {
+}
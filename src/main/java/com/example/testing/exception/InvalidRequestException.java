@@ -5,4 +5,8 @@ public class InvalidRequestException extends RuntimeException {
     public InvalidRequestException(String message) {
         super(message);
     }
+
+    protected InvalidRequestException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
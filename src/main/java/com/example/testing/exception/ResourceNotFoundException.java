@@ -0,0 +1,23 @@
+package com.example.testing.exception;
+
+/**
+ * Preallocated, stackless not-found signal. Instances are shared between
+ * requests, so the id being looked up is resolved from the request path by
+ * the exception handler instead of being carried here.
+ */
+public final class ResourceNotFoundException extends InvalidRequestException {
+
+    public static final ResourceNotFoundException PRODUCT = new ResourceNotFoundException("Product");
+    public static final ResourceNotFoundException CATEGORY = new ResourceNotFoundException("Category");
+
+    private final String resourceName;
+
+    private ResourceNotFoundException(String resourceName) {
+        super(resourceName + " not found", false);
+        this.resourceName = resourceName;
+    }
+
+    public String describe(String id) {
+        return resourceName + " not found with this id: " + id;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.testing.filter;
+
+/**
+ * Order of the application's servlet filters, all after the ones Spring Boot
+ * registers itself. Internal endpoints are authenticated first, clients are
+ * rate limited before anything is replayed or served from the cache, and
+ * idempotent replays come before response caching.
+ */
+public final class FilterOrder {
+
+    public static final int INTERNAL_ENDPOINT_TOKEN = 0;
+    public static final int RATE_LIMIT = 10;
+    public static final int IDEMPOTENCY = 20;
+    public static final int RESPONSE_CACHE = 30;
+
+    private FilterOrder() {
+    }
+}
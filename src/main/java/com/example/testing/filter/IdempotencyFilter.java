@@ -0,0 +1,271 @@
+package com.example.testing.filter;
+
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.config.IdempotencyProperties;
+import com.example.testing.idempotency.IdempotencyStore;
+import com.example.testing.idempotency.IdempotentResponse;
+import com.example.testing.model.ApiError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Makes the create endpoints safe to retry. The first request with a given
+ * {@value #IDEMPOTENCY_KEY_HEADER} claims the key before it runs and its
+ * response is recorded; later requests with the same key and body get that
+ * response replayed. Concurrent duplicates on this instance wait for the one
+ * in flight, those on other instances poll the store until the response is
+ * recorded, and are answered with a conflict if it takes longer than
+ * {@code app.idempotency.pending-timeout}, or if the key cannot be claimed
+ * because it keeps changing hands. Reusing a key with a different body
+ * is rejected. Server errors are not recorded, so they can be retried.
+ */
+@Component
+@Order(FilterOrder.IDEMPOTENCY)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String COALESCING_NAMESPACE = "idempotency";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final IdempotencyProperties idempotencyProperties;
+    private final RequestCoalescer requestCoalescer;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, IdempotencyProperties idempotencyProperties,
+                             RequestCoalescer requestCoalescer, ObjectMapper objectMapper, Clock clock) {
+        this.idempotencyStore = idempotencyStore;
+        this.idempotencyProperties = idempotencyProperties;
+        this.requestCoalescer = requestCoalescer;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getServletPath();
+        return !idempotencyProperties.enabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !(path.equals(ResponseCacheFilter.PRODUCTS_PATH) || path.equals(ResponseCacheFilter.CATEGORIES_PATH));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(request, response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+        String key = clientKey(request) + " " + request.getServletPath() + " " + idempotencyKey;
+        AtomicBoolean executed = new AtomicBoolean();
+        IdempotentResponse recorded;
+        try {
+            recorded = requestCoalescer.execute(COALESCING_NAMESPACE, key, () -> claimOrAwait(key, fingerprint, () -> {
+                executed.set(true);
+                return execute(key, fingerprint, new CachedBodyRequest(request, body), response, filterChain);
+            }));
+        } catch (ChainFailure e) {
+            if (e.getCause() instanceof ServletException servletException) {
+                throw servletException;
+            }
+            throw (IOException) e.getCause();
+        } catch (ConcurrencyFailureException e) {
+            writeInProgress(request, response);
+            return;
+        }
+        if (executed.get()) {
+            return;
+        }
+        if (!recorded.fingerprint().equals(fingerprint)) {
+            writeError(request, response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        if (recorded.isPending()) {
+            writeInProgress(request, response);
+            return;
+        }
+        response.setStatus(recorded.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (recorded.contentType() != null) {
+            response.setContentType(recorded.contentType());
+        }
+        response.setContentLength(recorded.body().length);
+        response.getOutputStream().write(recorded.body());
+    }
+
+    /**
+     * Runs the request once the key is claimed, or returns the response
+     * recorded for the key. A response still pending on another instance is
+     * polled for until it completes or the pending timeout passes, in which
+     * case the pending response is returned.
+     */
+    private IdempotentResponse claimOrAwait(String key, String fingerprint, Supplier<IdempotentResponse> execution) {
+        long deadline = System.nanoTime() + idempotencyProperties.pendingTimeout().toNanos();
+        while (true) {
+            Optional<IdempotentResponse> recorded = idempotencyStore.claim(IdempotentResponse.pending(key, fingerprint, clock.instant()));
+            if (recorded.isEmpty()) {
+                return execution.get();
+            }
+            IdempotentResponse response = recorded.get();
+            if (!response.isPending() || !response.fingerprint().equals(fingerprint) || System.nanoTime() - deadline >= 0) {
+                return response;
+            }
+            try {
+                Thread.sleep(idempotencyProperties.pollInterval());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ChainFailure(new ServletException("Interrupted while waiting for the response of " + key, e));
+            }
+        }
+    }
+
+    private IdempotentResponse execute(String key, String fingerprint, HttpServletRequest request,
+                                       HttpServletResponse response, FilterChain filterChain) {
+        boolean recorded = false;
+        try {
+            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+            filterChain.doFilter(request, responseWrapper);
+            IdempotentResponse idempotentResponse = new IdempotentResponse(key, fingerprint, responseWrapper.getStatus(),
+                    responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(), clock.instant());
+            responseWrapper.copyBodyToResponse();
+            if (HttpStatus.valueOf(idempotentResponse.status()).is5xxServerError()) {
+                return idempotentResponse;
+            }
+            IdempotentResponse savedResponse = idempotencyStore.save(idempotentResponse);
+            recorded = true;
+            return savedResponse;
+        } catch (IOException | ServletException e) {
+            throw new ChainFailure(e);
+        } finally {
+            if (!recorded) {
+                idempotencyStore.release(key);
+            }
+        }
+    }
+
+    private void writeInProgress(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, idempotencyProperties.pollInterval().toSeconds())));
+        writeError(request, response, HttpStatus.CONFLICT,
+                "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError(status.name(), message, "uri=" + request.getRequestURI()));
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(RateLimitFilter.API_KEY_HEADER);
+        return apiKey != null && !apiKey.isBlank() ? apiKey : request.getRemoteAddr();
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getServletPath().getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ChainFailure extends RuntimeException {
+
+        ChainFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * Serves the body read for fingerprinting to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The whole body is already in memory, so the listener is told
+                 * right away that it is available and read.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    Objects.requireNonNull(readListener, "readListener");
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return inputStream.read(buffer, offset, length);
+                }
+            };
+        }
+    }
+}
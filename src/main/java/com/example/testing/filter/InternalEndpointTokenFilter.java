@@ -0,0 +1,67 @@
+package com.example.testing.filter;
+
+import com.example.testing.config.InternalEndpointProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Requires the {@value #TOKEN_HEADER} header to match {@code app.internal.token}
+ * on the internal actuator endpoints. Without a configured token those
+ * endpoints are refused altogether.
+ */
+@Component
+@Order(FilterOrder.INTERNAL_ENDPOINT_TOKEN)
+@EnableConfigurationProperties(InternalEndpointProperties.class)
+public class InternalEndpointTokenFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final InternalEndpointProperties internalEndpointProperties;
+    private final String actuatorBasePath;
+
+    public InternalEndpointTokenFilter(InternalEndpointProperties internalEndpointProperties, WebEndpointProperties webEndpointProperties) {
+        this.internalEndpointProperties = internalEndpointProperties;
+        this.actuatorBasePath = webEndpointProperties.getBasePath();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Decoded, without path parameters and normalized, the way the request is matched to an endpoint.
+        String path = StringUtils.cleanPath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        return internalEndpointProperties.protectedEndpoints().stream()
+                .map(endpoint -> actuatorBasePath + "/" + endpoint)
+                .noneMatch(endpointPath -> path.equals(endpointPath) || path.startsWith(endpointPath + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String expectedToken = internalEndpointProperties.token();
+        String token = request.getHeader(TOKEN_HEADER);
+        if (expectedToken == null || expectedToken.isBlank()) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        if (token == null || !MessageDigest.isEqual(
+                token.getBytes(StandardCharsets.UTF_8), expectedToken.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.testing.filter;
+
+import com.example.testing.cache.LocalCache;
+import com.example.testing.config.RateLimitProperties;
+import com.example.testing.model.ApiError;
+import com.example.testing.ratelimit.RateLimitBudget;
+import com.example.testing.ratelimit.TokenBucket;
+import com.example.testing.warmup.WarmUpRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token bucket rate limiting with separate read, write and bulk
+ * budgets. Clients presenting one of the configured {@code app.rate-limit.api-keys}
+ * get a budget of their own; everyone else is identified by remote address,
+ * so an unknown or rotated key never creates a fresh bucket. Idle clients are
+ * evicted so memory stays bounded. The startup warm-up is not limited.
+ */
+@Component
+@Order(FilterOrder.RATE_LIMIT)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
+    private final WarmUpRequests warmUpRequests;
+    private final Map<RateLimitBudget, LocalCache<String, TokenBucket>> buckets = new EnumMap<>(RateLimitBudget.class);
+    private final Map<RateLimitBudget, Counter> rejections = new EnumMap<>(RateLimitBudget.class);
+
+    public RateLimitFilter(RateLimitProperties rateLimitProperties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                           WarmUpRequests warmUpRequests) {
+        this.rateLimitProperties = rateLimitProperties;
+        this.objectMapper = objectMapper;
+        this.warmUpRequests = warmUpRequests;
+        for (RateLimitBudget budget : RateLimitBudget.values()) {
+            buckets.put(budget, new LocalCache<>("rate-limit-" + budget.name().toLowerCase(), rateLimitProperties.maxClients()));
+            rejections.put(budget, Counter.builder("http.server.requests.rate.limited")
+                    .tag("budget", budget.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !rateLimitProperties.enabled() || !request.getRequestURI().contains("/api/") || warmUpRequests.isWarmUp(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitBudget budget = budgetFor(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(budget).computeIfAbsent(clientKey(request), client -> newBucket(budget, now));
+        long result = bucket.tryConsume(now);
+        response.setHeader(LIMIT_HEADER, Long.toString(bucket.getCapacity()));
+        response.setHeader(REMAINING_HEADER, Long.toString(Math.max(0, result)));
+        response.setHeader(RESET_HEADER, Long.toString(toSeconds(bucket.nanosUntilFull(now))));
+        if (result >= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejections.get(budget).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(toSeconds(-result)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiError("TOO_MANY_REQUESTS",
+                "Rate limit exceeded for " + budget.name().toLowerCase() + " requests, please retry later",
+                "uri=" + request.getRequestURI()));
+    }
+
+    private RateLimitBudget budgetFor(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+            return request.getParameter("ids") != null ? RateLimitBudget.BULK : RateLimitBudget.READ;
+        }
+        return RateLimitBudget.WRITE;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && rateLimitProperties.apiKeys().contains(apiKey)
+                ? "key:" + apiKey
+                : "address:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket newBucket(RateLimitBudget budget, long now) {
+        return switch (budget) {
+            case READ -> new TokenBucket(rateLimitProperties.readCapacity(), rateLimitProperties.readRefillPerSecond(), now);
+            case WRITE -> new TokenBucket(rateLimitProperties.writeCapacity(), rateLimitProperties.writeRefillPerSecond(), now);
+            case BULK -> new TokenBucket(rateLimitProperties.bulkCapacity(), rateLimitProperties.bulkRefillPerSecond(), now);
+        };
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.testing.filter;
+
+import com.example.testing.cache.CachedResponse;
+import com.example.testing.cache.LocalCache;
+import com.example.testing.config.ResponseCacheProperties;
+import com.example.testing.event.CategorySavedEvent;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.monitoring.HotKeyTracker;
+import com.example.testing.warmup.WarmUpRequests;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the encoded bodies of the hot single-resource and category reads, so
+ * a hit is written straight from bytes without running the controller or
+ * Jackson. Entries are dropped by the save events of the catalog services; a
+ * response rendered while a save was in progress is never stored. Saves on
+ * other instances and reads from a lagging secondary are not seen here, so
+ * every entry also expires after {@code app.response-cache.time-to-live}. Warm-up
+ * requests bypass the cache so that they exercise the full read path. Hits
+ * never reach the controller, so their hot keys are recorded here.
+ */
+@Component
+@Order(FilterOrder.RESPONSE_CACHE)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String CATEGORIES_PATH = "/api/v1/categories";
+    static final String PRODUCTS_PATH = "/api/v1/products";
+
+    private static final String GZIP = "gzip";
+
+    private final LocalCache<String, CachedResponse> responseCache;
+    private final ResponseCacheProperties responseCacheProperties;
+    private final WarmUpRequests warmUpRequests;
+    private final HotKeyTracker hotKeyTracker;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCacheFilter(LocalCache<String, CachedResponse> responseCache, ResponseCacheProperties responseCacheProperties,
+                               WarmUpRequests warmUpRequests, HotKeyTracker hotKeyTracker) {
+        this.responseCache = responseCache;
+        this.responseCacheProperties = responseCacheProperties;
+        this.warmUpRequests = warmUpRequests;
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !responseCacheProperties.enabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || request.getQueryString() != null
+                || !isCacheable(request.getServletPath())
+                || warmUpRequests.isWarmUp(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getServletPath();
+        CachedResponse cachedResponse = responseCache.get(path);
+        if (cachedResponse != null && !cachedResponse.isExpired(System.nanoTime())) {
+            recordHotKeys(path);
+            write(cachedResponse, request, response);
+            return;
+        }
+        long fillGeneration = generation.get();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (responseWrapper.getStatus() == HttpStatus.OK.value() && isJson(responseWrapper.getContentType())) {
+            cachedResponse = CachedResponse.of(responseWrapper.getContentType(), responseWrapper.getContentAsByteArray(),
+                    (int) responseCacheProperties.minCompressSize().toBytes(),
+                    System.nanoTime() + responseCacheProperties.timeToLive().toNanos());
+            if (generation.get() == fillGeneration) {
+                responseCache.put(path, cachedResponse);
+            }
+            responseWrapper.setHeader(HttpHeaders.ETAG, cachedResponse.etag());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    @EventListener
+    public void onProductSaved(ProductSavedEvent event) {
+        generation.incrementAndGet();
+        responseCache.invalidate(PRODUCTS_PATH + "/" + event.product().getId());
+    }
+
+    @EventListener
+    public void onCategorySaved(CategorySavedEvent event) {
+        generation.incrementAndGet();
+        responseCache.invalidate(CATEGORIES_PATH);
+        responseCache.invalidate(CATEGORIES_PATH + "/" + event.category().getId());
+    }
+
+    /**
+     * Records the hit the way {@code AppLogger} records a controller invocation.
+     */
+    private void recordHotKeys(String path) {
+        if (path.equals(CATEGORIES_PATH)) {
+            hotKeyTracker.record(HotKeyTracker.ENDPOINTS, HotKeyTracker.CATEGORY_LIST);
+            return;
+        }
+        String endpoint = path.startsWith(PRODUCTS_PATH) ? HotKeyTracker.PRODUCT_LOOKUP : HotKeyTracker.CATEGORY_LOOKUP;
+        hotKeyTracker.record(HotKeyTracker.ENDPOINTS, endpoint);
+        hotKeyTracker.record(endpoint, path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private void write(CachedResponse cachedResponse, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(cachedResponse.contentType());
+        response.setHeader(HttpHeaders.ETAG, cachedResponse.etag());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(cachedResponse.etag()))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        byte[] body = cachedResponse.body();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (cachedResponse.gzipBody() != null && acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+            body = cachedResponse.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Matches {@code /api/v1/categories}, {@code /api/v1/categories/{id}} and
+     * {@code /api/v1/products/{id}} without allocating.
+     */
+    static boolean isCacheable(String path) {
+        if (path.equals(CATEGORIES_PATH)) {
+            return true;
+        }
+        return isSingleResource(path, CATEGORIES_PATH) || isSingleResource(path, PRODUCTS_PATH);
+    }
+
+    private static boolean isSingleResource(String path, String collectionPath) {
+        int idStart = collectionPath.length() + 1;
+        return path.length() > idStart
+                && path.startsWith(collectionPath)
+                && path.charAt(collectionPath.length()) == '/'
+                && path.indexOf('/', idStart) < 0;
+    }
+
+    private static boolean isJson(String contentType) {
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+}
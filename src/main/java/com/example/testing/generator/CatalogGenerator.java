@@ -0,0 +1,138 @@
+package com.example.testing.generator;
+
+import com.example.testing.config.CatalogGeneratorProperties;
+import com.example.testing.index.CatalogIds;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductPriceShadow;
+import com.github.javafaker.Faker;
+import org.bson.Document;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Generates catalog documents in the layout Spring Data writes for
+ * {@link Product} and {@link Category}, prices as strings included. Every batch
+ * draws from its own generator derived from the seed and the batch number, so
+ * the output does not depend on how many threads produce it or in which order.
+ * Ids are the version 7 ids the services create, stamped one millisecond per
+ * batch from the id epoch, so pods that are running while the catalog is loaded
+ * treat them as recent instead of trusting an id filter built before they
+ * existed.
+ */
+public class CatalogGenerator {
+
+    public static final String CATEGORY_COLLECTION = "category";
+    public static final String PRODUCT_COLLECTION = "product";
+
+    private static final int NAME_POOL_SIZE = 5_000;
+    private static final long BATCH_SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private final CatalogGeneratorProperties properties;
+    private final long idEpochMillis;
+    private final String[] categoryIds;
+    private final String[] categoryNames;
+    private final double[] categoryCumulativeWeights;
+    private final String[] productNames;
+    private final String[] descriptions;
+    private final double priceMu;
+
+    public CatalogGenerator(CatalogGeneratorProperties properties) {
+        this.properties = properties;
+        this.idEpochMillis = properties.idEpoch() != null ? properties.idEpoch().toEpochMilli() : System.currentTimeMillis();
+        Faker faker = new Faker(Locale.ENGLISH, new Random(properties.seed()));
+        SplittableRandom random = new SplittableRandom(properties.seed());
+        categoryIds = new String[properties.categories()];
+        categoryNames = new String[properties.categories()];
+        for (int i = 0; i < properties.categories(); i++) {
+            categoryIds[i] = CatalogIds.next(idEpochMillis, random);
+            categoryNames[i] = faker.commerce().department() + " " + (i + 1);
+        }
+        productNames = new String[NAME_POOL_SIZE];
+        descriptions = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            productNames[i] = faker.commerce().productName();
+            descriptions[i] = faker.lorem().sentence(12);
+        }
+        categoryCumulativeWeights = zipfCumulativeWeights(properties.categories(), properties.categorySkew());
+        priceMu = Math.log(properties.priceMedian().doubleValue());
+    }
+
+    public List<Document> categories() {
+        List<Document> categories = new ArrayList<>(categoryIds.length);
+        for (int i = 0; i < categoryIds.length; i++) {
+            categories.add(new Document("_id", categoryIds[i])
+                    .append("name", categoryNames[i])
+                    .append("description", "Generated category " + (i + 1))
+                    .append("_class", Category.class.getName()));
+        }
+        return categories;
+    }
+
+    public long productBatches() {
+        return (properties.products() + properties.batchSize() - 1) / properties.batchSize();
+    }
+
+    public List<Document> productBatch(long batch) {
+        SplittableRandom random = new SplittableRandom(properties.seed() + (batch + 1) * BATCH_SEED_INCREMENT);
+        long first = batch * properties.batchSize();
+        int size = (int) Math.min(properties.batchSize(), properties.products() - first);
+        List<Document> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Document product = new Document("_id", CatalogIds.next(idEpochMillis + batch + 1, random))
+                    .append("name", productNames[random.nextInt(NAME_POOL_SIZE)] + " " + (first + i + 1))
+                    .append("description", descriptions[random.nextInt(NAME_POOL_SIZE)])
+                    .append("price", price(random).toPlainString())
+                    .append("stock", stock(random))
+                    .append("categoryId", categoryIds[category(random)])
+                    .append("_class", Product.class.getName());
+            products.add(product.append(ProductPriceShadow.FIELD,
+                    ProductPriceShadow.value(new BigDecimal(product.getString("price")))));
+        }
+        return products;
+    }
+
+    int category(SplittableRandom random) {
+        int index = Arrays.binarySearch(categoryCumulativeWeights, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, categoryCumulativeWeights.length - 1);
+    }
+
+    private BigDecimal price(SplittableRandom random) {
+        double price = Math.exp(priceMu + properties.priceSigma() * gaussian(random));
+        return BigDecimal.valueOf(Math.max(0.01, price)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private int stock(SplittableRandom random) {
+        if (random.nextDouble() < properties.outOfStockRatio()) {
+            return 0;
+        }
+        double p = 1 / Math.max(1, properties.stockMean());
+        return 1 + (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static double[] zipfCumulativeWeights(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.testing.generator;
+
+import com.example.testing.config.CatalogGeneratorProperties;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills Mongo with a generated catalog when the "generate" profile is active:
+ * {@code java -jar app.jar --spring.profiles.active=generate --app.generator.products=20000000}.
+ * Batches are generated and written by {@code parallelism} threads with
+ * unordered inserts, so the server applies a whole batch even when some of it
+ * is already there. Rerunning with the same seed therefore only adds what is
+ * missing.
+ */
+@Log4j2
+@Component
+@Profile("generate")
+@EnableConfigurationProperties(CatalogGeneratorProperties.class)
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+    private static final long PROGRESS_INTERVAL = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final CatalogGeneratorProperties properties;
+    private final ConfigurableApplicationContext applicationContext;
+
+    public CatalogGeneratorRunner(MongoTemplate mongoTemplate, CatalogGeneratorProperties properties,
+                                  ConfigurableApplicationContext applicationContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        CatalogGenerator generator = new CatalogGenerator(properties);
+        MongoCollection<Document> categories = mongoTemplate.getCollection(CatalogGenerator.CATEGORY_COLLECTION);
+        MongoCollection<Document> products = mongoTemplate.getCollection(CatalogGenerator.PRODUCT_COLLECTION);
+        if (properties.dropExisting()) {
+            categories.drop();
+            products.drop();
+        }
+        long start = System.nanoTime();
+        insert(categories, generator.categories());
+        insertProducts(generator, products);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        log.info("Generated {} categories and {} products with seed {} in {} ({} products/s)",
+                properties.categories(), properties.products(), properties.seed(), elapsed,
+                properties.products() * 1_000 / Math.max(1, elapsed.toMillis()));
+        if (properties.exitWhenDone()) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void insertProducts(CatalogGenerator generator, MongoCollection<Document> products) throws Exception {
+        long batches = generator.productBatches();
+        Semaphore inFlight = new Semaphore(properties.parallelism() * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        AtomicLong written = new AtomicLong();
+        try (ExecutorService executor = Executors.newFixedThreadPool(properties.parallelism())) {
+            for (long batch = 0; batch < batches && failure.get() == null; batch++) {
+                inFlight.acquire();
+                long current = batch;
+                executor.execute(() -> {
+                    try {
+                        List<Document> documents = generator.productBatch(current);
+                        insert(products, documents);
+                        long total = written.addAndGet(documents.size());
+                        if (total / properties.batchSize() % PROGRESS_INTERVAL == 0) {
+                            log.info("Generated {} of {} products", total, properties.products());
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private static void insert(MongoCollection<Document> collection, List<Document> documents) {
+        try {
+            collection.insertMany(documents, UNORDERED);
+        } catch (MongoBulkWriteException e) {
+            if (!e.getWriteErrors().stream().allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+}
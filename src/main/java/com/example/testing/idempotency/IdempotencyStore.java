@@ -0,0 +1,24 @@
+package com.example.testing.idempotency;
+
+import java.util.Optional;
+
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key of the pending response for a request about to run.
+     * Returns empty when the claim succeeded, otherwise the response already
+     * recorded for the key, which may itself still be pending. Expired
+     * responses, and pending ones whose request was abandoned, are taken over.
+     */
+    Optional<IdempotentResponse> claim(IdempotentResponse pending);
+
+    /**
+     * Replaces the claim with the completed response.
+     */
+    IdempotentResponse save(IdempotentResponse response);
+
+    /**
+     * Drops a pending claim, so that the request can be retried.
+     */
+    void release(String key);
+}
@@ -0,0 +1,25 @@
+package com.example.testing.idempotency;
+
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * The recorded outcome of a request made with an idempotency key, replayed to
+ * any later request carrying the same key and the same fingerprint. While the
+ * first request is still running the key holds a pending response without a
+ * status, which claims it for that request.
+ */
+public record IdempotentResponse(@Id String key, String fingerprint, int status, String contentType, byte[] body,
+                                 Instant createdAt) {
+
+    public static final int PENDING_STATUS = 0;
+
+    public static IdempotentResponse pending(String key, String fingerprint, Instant createdAt) {
+        return new IdempotentResponse(key, fingerprint, PENDING_STATUS, null, new byte[0], createdAt);
+    }
+
+    public boolean isPending() {
+        return status == PENDING_STATUS;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.testing.idempotency;
+
+import com.example.testing.cache.LocalCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps recorded responses in a bounded LRU cache local to this instance. Keys
+ * fall out after the TTL or earlier when the cache is full. Claims are checked
+ * and made under the store's lock.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final LocalCache<String, IdempotentResponse> responses;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+
+    public InMemoryIdempotencyStore(int maximumSize, Duration ttl, Duration pendingTimeout, Clock clock) {
+        this.responses = new LocalCache<>("idempotency", maximumSize);
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> claim(IdempotentResponse pending) {
+        IdempotentResponse recorded = responses.get(pending.key());
+        if (recorded != null && !isOlderThan(recorded, recorded.isPending() ? pendingTimeout : ttl)) {
+            return Optional.of(recorded);
+        }
+        responses.put(pending.key(), pending);
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized IdempotentResponse save(IdempotentResponse response) {
+        responses.put(response.key(), response);
+        return response;
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        IdempotentResponse recorded = responses.get(key);
+        if (recorded != null && recorded.isPending()) {
+            responses.invalidate(key);
+        }
+    }
+
+    private boolean isOlderThan(IdempotentResponse response, Duration age) {
+        return response.createdAt().plus(age).isBefore(clock.instant());
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.testing.idempotency;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Shares recorded responses between instances through a collection with a TTL
+ * index on {@code createdAt}. A claim is the insert of the pending response,
+ * so the unique {@code _id} decides which instance runs the request. Mongo
+ * removes expired documents in the background about once a minute, so expiry
+ * is also checked when claiming. The record that beat a claim is read from the
+ * primary, where the insert that lost saw it.
+ */
+public class MongoIdempotencyStore implements IdempotencyStore {
+
+    static final String COLLECTION = "idempotency_key";
+
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+
+    public MongoIdempotencyStore(MongoTemplate mongoTemplate, Duration ttl, Duration pendingTimeout, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index().on("createdAt", Sort.Direction.ASC).expire(ttl));
+    }
+
+    @Override
+    public Optional<IdempotentResponse> claim(IdempotentResponse pending) {
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+            try {
+                mongoTemplate.insert(pending, COLLECTION);
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                Instant now = clock.instant();
+                Query takeOver = Query.query(Criteria.where("_id").is(pending.key()).orOperator(
+                        Criteria.where("createdAt").lt(now.minus(ttl)),
+                        Criteria.where("status").is(IdempotentResponse.PENDING_STATUS).and("createdAt").lt(now.minus(pendingTimeout))));
+                if (mongoTemplate.findAndReplace(takeOver, pending, COLLECTION) != null) {
+                    return Optional.empty();
+                }
+                IdempotentResponse recorded = findOnPrimary(pending.key());
+                if (recorded != null) {
+                    return Optional.of(recorded);
+                }
+                // Released or removed by the TTL monitor in the meantime, so the insert is tried again.
+            }
+        }
+        throw new ConcurrencyFailureException("Unable to claim idempotency key " + pending.key() + " after "
+                + MAX_CLAIM_ATTEMPTS + " attempts");
+    }
+
+    @Override
+    public IdempotentResponse save(IdempotentResponse response) {
+        return mongoTemplate.save(response, COLLECTION);
+    }
+
+    private IdempotentResponse findOnPrimary(String key) {
+        Document document = mongoTemplate.execute(COLLECTION, collection -> collection
+                .withReadPreference(ReadPreference.primary())
+                .find(Filters.eq("_id", key))
+                .first());
+        return document == null ? null : mongoTemplate.getConverter().read(IdempotentResponse.class, document);
+    }
+
+    @Override
+    public void release(String key) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(key).and("status").is(IdempotentResponse.PENDING_STATUS)),
+                COLLECTION);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.testing.index;
+
+import com.example.testing.config.IdFilterProperties;
+import com.example.testing.sketch.ScalableBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters of the product and category ids known to exist. A lookup the
+ * filter rejects is a definite miss and never needs a database round trip,
+ * unless the id was created after the filter was built, possibly by another
+ * pod. Until the first build completes every id is reported as possibly
+ * present.
+ */
+@Component
+@EnableConfigurationProperties(IdFilterProperties.class)
+public class CatalogIdIndex {
+
+    private final IdFilterProperties idFilterProperties;
+    private final Membership products;
+    private final Membership categories;
+
+    public CatalogIdIndex(IdFilterProperties idFilterProperties, MeterRegistry meterRegistry) {
+        this.idFilterProperties = idFilterProperties;
+        this.products = new Membership(rejectionCounter(meterRegistry, "product"));
+        this.categories = new Membership(rejectionCounter(meterRegistry, "category"));
+    }
+
+    public boolean isEnabled() {
+        return idFilterProperties.enabled();
+    }
+
+    public boolean mightContainProduct(String productId) {
+        return productPresence(productId) != Presence.ABSENT;
+    }
+
+    public boolean mightContainCategory(String categoryId) {
+        return categoryPresence(categoryId) != Presence.ABSENT;
+    }
+
+    public Presence productPresence(String productId) {
+        return products.presence(productId);
+    }
+
+    public Presence categoryPresence(String categoryId) {
+        return categories.presence(categoryId);
+    }
+
+    public void addProduct(String productId) {
+        products.add(productId);
+    }
+
+    public void addCategory(String categoryId) {
+        categories.add(categoryId);
+    }
+
+    /**
+     * Rebuilds the product filter from the ids the stream returns. The stream
+     * is opened only once saves are being recorded into the new filter, so a
+     * save made while the stream is read cannot be lost.
+     */
+    public void rebuildProducts(Supplier<Stream<String>> productIds) {
+        products.rebuild(productIds);
+    }
+
+    public void rebuildCategories(Supplier<Stream<String>> categoryIds) {
+        categories.rebuild(categoryIds);
+    }
+
+    private Counter rejectionCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("catalog.id.filter.rejections")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private ScalableBloomFilter newFilter() {
+        return new ScalableBloomFilter(idFilterProperties.expectedInsertions(), idFilterProperties.falsePositiveProbability());
+    }
+
+    public enum Presence {
+
+        /**
+         * The id is known not to exist.
+         */
+        ABSENT,
+
+        /**
+         * The filter holds the id, or the id is newer than the filter. A
+         * miss on a secondary is worth confirming on the primary.
+         */
+        LIKELY,
+
+        /**
+         * No filter has been built yet, or filtering is turned off, and the
+         * id is not a recent one.
+         */
+        UNKNOWN
+    }
+
+    /**
+     * A built filter and the time its rebuild began. Ids created up to
+     * {@code recentIdMargin} before that time may still be missing from it,
+     * since the rebuild may read from a lagging secondary.
+     */
+    private record Built(ScalableBloomFilter filter, long startedAt) {
+    }
+
+    private final class Membership {
+
+        private final Counter rejections;
+        private volatile Built current;
+        private volatile ScalableBloomFilter rebuilding;
+
+        Membership(Counter rejections) {
+            this.rejections = rejections;
+        }
+
+        /**
+         * Without a filter, only ids created within the margin are likely
+         * present; a miss on any other id is taken as genuine.
+         */
+        Presence presence(String id) {
+            long margin = idFilterProperties.recentIdMargin().toMillis();
+            Built built = current;
+            if (built == null || !idFilterProperties.enabled()) {
+                return CatalogIds.createdAt(id) >= System.currentTimeMillis() - margin ? Presence.LIKELY : Presence.UNKNOWN;
+            }
+            if (built.filter().mightContain(id) || CatalogIds.createdAt(id) >= built.startedAt() - margin) {
+                return Presence.LIKELY;
+            }
+            rejections.increment();
+            return Presence.ABSENT;
+        }
+
+        /**
+         * Reads the rebuilding filter before the current one, so an id added
+         * while a rebuild completes still reaches the filter that replaces
+         * the current one.
+         */
+        void add(String id) {
+            ScalableBloomFilter next = rebuilding;
+            if (next != null) {
+                next.put(id);
+            }
+            Built built = current;
+            if (built != null) {
+                built.filter().put(id);
+            }
+        }
+
+        synchronized void rebuild(Supplier<Stream<String>> ids) {
+            long startedAt = System.currentTimeMillis();
+            ScalableBloomFilter next = newFilter();
+            rebuilding = next;
+            try (Stream<String> stream = ids.get()) {
+                stream.forEach(next::put);
+                current = new Built(next, startedAt);
+            } finally {
+                rebuilding = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.testing.index;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.repository.CategoryRepository;
+import com.example.testing.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class CatalogIdIndexLoader {
+
+    private final CatalogIdIndex catalogIdIndex;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.id-filter.rebuild-interval:PT5M}")
+    public void rebuild() {
+        if (!catalogIdIndex.isEnabled()) {
+            return;
+        }
+        try {
+            catalogIdIndex.rebuildProducts(() -> productRepository.streamAllIds().map(Product::getId));
+        } catch (RuntimeException e) {
+            log.warn("Unable to rebuild product id filter, lookups stay unfiltered: {}", e.getMessage());
+        }
+        try {
+            catalogIdIndex.rebuildCategories(() -> categoryRepository.streamAllIds().map(Category::getId));
+        } catch (RuntimeException e) {
+            log.warn("Unable to rebuild category id filter, lookups stay unfiltered: {}", e.getMessage());
+        }
+    }
+}
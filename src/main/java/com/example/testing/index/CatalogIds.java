@@ -0,0 +1,52 @@
+package com.example.testing.index;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Ids for new products and categories: version 7 UUIDs, which lead with the
+ * creation time in milliseconds. Any pod can then tell whether an id was
+ * created after its id filter was built, without asking the database.
+ */
+public final class CatalogIds {
+
+    private static final int UUID_LENGTH = 36;
+    private static final int VERSION_POSITION = 14;
+
+    private CatalogIds() {
+    }
+
+    public static String next() {
+        return next(System.currentTimeMillis());
+    }
+
+    static String next(long epochMillis) {
+        return next(epochMillis, ThreadLocalRandom.current());
+    }
+
+    /**
+     * An id created at the given time whose random bits come from the given
+     * generator, so a seeded generator yields the same ids on every run.
+     */
+    public static String next(long epochMillis, RandomGenerator random) {
+        long mostSignificantBits = epochMillis << 16 | 0x7000L | random.nextLong() & 0x0FFFL;
+        long leastSignificantBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    /**
+     * The creation time of an id made by {@link #next()}, or {@code -1} for
+     * any other id.
+     */
+    public static long createdAt(String id) {
+        if (id == null || id.length() != UUID_LENGTH || id.charAt(VERSION_POSITION) != '7') {
+            return -1;
+        }
+        try {
+            return UUID.fromString(id).getMostSignificantBits() >>> 16;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.testing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted for every local cache lookup, so it is disabled unless a recording
+ * asks for it (the "profile" recordings started by the endpoint do).
+ */
+@Name("com.example.testing.CacheAccess")
+@Label("Cache Access")
+@Description("A lookup in a local cache")
+@Category({"Catalog", "Cache"})
+@Enabled(false)
+public class CacheAccessEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,22 @@
+package com.example.testing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.testing.ControllerInvocation")
+@Label("Controller Invocation")
+@Description("A call to a REST controller method")
+@Category({"Catalog", "Web"})
+public class ControllerInvocationEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Id")
+    public String id;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,97 @@
+package com.example.testing.jfr;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Starts ({@code POST}), stops ({@code POST /{id}}), downloads ({@code GET /{id}})
+ * and discards ({@code DELETE /{id}}) flight recordings. Access is restricted by
+ * the internal endpoint token filter.
+ */
+@Component
+@WebEndpoint(id = "flightrecorder")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecordings flightRecordings;
+
+    @ReadOperation
+    public List<RecordingInfo> recordings() {
+        return flightRecordings.recordings();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> start(@Nullable String profile) {
+        String recordingProfile = profile == null ? "default" : profile;
+        if (!FlightRecordings.PROFILES.contains(recordingProfile)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>(flightRecordings.start(recordingProfile));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<RecordingInfo> stop(@Selector long id) {
+        RecordingInfo recordingInfo = flightRecordings.stop(id);
+        return recordingInfo == null
+                ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                : new WebEndpointResponse<>(recordingInfo);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id) {
+        Path file = flightRecordings.dump(id);
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> close(@Selector long id) {
+        return new WebEndpointResponse<>(flightRecordings.close(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT
+                : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path file;
+
+        TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        @NonNull
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.testing.jfr;
+
+import com.example.testing.config.FlightRecorderProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts, stops and dumps flight recordings made with one of the JDK's
+ * configurations ("default" for continuous use, "profile" for short sessions),
+ * and optionally keeps a continuous recording running from startup.
+ */
+@Log4j2
+@Component
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class FlightRecordings {
+
+    public static final Set<String> PROFILES = Set.of("default", "profile");
+
+    private final FlightRecorderProperties flightRecorderProperties;
+    private final Map<Long, ManagedRecording> recordings = new ConcurrentHashMap<>();
+
+    public FlightRecordings(FlightRecorderProperties flightRecorderProperties) {
+        this.flightRecorderProperties = flightRecorderProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startContinuousRecording() {
+        if (!flightRecorderProperties.continuous()) {
+            return;
+        }
+        Recording recording = newRecording("continuous", "default");
+        recording.setToDisk(true);
+        recording.setMaxAge(flightRecorderProperties.continuousMaxAge());
+        recording.setMaxSize(flightRecorderProperties.continuousMaxSize().toBytes());
+        recording.start();
+        recordings.put(recording.getId(), new ManagedRecording(recording, "default"));
+        log.info("Continuous flight recording {} started", recording.getId());
+    }
+
+    public RecordingInfo start(String profile) {
+        Recording recording = newRecording("on-demand-" + profile, profile);
+        recording.setToDisk(true);
+        recording.setDuration(flightRecorderProperties.maxDuration());
+        if ("profile".equals(profile)) {
+            recording.enable(CacheAccessEvent.class);
+        }
+        recording.start();
+        ManagedRecording managedRecording = new ManagedRecording(recording, profile);
+        recordings.put(recording.getId(), managedRecording);
+        return managedRecording.info();
+    }
+
+    public RecordingInfo stop(long id) {
+        ManagedRecording managedRecording = recordings.get(id);
+        if (managedRecording == null) {
+            return null;
+        }
+        if (managedRecording.recording().getState() == RecordingState.RUNNING) {
+            managedRecording.recording().stop();
+        }
+        return managedRecording.info();
+    }
+
+    /**
+     * Writes the recording to a temporary file. A running recording is dumped
+     * as it is so far and keeps running.
+     */
+    public Path dump(long id) {
+        ManagedRecording managedRecording = recordings.get(id);
+        if (managedRecording == null) {
+            return null;
+        }
+        try {
+            Path file = Files.createTempFile("recording-" + id + "-", ".jfr");
+            managedRecording.recording().dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean close(long id) {
+        ManagedRecording managedRecording = recordings.remove(id);
+        if (managedRecording == null) {
+            return false;
+        }
+        managedRecording.recording().close();
+        return true;
+    }
+
+    public List<RecordingInfo> recordings() {
+        return recordings.values().stream()
+                .map(ManagedRecording::info)
+                .toList();
+    }
+
+    private static Recording newRecording(String name, String profile) {
+        if (!PROFILES.contains(profile)) {
+            throw new IllegalArgumentException("Unknown recording profile: " + profile);
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration(profile));
+            recording.setName(name);
+            return recording;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Cannot load recording profile " + profile, e);
+        }
+    }
+
+    private record ManagedRecording(Recording recording, String profile) {
+
+        RecordingInfo info() {
+            return new RecordingInfo(recording.getId(), recording.getName(), profile,
+                    recording.getState().name(), recording.getStartTime(), recording.getSize());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.testing.jfr;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that reports the time spent writing each response body and
+ * its size as a {@link SerializationEvent}. Spring Boot backs off its own
+ * converter when this bean is present.
+ */
+@Component
+public class InstrumentedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public InstrumentedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        event.begin();
+        super.writeInternal(object, type, new HttpOutputMessage() {
+            @Override
+            @NonNull
+            public OutputStream getBody() {
+                return body;
+            }
+
+            @Override
+            @NonNull
+            public HttpHeaders getHeaders() {
+                return outputMessage.getHeaders();
+            }
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = object.getClass().getSimpleName();
+            event.bytes = body.count;
+            event.commit();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.testing.jfr;
+
+import java.time.Instant;
+
+public record RecordingInfo(long id, String name, String profile, String state, Instant startTime, long size) {
+}
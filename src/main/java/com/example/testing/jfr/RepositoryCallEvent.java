@@ -0,0 +1,25 @@
+package com.example.testing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.testing.RepositoryCall")
+@Label("Repository Call")
+@Description("A call to a Spring Data repository method")
+@Category({"Catalog", "Persistence"})
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Failed")
+    public boolean failed;
+}
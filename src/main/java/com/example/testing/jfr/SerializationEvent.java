@@ -0,0 +1,21 @@
+package com.example.testing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.example.testing.Serialization")
+@Label("Response Serialization")
+@Description("Writing a response body as JSON")
+@Category({"Catalog", "Web"})
+public class SerializationEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+}
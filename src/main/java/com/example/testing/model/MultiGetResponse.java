@@ -0,0 +1,34 @@
+package com.example.testing.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiGetResponse<T> {
+
+    private List<T> items;
+
+    private List<String> missingIds;
+
+    public static <T> MultiGetResponse<T> of(List<String> requestedIds, Map<String, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(requestedIds)) {
+            T item = found.get(id);
+            if (item == null) {
+                missingIds.add(id);
+            } else {
+                items.add(item);
+            }
+        }
+        return new MultiGetResponse<>(items, missingIds);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.testing.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductDetail {
+
+    public static final String RELATED_PRODUCTS = "relatedProducts";
+
+    private Product product;
+
+    private Category category;
+
+    private List<Product> relatedProducts;
+
+    /**
+     * Optional parts left out because they failed or missed their deadline.
+     */
+    private List<String> degradedParts;
+}
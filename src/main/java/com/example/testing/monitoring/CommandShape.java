@@ -0,0 +1,80 @@
+package com.example.testing.monitoring;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reduces a Mongo command to its shape: field names and operators are kept,
+ * values are replaced by a placeholder. Sort, projection and paging options are
+ * kept as they are, so the shape can still be explained. Write payloads are not
+ * walked: inserted documents are only counted and of the update and delete
+ * statements only the first is reduced. The shape never shares a buffer with
+ * the command, so it outlives the event it was taken from.
+ */
+final class CommandShape {
+
+    static final BsonString PLACEHOLDER = new BsonString("?");
+
+    private static final Set<String> DROPPED_FIELDS = Set.of("lsid", "txnNumber", "apiVersion", "apiStrict", "apiDeprecationErrors");
+    private static final Set<String> STATEMENT_FIELDS = Set.of("updates", "deletes");
+    private static final Set<String> VERBATIM_FIELDS = Set.of("sort", "projection", "hint", "$sort", "$project", "$limit", "$skip");
+
+    private CommandShape() {
+    }
+
+    static BsonDocument redact(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        for (String field : command.keySet()) {
+            if (field.startsWith("$") || DROPPED_FIELDS.contains(field)) {
+                continue;
+            }
+            BsonValue value = command.get(field);
+            if ("documents".equals(field) && value.isArray()) {
+                shape.put(field, new BsonString(value.asArray().size() + " documents"));
+            } else if (STATEMENT_FIELDS.contains(field) && value.isArray()) {
+                BsonArray statements = value.asArray();
+                shape.put(field, statements.isEmpty() ? new BsonArray() : new BsonArray(List.of(redactValue(field, statements.get(0)))));
+            } else if (value.isDocument() || value.isArray()) {
+                shape.put(field, redactValue(field, value));
+            } else {
+                shape.put(field, value);
+            }
+        }
+        return shape;
+    }
+
+    static String collection(String commandName, BsonDocument command) {
+        BsonValue collection = command.get("getMore".equals(commandName) ? "collection" : commandName);
+        return collection != null && collection.isString() ? collection.asString().getValue() : null;
+    }
+
+    private static BsonValue redactValue(String field, BsonValue value) {
+        if (VERBATIM_FIELDS.contains(field)) {
+            return value.isDocument() ? value.asDocument().clone() : value.isArray() ? value.asArray().clone() : value;
+        }
+        if (value.isDocument()) {
+            BsonDocument document = value.asDocument();
+            BsonDocument redacted = new BsonDocument();
+            for (String key : document.keySet()) {
+                redacted.put(key, redactValue(key, document.get(key)));
+            }
+            return redacted;
+        }
+        if (value.isArray()) {
+            BsonArray redacted = new BsonArray();
+            for (BsonValue element : value.asArray()) {
+                BsonValue redactedElement = redactValue(field, element);
+                if (!redacted.contains(redactedElement)) {
+                    redacted.add(redactedElement);
+                }
+            }
+            return redacted;
+        }
+        return PLACEHOLDER;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.testing.monitoring;
+
+import java.util.List;
+
+public record ExplainedSlowCommand(SlowCommand command, List<String> winningPlanStages, boolean collectionScan, String explainError) {
+}
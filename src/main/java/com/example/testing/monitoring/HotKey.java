@@ -0,0 +1,4 @@
+package com.example.testing.monitoring;
+
+public record HotKey(String key, long estimatedCount) {
+}
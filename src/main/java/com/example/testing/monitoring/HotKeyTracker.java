@@ -0,0 +1,80 @@
+package com.example.testing.monitoring;
+
+import com.example.testing.config.HotKeyProperties;
+import com.example.testing.sketch.CountMinSketch;
+import com.example.testing.sketch.TopK;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks request frequencies per scope (the endpoint name, or {@link #ENDPOINTS}
+ * for the endpoints themselves) with a count-min sketch and a top-K candidate
+ * list, both halved periodically so the ranking follows current traffic.
+ * {@link #PRODUCT_READS} counts every product id read through the service,
+ * whichever endpoint asked for it.
+ */
+@Component
+@EnableConfigurationProperties(HotKeyProperties.class)
+public class HotKeyTracker {
+
+    public static final String ENDPOINTS = "endpoints";
+    public static final String PRODUCT_LOOKUP = "ProductController.findById";
+    public static final String CATEGORY_LOOKUP = "CategoryController.findById";
+    public static final String CATEGORY_LIST = "CategoryController.findAll";
+    public static final String PRODUCT_READS = "ProductService.reads";
+
+    private final HotKeyProperties hotKeyProperties;
+    private final Map<String, Frequencies> frequencies = new ConcurrentHashMap<>();
+
+    public HotKeyTracker(HotKeyProperties hotKeyProperties) {
+        this.hotKeyProperties = hotKeyProperties;
+    }
+
+    public void record(String scope, String key) {
+        Frequencies scopeFrequencies = frequencies.get(scope);
+        if (scopeFrequencies == null) {
+            scopeFrequencies = frequencies.computeIfAbsent(scope, s -> new Frequencies(
+                    new CountMinSketch(hotKeyProperties.sketchWidth(), hotKeyProperties.sketchDepth()),
+                    new TopK(hotKeyProperties.topK())));
+        }
+        scopeFrequencies.topK().offer(key, scopeFrequencies.sketch().increment(key));
+    }
+
+    public long estimate(String scope, String key) {
+        Frequencies scopeFrequencies = frequencies.get(scope);
+        return scopeFrequencies == null ? 0 : scopeFrequencies.sketch().estimate(key);
+    }
+
+    public List<HotKey> topKeys(String scope) {
+        Frequencies scopeFrequencies = frequencies.get(scope);
+        if (scopeFrequencies == null) {
+            return List.of();
+        }
+        return scopeFrequencies.topK().snapshot().stream()
+                .map(entry -> new HotKey(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public Map<String, List<HotKey>> topKeys() {
+        Map<String, List<HotKey>> topKeys = new TreeMap<>();
+        frequencies.keySet().forEach(scope -> topKeys.put(scope, topKeys(scope)));
+        return topKeys;
+    }
+
+    @Scheduled(fixedDelayString = "${app.hot-keys.decay-interval:PT1M}")
+    public void decay() {
+        frequencies.values().forEach(scopeFrequencies -> {
+            scopeFrequencies.sketch().halve();
+            scopeFrequencies.topK().halve();
+        });
+    }
+
+    private record Frequencies(CountMinSketch sketch, TopK topK) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.testing.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "hotkeys")
+@RequiredArgsConstructor
+public class HotKeysEndpoint {
+
+    private final HotKeyTracker hotKeyTracker;
+
+    @ReadOperation
+    public Map<String, List<HotKey>> hotKeys() {
+        return hotKeyTracker.topKeys();
+    }
+
+    @ReadOperation
+    public List<HotKey> hotKeys(@Selector String scope) {
+        return hotKeyTracker.topKeys(scope);
+    }
+}
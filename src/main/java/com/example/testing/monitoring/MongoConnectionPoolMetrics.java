@@ -0,0 +1,44 @@
+package com.example.testing.monitoring;
+
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long requests wait to check a connection out of the pool.
+ * Pool size, in-use connections and wait queue length are already published
+ * as mongodb.driver.pool.* by the listener Spring Boot auto-configures.
+ */
+public class MongoConnectionPoolMetrics implements ConnectionPoolListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public MongoConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        checkoutTimer(event.getConnectionId().getServerId().getAddress().toString(), "success")
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutTimer(event.getServerId().getAddress().toString(), event.getReason().name().toLowerCase())
+                .record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    private Timer checkoutTimer(String server, String outcome) {
+        return Timer.builder("mongodb.pool.checkout.wait")
+                .description("Time spent waiting to check a connection out of the pool")
+                .tag("server", server)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.testing.monitoring;
+
+import java.time.Instant;
+
+public record SlowCommand(
+        long id,
+        Instant completedAt,
+        String database,
+        String collection,
+        String commandName,
+        String command,
+        long durationMillis,
+        boolean failed,
+        String endpoint) {
+}
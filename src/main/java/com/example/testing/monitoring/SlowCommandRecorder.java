@@ -0,0 +1,123 @@
+package com.example.testing.monitoring;
+
+import com.example.testing.config.SlowCommandProperties;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.apache.logging.log4j.ThreadContext;
+import org.bson.BsonDocument;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent Mongo commands slower than the configured threshold in a
+ * fixed-size ring. The sync driver reports start and completion of a command on
+ * the calling thread, so the pending command is held in a thread local together
+ * with the controller method that {@code AppLogger} put in the thread context.
+ */
+@Component
+@EnableConfigurationProperties(SlowCommandProperties.class)
+public class SlowCommandRecorder implements CommandListener {
+
+    public static final String ENDPOINT_CONTEXT_KEY = "endpoint";
+
+    private static final Set<String> RECORDED_COMMANDS = Set.of(
+            "find", "aggregate", "count", "distinct", "getMore", "insert", "update", "delete", "findAndModify");
+
+    private final SlowCommandProperties slowCommandProperties;
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowCommand> ring;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadLocal<PendingCommand> pendingCommand = new ThreadLocal<>();
+
+    public SlowCommandRecorder(SlowCommandProperties slowCommandProperties) {
+        this.slowCommandProperties = slowCommandProperties;
+        this.thresholdNanos = slowCommandProperties.threshold().toNanos();
+        this.ring = new AtomicReferenceArray<>(slowCommandProperties.capacity());
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (!slowCommandProperties.enabled() || !RECORDED_COMMANDS.contains(event.getCommandName())) {
+            return;
+        }
+        // The driver releases the buffer behind the command document once the command is sent, so
+        // everything needed later is taken now. The shape skips write payloads and is only
+        // serialised for commands that turn out to be slow.
+        BsonDocument command = event.getCommand();
+        pendingCommand.set(new PendingCommand(
+                event.getRequestId(),
+                event.getDatabaseName(),
+                event.getCommandName(),
+                CommandShape.collection(event.getCommandName(), command),
+                CommandShape.redact(command),
+                ThreadContext.get(ENDPOINT_CONTEXT_KEY)));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        complete(event.getRequestId(), event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+    }
+
+    public List<SlowCommand> slowCommands() {
+        List<SlowCommand> slowCommands = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            SlowCommand slowCommand = ring.get(i);
+            if (slowCommand != null) {
+                slowCommands.add(slowCommand);
+            }
+        }
+        slowCommands.sort(Comparator.comparingLong(SlowCommand::id).reversed());
+        return slowCommands;
+    }
+
+    public SlowCommand slowCommand(long id) {
+        SlowCommand slowCommand = ring.get(slot(id));
+        return slowCommand != null && slowCommand.id() == id ? slowCommand : null;
+    }
+
+    private void complete(int requestId, long elapsedNanos, boolean failed) {
+        PendingCommand pending = pendingCommand.get();
+        if (pending == null || pending.requestId() != requestId) {
+            return;
+        }
+        pendingCommand.remove();
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+        long id = sequence.incrementAndGet();
+        ring.set(slot(id), new SlowCommand(
+                id,
+                Instant.now(),
+                pending.database(),
+                pending.collection(),
+                pending.commandName(),
+                pending.shape().toJson(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                failed,
+                pending.endpoint()));
+    }
+
+    private int slot(long id) {
+        return (int) Math.floorMod(id, (long) ring.length());
+    }
+
+    private record PendingCommand(int requestId, String database, String commandName, String collection,
+                                  BsonDocument shape, String endpoint) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.testing.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lists recorded slow commands and, for a single command, runs {@code explain}
+ * on its redacted shape to show whether the winning plan scans the collection.
+ */
+@Component
+@Profile("!inmemory")
+@Endpoint(id = "slowcommands")
+@RequiredArgsConstructor
+public class SlowCommandsEndpoint {
+
+    private static final Set<String> EXPLAINABLE_COMMANDS = Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+
+    private final SlowCommandRecorder slowCommandRecorder;
+    private final MongoTemplate mongoTemplate;
+
+    @ReadOperation
+    public List<SlowCommand> slowCommands() {
+        return slowCommandRecorder.slowCommands();
+    }
+
+    @ReadOperation
+    public ExplainedSlowCommand slowCommand(@Selector long id) {
+        SlowCommand slowCommand = slowCommandRecorder.slowCommand(id);
+        if (slowCommand == null) {
+            return null;
+        }
+        if (!EXPLAINABLE_COMMANDS.contains(slowCommand.commandName())) {
+            return new ExplainedSlowCommand(slowCommand, List.of(), false, slowCommand.commandName() + " cannot be explained");
+        }
+        try {
+            BsonDocument explain = new BsonDocument("explain", BsonDocument.parse(slowCommand.command()))
+                    .append("verbosity", new BsonString("queryPlanner"));
+            Document result = mongoTemplate.getMongoDatabaseFactory()
+                    .getMongoDatabase(slowCommand.database())
+                    .runCommand(explain);
+            List<String> stages = new ArrayList<>();
+            collectWinningPlanStages(result, false, stages);
+            return new ExplainedSlowCommand(slowCommand, stages, stages.contains("COLLSCAN"), null);
+        } catch (RuntimeException e) {
+            return new ExplainedSlowCommand(slowCommand, List.of(), false, e.getMessage());
+        }
+    }
+
+    private static void collectWinningPlanStages(Object node, boolean inWinningPlan, List<String> stages) {
+        if (node instanceof Map<?, ?> document) {
+            document.forEach((key, value) -> {
+                if (inWinningPlan && "stage".equals(key) && value instanceof String stage) {
+                    stages.add(stage);
+                } else {
+                    collectWinningPlanStages(value, inWinningPlan || "winningPlan".equals(key), stages);
+                }
+            });
+        } else if (node instanceof List<?> list) {
+            list.forEach(element -> collectWinningPlanStages(element, inWinningPlan, stages));
+        }
+    }
+}
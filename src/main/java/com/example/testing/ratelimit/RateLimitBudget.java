@@ -0,0 +1,7 @@
+package com.example.testing.ratelimit;
+
+public enum RateLimitBudget {
+    READ,
+    WRITE,
+    BULK
+}
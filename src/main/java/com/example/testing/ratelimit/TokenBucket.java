@@ -0,0 +1,54 @@
+package com.example.testing.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket implemented as a generic cell rate algorithm: the whole state is
+ * the theoretical arrival time of the next request, updated with a single CAS.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Tries to take one token. A non-negative result is the number of tokens left,
+     * a negative result is the number of nanoseconds until a token is available.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long backlog = next - nowNanos;
+            if (backlog > burstToleranceNanos) {
+                return -(backlog - burstToleranceNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return (burstToleranceNanos - backlog) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Nanoseconds until the bucket is full again.
+     */
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrivalNanos.get() - nowNanos);
+    }
+}
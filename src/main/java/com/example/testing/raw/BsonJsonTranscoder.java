@@ -0,0 +1,265 @@
+package com.example.testing.raw;
+
+import com.example.testing.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.bson.RawBsonDocument;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes stored BSON documents as JSON by walking their bytes, without
+ * decoding them into maps or domain objects first. Top-level fields are
+ * renamed and projected on the way through; fields of nested documents are
+ * copied as they are. Strings are handed to the generator as the UTF-8 bytes
+ * they are stored as.
+ */
+public final class BsonJsonTranscoder {
+
+    /**
+     * The JSON layout of {@link com.example.testing.model.Product}, with the
+     * price stored as a string written back as a number.
+     */
+    public static final BsonJsonTranscoder PRODUCT = new BsonJsonTranscoder(List.of(
+            new Field("_id", "id", false),
+            new Field("name", "name", false),
+            new Field("description", "description", false),
+            new Field("price", "price", true),
+            new Field("stock", "stock", false),
+            new Field("categoryId", "categoryId", false)));
+
+    private static final byte DOUBLE = 0x01;
+    private static final byte STRING = 0x02;
+    private static final byte DOCUMENT = 0x03;
+    private static final byte ARRAY = 0x04;
+    private static final byte BINARY = 0x05;
+    private static final byte OBJECT_ID = 0x07;
+    private static final byte BOOLEAN = 0x08;
+    private static final byte DATE_TIME = 0x09;
+    private static final byte NULL = 0x0A;
+    private static final byte INT32 = 0x10;
+    private static final byte TIMESTAMP = 0x11;
+    private static final byte INT64 = 0x12;
+    private static final byte DECIMAL128 = 0x13;
+
+    private final Field[] fields;
+
+    private BsonJsonTranscoder(List<Field> fields) {
+        this.fields = fields.toArray(Field[]::new);
+    }
+
+    /**
+     * Narrows the layout to the given JSON field names, keeping the stored
+     * order.
+     */
+    public BsonJsonTranscoder project(Collection<String> jsonNames) {
+        List<Field> projected = new ArrayList<>();
+        for (String jsonName : jsonNames) {
+            if (Arrays.stream(fields).noneMatch(field -> field.jsonName.getValue().equals(jsonName))) {
+                throw new InvalidRequestException("Unknown field: " + jsonName);
+            }
+        }
+        for (Field field : fields) {
+            if (jsonNames.contains(field.jsonName.getValue())) {
+                projected.add(field);
+            }
+        }
+        return new BsonJsonTranscoder(projected);
+    }
+
+    /**
+     * The stored names of the fields this layout writes, for a server-side
+     * projection.
+     */
+    public List<String> storedFieldNames() {
+        return Arrays.stream(fields).map(field -> new String(field.storedName, StandardCharsets.UTF_8)).toList();
+    }
+
+    /**
+     * Writes one document. The generator has to write UTF-8 to a byte stream,
+     * since strings are passed to it as stored bytes.
+     */
+    public void write(RawBsonDocument document, JsonGenerator generator) throws IOException {
+        ByteBuffer buffer = document.getByteBuffer().asNIO();
+        byte[] bytes;
+        int start;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            start = buffer.arrayOffset() + buffer.position();
+        } else {
+            bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            start = 0;
+        }
+        generator.writeStartObject();
+        int position = start + 4;
+        while (bytes[position] != 0) {
+            byte type = bytes[position++];
+            int nameStart = position;
+            while (bytes[position] != 0) {
+                position++;
+            }
+            Field field = field(bytes, nameStart, position++);
+            if (field == null) {
+                position = skip(bytes, position, type);
+            } else {
+                generator.writeFieldName(field.jsonName);
+                position = field.numeric && type == STRING
+                        ? writeNumericString(bytes, position, generator)
+                        : writeValue(bytes, position, type, generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private Field field(byte[] bytes, int nameStart, int nameEnd) {
+        for (Field field : fields) {
+            if (Arrays.equals(field.storedName, 0, field.storedName.length, bytes, nameStart, nameEnd)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static int writeValue(byte[] bytes, int position, byte type, JsonGenerator generator) throws IOException {
+        switch (type) {
+            case DOUBLE -> {
+                generator.writeNumber(Double.longBitsToDouble(readLong(bytes, position)));
+                return position + 8;
+            }
+            case STRING -> {
+                int length = readInt(bytes, position);
+                generator.writeUTF8String(bytes, position + 4, length - 1);
+                return position + 4 + length;
+            }
+            case DOCUMENT, ARRAY -> {
+                return writeNested(bytes, position, type == ARRAY, generator);
+            }
+            case OBJECT_ID -> {
+                generator.writeString(new ObjectId(ByteBuffer.wrap(bytes, position, 12)).toHexString());
+                return position + 12;
+            }
+            case BOOLEAN -> {
+                generator.writeBoolean(bytes[position] != 0);
+                return position + 1;
+            }
+            case DATE_TIME -> {
+                generator.writeString(Instant.ofEpochMilli(readLong(bytes, position)).toString());
+                return position + 8;
+            }
+            case NULL -> {
+                generator.writeNull();
+                return position;
+            }
+            case INT32 -> {
+                generator.writeNumber(readInt(bytes, position));
+                return position + 4;
+            }
+            case INT64 -> {
+                generator.writeNumber(readLong(bytes, position));
+                return position + 8;
+            }
+            case DECIMAL128 -> {
+                Decimal128 value = Decimal128.fromIEEE754BIDEncoding(readLong(bytes, position + 8), readLong(bytes, position));
+                generator.writeNumber(value.bigDecimalValue());
+                return position + 16;
+            }
+            default -> throw new IllegalStateException("Unsupported BSON type 0x" + Integer.toHexString(type));
+        }
+    }
+
+    private static int writeNested(byte[] bytes, int position, boolean array, JsonGenerator generator) throws IOException {
+        int end = position + readInt(bytes, position);
+        if (array) {
+            generator.writeStartArray();
+        } else {
+            generator.writeStartObject();
+        }
+        position += 4;
+        while (bytes[position] != 0) {
+            byte type = bytes[position++];
+            int nameStart = position;
+            while (bytes[position] != 0) {
+                position++;
+            }
+            if (!array) {
+                generator.writeFieldName(new String(bytes, nameStart, position - nameStart, StandardCharsets.UTF_8));
+            }
+            position = writeValue(bytes, position + 1, type, generator);
+        }
+        if (array) {
+            generator.writeEndArray();
+        } else {
+            generator.writeEndObject();
+        }
+        return end;
+    }
+
+    /**
+     * Writes a decimal kept as a string as a JSON number, falling back to a
+     * string if it does not look like one.
+     */
+    private static int writeNumericString(byte[] bytes, int position, JsonGenerator generator) throws IOException {
+        int length = readInt(bytes, position) - 1;
+        int start = position + 4;
+        char[] digits = new char[length];
+        for (int i = 0; i < length; i++) {
+            byte b = bytes[start + i];
+            if (!(b >= '0' && b <= '9' || b == '.' || b == '-' || b == '+' || b == 'E' || b == 'e')) {
+                generator.writeUTF8String(bytes, start, length);
+                return start + length + 1;
+            }
+            digits[i] = (char) b;
+        }
+        generator.writeNumber(digits, 0, length);
+        return start + length + 1;
+    }
+
+    private static int skip(byte[] bytes, int position, byte type) {
+        return switch (type) {
+            case DOUBLE, DATE_TIME, INT64, TIMESTAMP -> position + 8;
+            case STRING -> position + 4 + readInt(bytes, position);
+            case DOCUMENT, ARRAY -> position + readInt(bytes, position);
+            case BINARY -> position + 5 + readInt(bytes, position);
+            case OBJECT_ID -> position + 12;
+            case BOOLEAN -> position + 1;
+            case NULL -> position;
+            case INT32 -> position + 4;
+            case DECIMAL128 -> position + 16;
+            default -> throw new IllegalStateException("Unsupported BSON type 0x" + Integer.toHexString(type));
+        };
+    }
+
+    private static int readInt(byte[] bytes, int position) {
+        return (bytes[position] & 0xFF)
+                | (bytes[position + 1] & 0xFF) << 8
+                | (bytes[position + 2] & 0xFF) << 16
+                | (bytes[position + 3] & 0xFF) << 24;
+    }
+
+    private static long readLong(byte[] bytes, int position) {
+        return (readInt(bytes, position) & 0xFFFFFFFFL) | (long) readInt(bytes, position + 4) << 32;
+    }
+
+    private static final class Field {
+
+        private final byte[] storedName;
+        private final SerializedString jsonName;
+        private final boolean numeric;
+
+        Field(String storedName, String jsonName, boolean numeric) {
+            this.storedName = storedName.getBytes(StandardCharsets.UTF_8);
+            this.jsonName = new SerializedString(jsonName);
+            this.numeric = numeric;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.testing.raw;
+
+import com.example.testing.config.RawReadProperties;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductRepositoryCustomImpl;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.RawBsonDocument;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reads products as undecoded BSON, projected on the server to the fields
+ * the caller is going to write. The collection is looked up on every read so
+ * that it follows the client across a checkpoint and restore.
+ */
+@Component
+@Profile("!inmemory")
+@ConditionalOnProperty(prefix = "app.raw-read", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RawReadProperties.class)
+public class RawProductReader {
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final RawReadProperties rawReadProperties;
+
+    public RawProductReader(MongoTemplate mongoTemplate, RawReadProperties rawReadProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = mongoTemplate.getCollectionName(Product.class);
+        this.rawReadProperties = rawReadProperties;
+    }
+
+    public RawBsonDocument findById(String id, List<String> fields) {
+        return collection().find(Filters.eq("_id", id))
+                .projection(Projections.include(fields))
+                .first();
+    }
+
+    public MongoCursor<RawBsonDocument> findByCategoryId(String categoryId, Pageable pageable, List<String> fields) {
+        FindIterable<RawBsonDocument> products = collection().find(Filters.eq("categoryId", categoryId))
+                .projection(Projections.include(fields))
+                .sort(ProductRepositoryCustomImpl.sort(pageable.getSort()));
+        if (pageable.isPaged()) {
+            products.skip((int) pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return products.cursor();
+    }
+
+    public MongoCursor<RawBsonDocument> findAll(List<String> fields) {
+        return collection().find()
+                .projection(Projections.include(fields))
+                .batchSize(rawReadProperties.exportBatchSize())
+                .cursor();
+    }
+
+    private MongoCollection<RawBsonDocument> collection() {
+        return mongoTemplate.getDb().getCollection(collectionName, RawBsonDocument.class);
+    }
+}
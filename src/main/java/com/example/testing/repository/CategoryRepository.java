@@ -2,9 +2,16 @@ package com.example.testing.repository;
 
 import com.example.testing.model.Category;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
-public interface CategoryRepository extends MongoRepository<Category, String> {
+public interface CategoryRepository extends MongoRepository<Category, String>, CategoryRepositoryCustom {
 
+    @ReadPreference("primary")
+    @Query(value = "{}", fields = "{ '_id' : 1 }")
+    Stream<Category> streamAllIds();
 }
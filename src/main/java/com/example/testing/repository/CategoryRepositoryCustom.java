@@ -0,0 +1,37 @@
+package com.example.testing.repository;
+
+import com.example.testing.model.Category;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Category reads on the request path. The Mongo implementation decodes
+ * documents with {@link com.example.testing.codec.CategoryCodec} instead of the
+ * mapping converter.
+ */
+public interface CategoryRepositoryCustom {
+
+    /**
+     * May read from a lagging secondary; a miss is confirmed with
+     * {@link #findPrimaryById(String)}.
+     */
+    Optional<Category> findById(String id);
+
+    /**
+     * May read from a lagging secondary; misses are confirmed with
+     * {@link #findPrimaryByIdIn(Collection)}.
+     */
+    List<Category> findAllById(Iterable<String> ids);
+
+    /**
+     * Reads from the primary, for ids a secondary does not have yet.
+     */
+    Optional<Category> findPrimaryById(String id);
+
+    /**
+     * Reads from the primary, for ids a secondary does not have yet.
+     */
+    List<Category> findPrimaryByIdIn(Collection<String> ids);
+}
@@ -0,0 +1,35 @@
+package com.example.testing.repository;
+
+import com.example.testing.model.Category;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class CategoryRepositoryCustomImpl extends CodecRepositoryFragment<Category> implements CategoryRepositoryCustom {
+
+    public CategoryRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, Category.class);
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        return findOne(secondaryCollection(), id);
+    }
+
+    @Override
+    public List<Category> findAllById(Iterable<String> ids) {
+        return findMany(secondaryCollection(), ids);
+    }
+
+    @Override
+    public Optional<Category> findPrimaryById(String id) {
+        return findOne(primaryCollection(), id);
+    }
+
+    @Override
+    public List<Category> findPrimaryByIdIn(Collection<String> ids) {
+        return findMany(primaryCollection(), ids);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.testing.repository;
+
+import com.example.testing.codec.CatalogCodecs;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Lookups by id that go straight to the driver with the catalog codecs. Driver
+ * exceptions are translated the way {@link MongoTemplate} translates them, so
+ * callers see the same {@link DataAccessException}s as from the rest of the
+ * repository. Collections are looked up on every call so that they follow the
+ * client across a checkpoint and restore. Lookups by id may read from a
+ * secondary, since their callers confirm a miss on the primary; everything
+ * else reads with the client's read preference.
+ */
+abstract class CodecRepositoryFragment<T> {
+
+    private final MongoTemplate mongoTemplate;
+    private final Class<T> type;
+    private final String collectionName;
+    private volatile Registries registries;
+
+    protected CodecRepositoryFragment(MongoTemplate mongoTemplate, Class<T> type) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+        this.collectionName = mongoTemplate.getCollectionName(type);
+    }
+
+    protected MongoCollection<T> collection() {
+        MongoDatabase database = mongoTemplate.getDb();
+        return database.getCollection(collectionName, type).withCodecRegistry(registry(database.getCodecRegistry()));
+    }
+
+    protected MongoCollection<T> secondaryCollection() {
+        return collection().withReadPreference(ReadPreference.secondaryPreferred());
+    }
+
+    protected MongoCollection<T> primaryCollection() {
+        return collection().withReadPreference(ReadPreference.primary());
+    }
+
+    protected Optional<T> findOne(MongoCollection<T> source, String id) {
+        return execute(() -> Optional.ofNullable(source.find(Filters.eq("_id", CatalogCodecs.storedId(id))).first()));
+    }
+
+    protected List<T> findMany(MongoCollection<T> source, Iterable<String> ids) {
+        List<Object> storedIds = new ArrayList<>();
+        ids.forEach(id -> storedIds.add(CatalogCodecs.storedId(id)));
+        if (storedIds.isEmpty()) {
+            return List.of();
+        }
+        return execute(() -> source.find(Filters.in("_id", storedIds)).into(new ArrayList<>(storedIds.size())));
+    }
+
+    /**
+     * The catalog codecs on top of the client's registry. The combined registry
+     * caches the codecs it resolves, so it is only rebuilt when the client's
+     * registry changes.
+     */
+    private CodecRegistry registry(CodecRegistry clientRegistry) {
+        Registries current = registries;
+        if (current == null || current.client() != clientRegistry) {
+            current = new Registries(clientRegistry, CatalogCodecs.withCatalogCodecs(clientRegistry));
+            registries = current;
+        }
+        return current.catalog();
+    }
+
+    protected <R> R execute(Supplier<R> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            DataAccessException translated = mongoTemplate.getExceptionTranslator().translateExceptionIfPossible(e);
+            throw translated == null ? e : translated;
+        }
+    }
+
+    private record Registries(CodecRegistry client, CodecRegistry catalog) {
+    }
+}
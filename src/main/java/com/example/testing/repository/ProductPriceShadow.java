@@ -0,0 +1,72 @@
+package com.example.testing.repository;
+
+import com.example.testing.model.Product;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveCallback;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Keeps an indexed Decimal128 copy of the price next to the string Spring
+ * Data stores it as, so price ranges and price sorts compare numbers and can
+ * use an index. Documents saved before the field existed are backfilled once
+ * the application is ready.
+ */
+@Component
+@Profile("!inmemory")
+@Log4j2
+public class ProductPriceShadow implements BeforeSaveCallback<Product> {
+
+    public static final String FIELD = "priceValue";
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    public ProductPriceShadow(ObjectProvider<MongoTemplate> mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public static Decimal128 value(BigDecimal price) {
+        return price == null ? null : new Decimal128(price);
+    }
+
+    @Override
+    public Product onBeforeSave(Product product, Document document, String collection) {
+        if (product.getPrice() == null) {
+            document.remove(FIELD);
+        } else {
+            document.put(FIELD, value(product.getPrice()));
+        }
+        return product;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepare() {
+        MongoTemplate template = mongoTemplate.getObject();
+        try {
+            template.indexOps(Product.class).ensureIndex(new Index().on(FIELD, Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+            long backfilled = template.updateMulti(
+                    Query.query(Criteria.where(FIELD).exists(false).and("price").exists(true)),
+                    AggregationUpdate.update().set(FIELD).toValue(ConvertOperators.ToDecimal.toDecimal("$price")),
+                    Product.class).getModifiedCount();
+            if (backfilled > 0) {
+                log.info("Backfilled {} for {} products", FIELD, backfilled);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to prepare the {} index, price ranges may scan the collection: {}", FIELD, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,29 @@
 package com.example.testing.repository;
 
 import com.example.testing.model.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReadPreference;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface ProductRepository extends MongoRepository<Product, String> {
+public interface ProductRepository extends MongoRepository<Product, String>, ProductRepositoryCustom {
+
+    List<Product> findByNameStartingWith(String namePrefix, Pageable pageable);
+
+    @ReadPreference("primary")
+    @Query(value = "{}", fields = "{ '_id' : 1 }")
+    Stream<Product> streamAllIds();
+
+    @ReadPreference("primary")
+    @Query(value = "{}", fields = "{ '_id' : 1, 'name' : 1, 'description' : 1 }")
+    Stream<Product> streamAllForSearch();
 
+    @ReadPreference("primary")
+    @Query(value = "{}", fields = "{ '_id' : 1, 'name' : 1, 'stock' : 1 }")
+    Stream<Product> streamAllForAutocomplete();
 }
@@ -0,0 +1,47 @@
+package com.example.testing.repository;
+
+import com.example.testing.model.Product;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Product reads on the request path. The Mongo implementation decodes
+ * documents with {@link com.example.testing.codec.ProductCodec} instead of the
+ * mapping converter.
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * May read from a lagging secondary; a miss is confirmed with
+     * {@link #findPrimaryById(String)}.
+     */
+    Optional<Product> findById(String id);
+
+    /**
+     * May read from a lagging secondary; misses are confirmed with
+     * {@link #findPrimaryByIdIn(Collection)}.
+     */
+    List<Product> findAllById(Iterable<String> ids);
+
+    List<Product> findByCategoryId(String categoryId, Pageable pageable);
+
+    /**
+     * Both bounds are inclusive. Prices are compared as numbers, through
+     * {@link ProductPriceShadow#FIELD} in Mongo.
+     */
+    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    /**
+     * Reads from the primary, for ids a secondary does not have yet.
+     */
+    Optional<Product> findPrimaryById(String id);
+
+    /**
+     * Reads from the primary, for ids a secondary does not have yet.
+     */
+    List<Product> findPrimaryByIdIn(Collection<String> ids);
+}
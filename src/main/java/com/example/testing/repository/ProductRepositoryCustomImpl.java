@@ -0,0 +1,89 @@
+package com.example.testing.repository;
+
+import com.example.testing.model.Product;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.conversions.Bson;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class ProductRepositoryCustomImpl extends CodecRepositoryFragment<Product> implements ProductRepositoryCustom {
+
+    public ProductRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, Product.class);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return findOne(secondaryCollection(), id);
+    }
+
+    @Override
+    public List<Product> findAllById(Iterable<String> ids) {
+        return findMany(secondaryCollection(), ids);
+    }
+
+    @Override
+    public List<Product> findByCategoryId(String categoryId, Pageable pageable) {
+        return findPage(Filters.eq("categoryId", categoryId), pageable);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return findPage(Filters.and(
+                Filters.gte(ProductPriceShadow.FIELD, ProductPriceShadow.value(minPrice)),
+                Filters.lte(ProductPriceShadow.FIELD, ProductPriceShadow.value(maxPrice))), pageable);
+    }
+
+    @Override
+    public Optional<Product> findPrimaryById(String id) {
+        return findOne(primaryCollection(), id);
+    }
+
+    @Override
+    public List<Product> findPrimaryByIdIn(Collection<String> ids) {
+        return findMany(primaryCollection(), ids);
+    }
+
+    private List<Product> findPage(Bson filter, Pageable pageable) {
+        return execute(() -> {
+            FindIterable<Product> products = collection().find(filter).sort(sort(pageable.getSort()));
+            if (pageable.isPaged()) {
+                products.skip((int) pageable.getOffset()).limit(pageable.getPageSize());
+            }
+            return products.into(new ArrayList<>());
+        });
+    }
+
+    /**
+     * Maps sort properties to stored fields; prices sort by their numeric
+     * shadow rather than by the stored string. The id always breaks ties, so
+     * that consecutive pages neither repeat nor skip documents, the same way
+     * the in-memory repository orders them.
+     */
+    public static Bson sort(Sort sort) {
+        List<Bson> orders = new ArrayList<>();
+        boolean byId = false;
+        for (Sort.Order order : sort) {
+            String field = switch (order.getProperty()) {
+                case "id" -> "_id";
+                case "price" -> ProductPriceShadow.FIELD;
+                default -> order.getProperty();
+            };
+            orders.add(order.isAscending() ? Sorts.ascending(field) : Sorts.descending(field));
+            byId |= field.equals("_id");
+        }
+        if (!byId) {
+            orders.add(Sorts.ascending("_id"));
+        }
+        return Sorts.orderBy(orders);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.testing.repository.inmemory;
+
+import com.example.testing.model.Category;
+import com.example.testing.repository.CategoryRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("inmemory")
+public class InMemoryCategoryRepository extends InMemoryRepository<Category> implements CategoryRepository {
+
+    @Override
+    public Optional<Category> findPrimaryById(String id) {
+        return findById(id);
+    }
+
+    @Override
+    public List<Category> findPrimaryByIdIn(Collection<String> ids) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public Stream<Category> streamAllIds() {
+        return ids().map(id -> Category.builder().id(id).build());
+    }
+
+    @Override
+    protected String idOf(Category category) {
+        return category.getId();
+    }
+
+    @Override
+    protected void assignId(Category category, String id) {
+        category.setId(id);
+    }
+
+    @Override
+    protected Category copy(Category category) {
+        return new Category(category.getId(), category.getName(), category.getDescription());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.testing.repository.inmemory;
+
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Product store with secondary indexes on category, price and name, used
+ * instead of Mongo when the "inmemory" profile is active.
+ */
+@Repository
+@Profile("inmemory")
+public class InMemoryProductRepository extends InMemoryRepository<Product> implements ProductRepository {
+
+    private final Map<String, Set<String>> idsByCategory = new HashMap<>();
+    private final NavigableMap<BigDecimal, Set<String>> idsByPrice = new TreeMap<>();
+    private final NavigableMap<String, Set<String>> idsByName = new TreeMap<>();
+
+    @Override
+    public List<Product> findByCategoryId(String categoryId, Pageable pageable) {
+        return findPage(() -> idsByCategory.getOrDefault(categoryId, Set.of()).stream(), pageable);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            return List.of();
+        }
+        return findPage(() -> idsByPrice.subMap(minPrice, true, maxPrice, true).values().stream()
+                .flatMap(Set::stream), pageable);
+    }
+
+    @Override
+    public List<Product> findByNameStartingWith(String namePrefix, Pageable pageable) {
+        return findPage(() -> idsByName.subMap(namePrefix, true, namePrefix + Character.MAX_VALUE, true).values().stream()
+                .flatMap(Set::stream), pageable);
+    }
+
+    @Override
+    public Optional<Product> findPrimaryById(String id) {
+        return findById(id);
+    }
+
+    @Override
+    public List<Product> findPrimaryByIdIn(Collection<String> ids) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public Stream<Product> streamAllIds() {
+        return ids().map(id -> Product.builder().id(id).build());
+    }
+
+    @Override
+    public Stream<Product> streamAllForSearch() {
+        return findAll().stream();
+    }
+
+    @Override
+    public Stream<Product> streamAllForAutocomplete() {
+        return findAll().stream();
+    }
+
+    @Override
+    protected String idOf(Product product) {
+        return product.getId();
+    }
+
+    @Override
+    protected void assignId(Product product, String id) {
+        product.setId(id);
+    }
+
+    @Override
+    protected Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStock(), product.getCategoryId());
+    }
+
+    @Override
+    protected void index(Product product) {
+        add(idsByCategory, product.getCategoryId(), product.getId());
+        add(idsByPrice, product.getPrice(), product.getId());
+        add(idsByName, product.getName(), product.getId());
+    }
+
+    @Override
+    protected void unindex(Product product) {
+        remove(idsByCategory, product.getCategoryId(), product.getId());
+        remove(idsByPrice, product.getPrice(), product.getId());
+        remove(idsByName, product.getName(), product.getId());
+    }
+
+    private static <K> void add(Map<K, Set<String>> index, K key, String id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.example.testing.repository.inmemory;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.support.ExampleMatcherAccessor;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent in-memory implementation of the {@link MongoRepository} contract.
+ * Entities are copied on the way in and out, like documents would be, and
+ * subclasses maintain their secondary indexes under the same write lock as the
+ * primary map. Query by example is evaluated against the stored entities.
+ * Sorting by a property the entities do not have leaves their order alone,
+ * the way Mongo treats a missing field.
+ */
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, T> entities = new HashMap<>();
+
+    protected abstract String idOf(T entity);
+
+    protected abstract void assignId(T entity, String id);
+
+    protected abstract T copy(T entity);
+
+    /**
+     * Adds the entity to the secondary indexes. Called with the write lock held.
+     */
+    protected void index(T entity) {
+    }
+
+    /**
+     * Removes the entity from the secondary indexes. Called with the write lock held.
+     */
+    protected void unindex(T entity) {
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        if (idOf(entity) == null) {
+            assignId(entity, new ObjectId().toHexString());
+        }
+        T stored = copy(entity);
+        write(() -> store(stored));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false)
+                .map(this::save)
+                .toList();
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        if (idOf(entity) == null) {
+            assignId(entity, new ObjectId().toHexString());
+        }
+        T stored = copy(entity);
+        write(() -> {
+            if (entities.containsKey(idOf(stored))) {
+                throw new DuplicateKeyException("Duplicate id " + idOf(stored));
+            }
+            store(stored);
+        });
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return StreamSupport.stream(entities.spliterator(), false)
+                .map(this::insert)
+                .toList();
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return read(() -> Optional.ofNullable(entities.get(id)).map(this::copy));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return read(() -> entities.containsKey(id));
+    }
+
+    @Override
+    public List<T> findAll() {
+        return read(() -> entities.values().stream().map(this::copy).toList());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return read(() -> StreamSupport.stream(ids.spliterator(), false)
+                .distinct()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(this::copy)
+                .toList());
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        return findPage(() -> entities.keySet().stream(), Pageable.unpaged(sort));
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return read(() -> new PageImpl<>(findPage(() -> entities.keySet().stream(), pageable), pageable, entities.size()));
+    }
+
+    @Override
+    public long count() {
+        return read(entities::size);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        write(() -> remove(id));
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        write(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        write(() -> entities.forEach(entity -> remove(idOf(entity))));
+    }
+
+    @Override
+    public void deleteAll() {
+        write(() -> new ArrayList<>(entities.keySet()).forEach(this::remove));
+    }
+
+    public List<T> snapshot() {
+        return findAll();
+    }
+
+    public void restore(Collection<T> snapshot) {
+        write(() -> {
+            new ArrayList<>(entities.keySet()).forEach(this::remove);
+            snapshot.forEach(entity -> store(copy(entity)));
+        });
+    }
+
+    /**
+     * Resolves the ids to entities, then sorts and pages them, all under the read
+     * lock. Without a sort order entities come back in id order so pages are stable.
+     */
+    protected List<T> findPage(Supplier<Stream<String>> matchingIds, Pageable pageable) {
+        return read(() -> {
+            Stream<T> matches = matchingIds.get()
+                    .map(entities::get)
+                    .filter(Objects::nonNull)
+                    .sorted(comparator(pageable.getSort()));
+            if (pageable.isPaged()) {
+                matches = matches.skip(pageable.getOffset()).limit(pageable.getPageSize());
+            }
+            return matches.map(this::copy).toList();
+        });
+    }
+
+    protected Stream<String> ids() {
+        return read(() -> List.copyOf(entities.keySet())).stream();
+    }
+
+    protected <R> R read(Supplier<R> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void store(T entity) {
+        T previous = entities.put(idOf(entity), entity);
+        if (previous != null) {
+            unindex(previous);
+        }
+        index(entity);
+    }
+
+    private void remove(String id) {
+        T previous = entities.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = Comparator.comparing(
+                    entity -> property(entity, order.getProperty()), Comparator.nullsFirst(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        Comparator<T> byId = Comparator.comparing(this::idOf);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private static Comparable<Object> property(Object entity, String property) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(entity);
+        return wrapper.isReadableProperty(property) ? property(wrapper.getPropertyValue(property)) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> property(Object value) {
+        return (Comparable<Object>) value;
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        List<S> matches = findAll(example);
+        if (matches.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, matches.size());
+        }
+        return matches.stream().findFirst();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        return findAll(example, Sort.unsorted());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        return (List<S>) findPage(matching(example), Pageable.unpaged(sort));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        return read(() -> new PageImpl<>((List<S>) findPage(matching(example), pageable), pageable, count(example)));
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        return read(() -> matching(example).get().count());
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        return read(() -> matching(example).get().findAny().isPresent());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        return queryFunction.apply(new ExampleQuery<>(example, Sort.unsorted(), 0, entity -> (S) entity));
+    }
+
+    /**
+     * Ids of the entities matching the example, for use under the read lock.
+     * Follows the Spring Data semantics: every non-null probe property is
+     * compared unless ignored, including primitives, and null probe properties
+     * only constrain the match when the matcher includes nulls.
+     */
+    private <S extends T> Supplier<Stream<String>> matching(Example<S> example) {
+        ExampleMatcher matcher = example.getMatcher();
+        ExampleMatcherAccessor accessor = new ExampleMatcherAccessor(matcher);
+        Map<String, Object> probe = new HashMap<>();
+        BeanWrapperImpl probeWrapper = new BeanWrapperImpl(example.getProbe());
+        for (PropertyDescriptor descriptor : probeWrapper.getPropertyDescriptors()) {
+            String path = descriptor.getName();
+            if (descriptor.getReadMethod() == null || "class".equals(path) || accessor.isIgnoredPath(path)) {
+                continue;
+            }
+            Object value = accessor.getValueTransformerForPath(path).apply(Optional.ofNullable(probeWrapper.getPropertyValue(path))).orElse(null);
+            if (value != null || accessor.getNullHandler() == ExampleMatcher.NullHandler.INCLUDE) {
+                probe.put(path, value);
+            }
+        }
+        Class<S> probeType = example.getProbeType();
+        return () -> entities.values().stream()
+                .filter(probeType::isInstance)
+                .filter(entity -> {
+                    BeanWrapperImpl entityWrapper = new BeanWrapperImpl(entity);
+                    Stream<Map.Entry<String, Object>> properties = probe.entrySet().stream();
+                    return matcher.isAllMatching()
+                            ? properties.allMatch(property -> matches(accessor, property.getKey(), property.getValue(), entityWrapper.getPropertyValue(property.getKey())))
+                            : properties.anyMatch(property -> matches(accessor, property.getKey(), property.getValue(), entityWrapper.getPropertyValue(property.getKey())));
+                })
+                .map(this::idOf);
+    }
+
+    private static boolean matches(ExampleMatcherAccessor accessor, String path, Object expected, Object actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (!(expected instanceof String probe) || !(actual instanceof String value)) {
+            return expected instanceof Comparable<?> && expected.getClass() == actual.getClass()
+                    ? property(expected).compareTo(actual) == 0
+                    : expected.equals(actual);
+        }
+        boolean ignoreCase = accessor.isIgnoreCaseForPath(path);
+        if (ignoreCase) {
+            probe = probe.toLowerCase(Locale.ROOT);
+            value = value.toLowerCase(Locale.ROOT);
+        }
+        return switch (accessor.getStringMatcherForPath(path)) {
+            case STARTING -> value.startsWith(probe);
+            case ENDING -> value.endsWith(probe);
+            case CONTAINING -> value.contains(probe);
+            case REGEX -> Pattern.compile((String) expected, ignoreCase ? Pattern.CASE_INSENSITIVE : 0).matcher((String) actual).matches();
+            case DEFAULT, EXACT -> value.equals(probe);
+        };
+    }
+
+    /**
+     * Fluent query over the entities matching an example. Property projections
+     * are ignored since the copies handed out are always complete, and results
+     * can only be read as a supertype of the entity or as an interface projection.
+     */
+    private final class ExampleQuery<S extends T, R> implements FluentQuery.FetchableFluentQuery<R> {
+
+        private final Example<S> example;
+        private final Sort sort;
+        private final int limit;
+        private final Function<Object, R> mapper;
+
+        private ExampleQuery(Example<S> example, Sort sort, int limit, Function<Object, R> mapper) {
+            this.example = example;
+            this.sort = sort;
+            this.limit = limit;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> sortBy(Sort sort) {
+            return new ExampleQuery<>(example, this.sort.and(sort), limit, mapper);
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit must not be negative");
+            }
+            return new ExampleQuery<>(example, sort, limit, mapper);
+        }
+
+        @Override
+        public <N> FluentQuery.FetchableFluentQuery<N> as(Class<N> resultType) {
+            if (resultType.isAssignableFrom(example.getProbeType())) {
+                return new ExampleQuery<>(example, sort, limit, resultType::cast);
+            }
+            if (resultType.isInterface()) {
+                return new ExampleQuery<>(example, sort, limit, entity -> PROJECTIONS.createProjection(resultType, entity));
+            }
+            throw new UnsupportedOperationException("In-memory repositories cannot read results as " + resultType.getName());
+        }
+
+        @Override
+        public FluentQuery.FetchableFluentQuery<R> project(Collection<String> properties) {
+            return this;
+        }
+
+        @Override
+        public R oneValue() {
+            List<R> matches = all();
+            if (matches.size() > 1) {
+                throw new IncorrectResultSizeDataAccessException(1, matches.size());
+            }
+            return matches.isEmpty() ? null : matches.getFirst();
+        }
+
+        @Override
+        public R firstValue() {
+            List<R> matches = fetch(PageRequest.of(0, 1, sort));
+            return matches.isEmpty() ? null : matches.getFirst();
+        }
+
+        @Override
+        public List<R> all() {
+            return fetch(limit > 0 ? PageRequest.of(0, limit, sort) : Pageable.unpaged(sort));
+        }
+
+        @Override
+        public Page<R> page(Pageable pageable) {
+            Sort order = sort.and(pageable.getSort());
+            Pageable sorted = pageable.isPaged()
+                    ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), order)
+                    : Pageable.unpaged(order);
+            return read(() -> new PageImpl<>(fetch(sorted), pageable, count()));
+        }
+
+        @Override
+        public Stream<R> stream() {
+            return all().stream();
+        }
+
+        @Override
+        public long count() {
+            return InMemoryRepository.this.count(example);
+        }
+
+        @Override
+        public boolean exists() {
+            return InMemoryRepository.this.exists(example);
+        }
+
+        private List<R> fetch(Pageable pageable) {
+            return findPage(matching(example), pageable).stream().map(mapper).toList();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.testing.repository.inmemory;
+
+import com.example.testing.config.InMemoryStoreProperties;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Persists the in-memory repositories to a JSON file when
+ * {@code app.in-memory.snapshot-file} is set: loaded at startup, written
+ * periodically and on shutdown.
+ */
+@Log4j2
+@Component
+@Profile("inmemory")
+@EnableConfigurationProperties(InMemoryStoreProperties.class)
+public class InMemorySnapshotStore {
+
+    private final InMemoryStoreProperties inMemoryStoreProperties;
+    private final InMemoryProductRepository productRepository;
+    private final InMemoryCategoryRepository categoryRepository;
+    private final ObjectMapper objectMapper;
+
+    public InMemorySnapshotStore(InMemoryStoreProperties inMemoryStoreProperties, InMemoryProductRepository productRepository,
+                                 InMemoryCategoryRepository categoryRepository, ObjectMapper objectMapper) {
+        this.inMemoryStoreProperties = inMemoryStoreProperties;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        Path snapshotFile = inMemoryStoreProperties.snapshotFile();
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        Snapshot snapshot = objectMapper.readValue(snapshotFile.toFile(), Snapshot.class);
+        productRepository.restore(snapshot.products());
+        categoryRepository.restore(snapshot.categories());
+        log.info("Loaded {} products and {} categories from {}",
+                snapshot.products().size(), snapshot.categories().size(), snapshotFile);
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${app.in-memory.snapshot-interval:PT1M}", fixedDelayString = "${app.in-memory.snapshot-interval:PT1M}")
+    public void write() {
+        Path snapshotFile = inMemoryStoreProperties.snapshotFile();
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            Path temporaryFile = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(), "catalog", ".tmp");
+            objectMapper.writeValue(temporaryFile.toFile(), new Snapshot(productRepository.snapshot(), categoryRepository.snapshot()));
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to write in-memory snapshot to {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    record Snapshot(List<Product> products, List<Category> categories) {
+    }
+}
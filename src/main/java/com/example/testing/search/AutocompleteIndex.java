@@ -0,0 +1,146 @@
+package com.example.testing.search;
+
+import com.example.testing.config.AutocompleteProperties;
+import com.example.testing.event.CategorySavedEvent;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.monitoring.HotKeyTracker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Product and category name completions. Lookups read an immutable trie that
+ * is rebuilt in the background and swapped in whole; names saved since the
+ * last rebuild sit in a small sorted overlay that is merged into every answer
+ * until a rebuild has picked them up.
+ */
+@Component
+@EnableConfigurationProperties(AutocompleteProperties.class)
+public class AutocompleteIndex {
+
+    private final AutocompleteProperties autocompleteProperties;
+    private final HotKeyTracker hotKeyTracker;
+    private final NavigableMap<String, Pending> overlay = new ConcurrentSkipListMap<>();
+    private final Map<String, Pending> overlayByReference = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile CompletionTrie trie;
+
+    public AutocompleteIndex(AutocompleteProperties autocompleteProperties, HotKeyTracker hotKeyTracker, MeterRegistry meterRegistry) {
+        this.autocompleteProperties = autocompleteProperties;
+        this.hotKeyTracker = hotKeyTracker;
+        this.trie = CompletionTrie.build(Stream.empty(), autocompleteProperties.maxCompletions());
+        Gauge.builder("autocomplete.trie.nodes", this, index -> index.trie.nodeCount())
+                .register(meterRegistry);
+        Gauge.builder("autocomplete.overlay.size", overlay, Map::size)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return autocompleteProperties.enabled();
+    }
+
+    public int maxCompletions() {
+        return autocompleteProperties.maxCompletions();
+    }
+
+    /**
+     * Trie entries whose name was changed since the last rebuild are dropped
+     * in favour of their overlay entry, so the trie is asked again for as many
+     * more as were dropped until the limit is met or the prefix runs out.
+     */
+    public List<Completion> complete(String prefix, int limit) {
+        String key = CompletionTrie.normalize(prefix);
+        CompletionTrie current = trie;
+        int count = Math.min(limit, autocompleteProperties.maxCompletions());
+        List<Completion> completions;
+        int fetch = count;
+        while (true) {
+            List<Completion> found = current.complete(key, fetch);
+            completions = new ArrayList<>(found.size());
+            for (Completion completion : found) {
+                if (!overlayByReference.containsKey(reference(completion))) {
+                    completions.add(completion);
+                }
+            }
+            if (completions.size() >= count || found.size() < fetch) {
+                break;
+            }
+            fetch = count + found.size() - completions.size();
+        }
+        if (overlay.isEmpty()) {
+            return completions;
+        }
+        for (Pending pending : overlay.subMap(key, key + Character.MAX_VALUE).values()) {
+            completions.add(pending.completion());
+        }
+        completions.sort(Completion.BEST_FIRST);
+        return completions.size() > count ? completions.subList(0, count) : completions;
+    }
+
+    public void add(Completion completion) {
+        Pending pending = new Pending(completion, sequence.incrementAndGet());
+        Pending previous = overlayByReference.put(reference(completion), pending);
+        if (previous != null) {
+            overlay.remove(overlayKey(previous.completion()), previous);
+        }
+        overlay.put(overlayKey(completion), pending);
+    }
+
+    /**
+     * Builds a new trie and swaps it in. The start of the build is taken before
+     * the source is opened, so overlay entries older than it are in what was
+     * read and are dropped; anything saved while the source was opening stays.
+     */
+    public synchronized void rebuild(Supplier<Stream<Completion>> completions) {
+        long startSequence = sequence.get();
+        try (Stream<Completion> stream = completions.get()) {
+            trie = CompletionTrie.build(stream, autocompleteProperties.maxCompletions());
+        }
+        overlayByReference.values().removeIf(pending -> {
+            if (pending.sequence() > startSequence) {
+                return false;
+            }
+            overlay.remove(overlayKey(pending.completion()), pending);
+            return true;
+        });
+    }
+
+    public long popularity(String scope, String id) {
+        return hotKeyTracker.estimate(scope, id);
+    }
+
+    @EventListener
+    public void onProductSaved(ProductSavedEvent event) {
+        add(new Completion(Completion.PRODUCT, event.product().getId(), event.product().getName(),
+                popularity(HotKeyTracker.PRODUCT_LOOKUP, event.product().getId()), event.product().getStock()));
+    }
+
+    @EventListener
+    public void onCategorySaved(CategorySavedEvent event) {
+        add(new Completion(Completion.CATEGORY, event.category().getId(), event.category().getName(),
+                popularity(HotKeyTracker.CATEGORY_LOOKUP, event.category().getId()), 0));
+    }
+
+    private static String reference(Completion completion) {
+        return completion.type() + ":" + completion.id();
+    }
+
+    private static String overlayKey(Completion completion) {
+        return CompletionTrie.normalize(completion.text()) + '\u0000' + reference(completion);
+    }
+
+    private record Pending(Completion completion, long sequence) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.testing.search;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.monitoring.HotKeyTracker;
+import com.example.testing.repository.CategoryRepository;
+import com.example.testing.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class AutocompleteIndexLoader {
+
+    private final AutocompleteIndex autocompleteIndex;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    /**
+     * Runs on the scheduler thread, so lookups keep being served from the
+     * previous trie while the next one is built. Popularity is re-read from the
+     * hot-key sketch on every rebuild.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.autocomplete.rebuild-interval:PT5M}")
+    public void rebuild() {
+        if (!autocompleteIndex.isEnabled()) {
+            return;
+        }
+        try {
+            autocompleteIndex.rebuild(this::completions);
+        } catch (RuntimeException e) {
+            log.warn("Unable to rebuild autocomplete index, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    private Stream<Completion> completions() {
+        List<Category> categories = categoryRepository.findAll();
+        Stream<Product> products = productRepository.streamAllForAutocomplete();
+        return Stream.concat(
+                categories.stream().map(category -> new Completion(Completion.CATEGORY, category.getId(), category.getName(),
+                        autocompleteIndex.popularity(HotKeyTracker.CATEGORY_LOOKUP, category.getId()), 0)),
+                products.map(product -> new Completion(Completion.PRODUCT, product.getId(), product.getName(),
+                        autocompleteIndex.popularity(HotKeyTracker.PRODUCT_LOOKUP, product.getId()), product.getStock())));
+    }
+}
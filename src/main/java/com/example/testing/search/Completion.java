@@ -0,0 +1,18 @@
+package com.example.testing.search;
+
+import java.util.Comparator;
+
+/**
+ * An autocomplete suggestion. Better suggestions have been looked up more
+ * often, then have more stock.
+ */
+public record Completion(String type, String id, String text, long popularity, int stock) {
+
+    public static final String PRODUCT = "product";
+    public static final String CATEGORY = "category";
+
+    static final Comparator<Completion> BEST_FIRST = Comparator.comparingLong(Completion::popularity).reversed()
+            .thenComparing(Comparator.comparingInt(Completion::stock).reversed())
+            .thenComparing(Completion::text)
+            .thenComparing(Completion::id);
+}
@@ -0,0 +1,274 @@
+package com.example.testing.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Immutable radix trie over lower-cased completion texts. Every node keeps the
+ * indexes of the best completions below it, so a lookup walks the prefix and
+ * returns that list without visiting the subtree. A lookup asking for more
+ * than a node keeps merges its children lazily, best first.
+ */
+public final class CompletionTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+    private static final int[] NO_COMPLETIONS = new int[0];
+
+    private final Completion[] completions;
+    private final Node root;
+    private final int nodeCount;
+    private final int maxCompletionsPerNode;
+    private final Comparator<Integer> bestFirst;
+
+    private CompletionTrie(Completion[] completions, Node root, int nodeCount, int maxCompletionsPerNode) {
+        this.completions = completions;
+        this.root = root;
+        this.nodeCount = nodeCount;
+        this.maxCompletionsPerNode = maxCompletionsPerNode;
+        this.bestFirst = bestFirst(completions);
+    }
+
+    /**
+     * Builds the trie straight from the stream; only the completions
+     * themselves are held, in the order the stream yields them, which the
+     * shape of a radix trie does not depend on.
+     */
+    public static CompletionTrie build(Stream<Completion> completions, int maxCompletionsPerNode) {
+        Completion[] all = completions.toArray(Completion[]::new);
+        Node root = new Node("");
+        int[] nodeCount = {1};
+        for (int i = 0; i < all.length; i++) {
+            insert(root, normalize(all[i].text()), i, nodeCount);
+        }
+        collectTop(root, maxCompletionsPerNode, bestFirst(all));
+        return new CompletionTrie(all, root, nodeCount[0], maxCompletionsPerNode);
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                return List.of();
+            }
+            String label = child.label;
+            int matched = 0;
+            while (matched < label.length() && position + matched < key.length()
+                    && label.charAt(matched) == key.charAt(position + matched)) {
+                matched++;
+            }
+            if (position + matched < key.length() && matched < label.length()) {
+                return List.of();
+            }
+            position += matched;
+            node = child;
+        }
+        if (limit <= node.top.length || node.top.length < maxCompletionsPerNode) {
+            int count = Math.min(limit, node.top.length);
+            List<Completion> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(completions[node.top[i]]);
+            }
+            return result;
+        }
+        List<Completion> result = new ArrayList<>(limit);
+        Ranked ranked = ranked(node);
+        for (int completion = ranked.peek(); completion >= 0 && result.size() < limit; completion = ranked.peek()) {
+            result.add(completions[completion]);
+            ranked.advance();
+        }
+        return result;
+    }
+
+    public int size() {
+        return completions.length;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private static void insert(Node root, String key, int completion, int[] nodeCount) {
+        Node node = root;
+        int position = 0;
+        while (true) {
+            if (position == key.length()) {
+                node.addTerminal(completion);
+                return;
+            }
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(key.substring(position));
+                leaf.addTerminal(completion);
+                node.addChild(leaf);
+                nodeCount[0]++;
+                return;
+            }
+            String label = child.label;
+            int matched = 0;
+            while (matched < label.length() && position + matched < key.length()
+                    && label.charAt(matched) == key.charAt(position + matched)) {
+                matched++;
+            }
+            if (matched < label.length()) {
+                Node split = new Node(label.substring(0, matched));
+                child.label = label.substring(matched);
+                split.addChild(child);
+                node.replaceChild(split);
+                nodeCount[0]++;
+                child = split;
+            }
+            position += matched;
+            node = child;
+        }
+    }
+
+    /**
+     * Sorts the terminals of every node best first and keeps the best
+     * {@code max} completions of its subtree as its top.
+     */
+    private static int[] collectTop(Node node, int max, Comparator<Integer> bestFirst) {
+        node.terminals = Arrays.stream(node.terminals).boxed().sorted(bestFirst).mapToInt(Integer::intValue).toArray();
+        List<Integer> candidates = new ArrayList<>();
+        for (int completion : node.terminals) {
+            candidates.add(completion);
+        }
+        for (Node child : node.children) {
+            for (int completion : collectTop(child, max, bestFirst)) {
+                candidates.add(completion);
+            }
+        }
+        candidates.sort(bestFirst);
+        node.top = candidates.stream().limit(max).mapToInt(Integer::intValue).toArray();
+        return node.top;
+    }
+
+    /**
+     * Orders by {@link Completion#BEST_FIRST}, then by index, so the order is
+     * total and a merge of the children yields exactly the top lists.
+     */
+    private static Comparator<Integer> bestFirst(Completion[] completions) {
+        return (a, b) -> {
+            int order = Completion.BEST_FIRST.compare(completions[a], completions[b]);
+            return order != 0 ? order : Integer.compare(a, b);
+        };
+    }
+
+    /**
+     * The completions below the node, best first. A node's top is complete
+     * unless it is full, so only a full node is merged from its terminals and
+     * children, lazily, skipping what its top already yielded.
+     */
+    private Ranked ranked(Node node) {
+        return new Ranked(node.top, node.top.length < maxCompletionsPerNode ? null : node);
+    }
+
+    private final class Ranked {
+
+        private final int[] first;
+        private final Node rest;
+        private int position;
+        private PriorityQueue<Ranked> merge;
+
+        Ranked(int[] first, Node rest) {
+            this.first = first;
+            this.rest = rest;
+        }
+
+        /**
+         * The next completion, or {@code -1} once there is none.
+         */
+        int peek() {
+            if (position < first.length) {
+                return first[position];
+            }
+            if (rest == null) {
+                return -1;
+            }
+            if (merge == null) {
+                merge = new PriorityQueue<>((a, b) -> bestFirst.compare(a.peek(), b.peek()));
+                offer(new Ranked(rest.terminals, null));
+                for (Node child : rest.children) {
+                    offer(ranked(child));
+                }
+                for (int i = 0; i < first.length && !merge.isEmpty(); i++) {
+                    advanceMerge();
+                }
+            }
+            return merge.isEmpty() ? -1 : merge.peek().peek();
+        }
+
+        void advance() {
+            if (position < first.length) {
+                position++;
+            } else if (merge != null && !merge.isEmpty()) {
+                advanceMerge();
+            }
+        }
+
+        private void advanceMerge() {
+            Ranked head = merge.poll();
+            head.advance();
+            offer(head);
+        }
+
+        private void offer(Ranked source) {
+            if (source.peek() >= 0) {
+                merge.add(source);
+            }
+        }
+    }
+
+    private static final class Node {
+
+        private String label;
+        private char[] firstChars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private int[] terminals = NO_COMPLETIONS;
+        private int[] top = NO_COMPLETIONS;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(firstChars, c);
+            return index < 0 ? null : children[index];
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(firstChars, child.label.charAt(0)) - 1;
+            char[] chars = new char[firstChars.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, chars, 0, index);
+            System.arraycopy(children, 0, nodes, 0, index);
+            chars[index] = child.label.charAt(0);
+            nodes[index] = child;
+            System.arraycopy(firstChars, index, chars, index + 1, firstChars.length - index);
+            System.arraycopy(children, index, nodes, index + 1, children.length - index);
+            firstChars = chars;
+            children = nodes;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(firstChars, child.label.charAt(0))] = child;
+        }
+
+        void addTerminal(int completion) {
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = completion;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.testing.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * BM25-ranked inverted index over a title and a body field, with title terms
+ * counting {@value #TITLE_WEIGHT} times. Re-indexing a document retires its old
+ * internal id and appends it under a new one, so postings stay sorted and
+ * append-only; retired ids are skipped when scoring and dropped on rebuild.
+ */
+public class InvertedIndex {
+
+    static final int TITLE_WEIGHT = 2;
+    static final int SCORE_BUFFERS = Runtime.getRuntime().availableProcessors();
+
+    private static final Comparator<ScoredDoc> BY_SCORE = Comparator.comparingDouble(ScoredDoc::score)
+            .thenComparing(Comparator.comparingInt(ScoredDoc::docId).reversed());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final float k1;
+    private final float b;
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BlockingDeque<Scores> scoreBuffers = new LinkedBlockingDeque<>();
+    private final AtomicLong scoreAllocations = new AtomicLong();
+    private String[] ids = new String[1024];
+    private int[] lengths = new int[1024];
+    private int nextDocId;
+    private long liveLength;
+
+    public InvertedIndex(float k1, float b) {
+        this.k1 = k1;
+        this.b = b;
+        for (int i = 0; i < SCORE_BUFFERS; i++) {
+            scoreBuffers.add(new Scores(scoreAllocations));
+        }
+    }
+
+    public void index(String id, String title, String body) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        Tokenizer.tokenize(title).forEach(term -> termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+        Tokenizer.tokenize(body).forEach(term -> termFrequencies.merge(term, 1, Integer::sum));
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        lock.writeLock().lock();
+        try {
+            retire(id);
+            int docId = nextDocId++;
+            if (docId == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[docId] = id;
+            lengths[docId] = length;
+            live.set(docId);
+            liveLength += length;
+            docIds.put(id, docId);
+            termFrequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new PostingsList()).add(docId, frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the hits ranked {@code offset} to {@code offset + limit}, best
+     * first. Documents matching any query term are candidates.
+     */
+    public List<SearchHit> search(String query, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        int count = Math.addExact(offset, Math.max(0, limit));
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Scores scores = takeScores();
+        try {
+            return read(() -> {
+                int documents = docIds.size();
+                if (documents == 0) {
+                    return List.of();
+                }
+                List<PostingsList> termPostings = terms.stream()
+                        .map(postings::get)
+                        .filter(Objects::nonNull)
+                        .toList();
+                if (termPostings.isEmpty()) {
+                    return List.of();
+                }
+                float averageLength = (float) liveLength / documents;
+                scores.prepare(nextDocId);
+                for (PostingsList postingsList : termPostings) {
+                    int documentFrequency = postingsList.documentCount();
+                    float idf = (float) Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                    postingsList.forEach((docId, termFrequency) -> {
+                        if (live.get(docId)) {
+                            float norm = k1 * (1 - b + b * lengths[docId] / averageLength);
+                            scores.add(docId, idf * termFrequency * (k1 + 1) / (termFrequency + norm));
+                        }
+                    });
+                }
+                return scores.top(count, ids).stream().skip(offset).toList();
+            });
+        } finally {
+            scores.clear();
+            scoreBuffers.addFirst(scores);
+        }
+    }
+
+    public int size() {
+        return read(docIds::size);
+    }
+
+    /**
+     * Bytes held by the postings lists, excluding map and term overhead.
+     */
+    public long postingsSizeInBytes() {
+        return read(() -> postings.values().stream().mapToLong(PostingsList::sizeInBytes).sum());
+    }
+
+    /**
+     * Score buffers allocated or grown so far, for tests.
+     */
+    long scoreAllocations() {
+        return scoreAllocations.get();
+    }
+
+    /**
+     * Waits for a free score buffer. The most recently returned one is handed
+     * out first, so a quiet index keeps reusing a single buffer.
+     */
+    private Scores takeScores() {
+        try {
+            return scoreBuffers.takeFirst();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a search score buffer", e);
+        }
+    }
+
+    private void retire(String id) {
+        Integer docId = docIds.remove(id);
+        if (docId != null) {
+            live.clear(docId);
+            liveLength -= lengths[docId];
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record ScoredDoc(int docId, float score) {
+    }
+
+    /**
+     * Score accumulators with one slot per internal doc id, plus the list of
+     * slots a query touched so that only those are read and cleared. When a
+     * query touches more than an eighth of the index the list is dropped and
+     * the whole array is scanned instead. The index keeps {@link #SCORE_BUFFERS}
+     * of them and queries wait for a free one: scoring is CPU-bound, so scoring
+     * more queries at once than there are cores only adds memory, and the
+     * memory search needs stays the same however many queries arrive.
+     */
+    private static final class Scores {
+
+        private static final int MIN_TOUCHED = 1024;
+
+        private final AtomicLong allocations;
+        private float[] scores = new float[0];
+        private long[] seen = new long[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+        private int docCount;
+        private boolean dense;
+
+        Scores(AtomicLong allocations) {
+            this.allocations = allocations;
+        }
+
+        void prepare(int docCount) {
+            this.docCount = docCount;
+            if (scores.length < docCount) {
+                int capacity = Math.max(docCount, scores.length + (scores.length >> 1));
+                scores = new float[capacity];
+                seen = new long[(capacity + 63) >>> 6];
+                allocations.incrementAndGet();
+            }
+        }
+
+        void add(int docId, float score) {
+            long bit = 1L << docId;
+            if ((seen[docId >>> 6] & bit) == 0) {
+                seen[docId >>> 6] |= bit;
+                touch(docId);
+            }
+            scores[docId] += score;
+        }
+
+        List<SearchHit> top(int count, String[] ids) {
+            PriorityQueue<ScoredDoc> best = new PriorityQueue<>(Math.min(count, dense ? docCount : touchedCount) + 1, BY_SCORE);
+            if (dense) {
+                for (int docId = 0; docId < docCount; docId++) {
+                    if ((seen[docId >>> 6] & (1L << docId)) != 0) {
+                        offer(best, count, new ScoredDoc(docId, scores[docId]));
+                    }
+                }
+            } else {
+                // Touched slots are not in docId order, so ties are settled by the comparator as well.
+                for (int i = 0; i < touchedCount; i++) {
+                    offer(best, count, new ScoredDoc(touched[i], scores[touched[i]]));
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ScoredDoc scoredDoc = best.poll();
+                hits.add(new SearchHit(ids[scoredDoc.docId()], scoredDoc.score()));
+            }
+            return hits.reversed();
+        }
+
+        void clear() {
+            if (dense) {
+                Arrays.fill(scores, 0, docCount, 0f);
+                Arrays.fill(seen, 0, (docCount + 63) >>> 6, 0L);
+            } else {
+                for (int i = 0; i < touchedCount; i++) {
+                    scores[touched[i]] = 0f;
+                    seen[touched[i] >>> 6] = 0L;
+                }
+            }
+            touchedCount = 0;
+            dense = false;
+        }
+
+        private void touch(int docId) {
+            if (dense) {
+                return;
+            }
+            if (touchedCount == touched.length) {
+                int capacity = Math.max(MIN_TOUCHED, touched.length * 2);
+                if (capacity > docCount >> 3) {
+                    dense = true;
+                    return;
+                }
+                touched = Arrays.copyOf(touched, capacity);
+                allocations.incrementAndGet();
+            }
+            touched[touchedCount++] = docId;
+        }
+
+        private static void offer(PriorityQueue<ScoredDoc> best, int count, ScoredDoc scoredDoc) {
+            if (best.size() < count) {
+                best.add(scoredDoc);
+            } else if (BY_SCORE.compare(scoredDoc, best.peek()) > 0) {
+                best.poll();
+                best.add(scoredDoc);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.testing.search;
+
+import java.util.Arrays;
+
+/**
+ * Document ids and term frequencies of one term, stored as variable-length
+ * integers with the ids delta-encoded. Ids must be appended in increasing
+ * order, which holds because the index only ever hands out new ids.
+ */
+final class PostingsList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int lastDocId = -1;
+    private int documentCount;
+
+    void add(int docId, int termFrequency) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("Document ids must be increasing, got " + docId + " after " + lastDocId);
+        }
+        writeVarInt(docId - lastDocId);
+        writeVarInt(termFrequency);
+        lastDocId = docId;
+        documentCount++;
+    }
+
+    int documentCount() {
+        return documentCount;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        int docId = -1;
+        while (position < length) {
+            int delta = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                delta |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            int termFrequency = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            docId += delta;
+            consumer.accept(docId, termFrequency);
+        }
+    }
+
+    private void writeVarInt(int value) {
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    @FunctionalInterface
+    interface PostingConsumer {
+
+        void accept(int docId, int termFrequency);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.testing.search;
+
+import com.example.testing.config.SearchProperties;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.model.Product;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index of product names and descriptions. Saves are applied as they
+ * happen; a rebuild fills a fresh index while saves keep going to both, then
+ * swaps it in, which also drops the postings of replaced documents.
+ */
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class ProductSearchIndex {
+
+    private final SearchProperties searchProperties;
+    private volatile InvertedIndex current;
+    private volatile InvertedIndex rebuilding;
+
+    public ProductSearchIndex(SearchProperties searchProperties, MeterRegistry meterRegistry) {
+        this.searchProperties = searchProperties;
+        this.current = newIndex();
+        Gauge.builder("search.index.documents", this, index -> index.current.size())
+                .register(meterRegistry);
+        Gauge.builder("search.index.postings.bytes", this, index -> index.current.postingsSizeInBytes())
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return searchProperties.enabled();
+    }
+
+    /**
+     * How deep into the ranking a page may reach; every hit above the page is
+     * ranked as well, so deeper pages cost memory and time.
+     */
+    public int maxResults() {
+        return searchProperties.maxResults();
+    }
+
+    public List<SearchHit> search(String query, int offset, int limit) {
+        return current.search(query, offset, limit);
+    }
+
+    public void index(Product product) {
+        InvertedIndex next = rebuilding;
+        current.index(product.getId(), product.getName(), product.getDescription());
+        if (next != null) {
+            next.index(product.getId(), product.getName(), product.getDescription());
+        }
+    }
+
+    /**
+     * Rebuilds the index from the products the stream returns. The stream is
+     * opened only once saves are being indexed into the new index as well, so
+     * a save made while the stream is read cannot be lost.
+     */
+    public synchronized void rebuild(Supplier<Stream<Product>> products) {
+        InvertedIndex next = newIndex();
+        rebuilding = next;
+        try (Stream<Product> stream = products.get()) {
+            stream.forEach(product -> next.index(product.getId(), product.getName(), product.getDescription()));
+            current = next;
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    @EventListener
+    public void onProductSaved(ProductSavedEvent event) {
+        index(event.product());
+    }
+
+    private InvertedIndex newIndex() {
+        return new InvertedIndex(searchProperties.k1(), searchProperties.b());
+    }
+}
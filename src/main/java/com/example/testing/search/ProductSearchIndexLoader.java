@@ -0,0 +1,28 @@
+package com.example.testing.search;
+
+import com.example.testing.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class ProductSearchIndexLoader {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductRepository productRepository;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.search.rebuild-interval:PT30M}")
+    public void rebuild() {
+        if (!productSearchIndex.isEnabled()) {
+            return;
+        }
+        try {
+            productSearchIndex.rebuild(productRepository::streamAllForSearch);
+        } catch (RuntimeException e) {
+            log.warn("Unable to rebuild product search index, keeping the previous one: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.testing.search;
+
+public record SearchHit(String id, float score) {
+}
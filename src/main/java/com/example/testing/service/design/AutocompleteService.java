@@ -0,0 +1,10 @@
+package com.example.testing.service.design;
+
+import com.example.testing.search.Completion;
+
+import java.util.List;
+
+public interface AutocompleteService {
+
+    List<Completion> complete(String prefix, int limit);
+}
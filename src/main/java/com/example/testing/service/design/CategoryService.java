@@ -2,6 +2,7 @@ package com.example.testing.service.design;
 
 import com.example.testing.model.Category;
 import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
 
 import java.util.List;
 
@@ -11,5 +12,7 @@ public interface CategoryService {
 
     Category findById(String categoryId);
 
+    MultiGetResponse<Category> findAllById(List<String> categoryIds);
+
     Category save(CategoryRequest categoryRequest);
 }
@@ -0,0 +1,8 @@
+package com.example.testing.service.design;
+
+import com.example.testing.model.ProductDetail;
+
+public interface ProductDetailService {
+
+    ProductDetail findById(String productId);
+}
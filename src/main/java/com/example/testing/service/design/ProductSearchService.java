@@ -0,0 +1,11 @@
+package com.example.testing.service.design;
+
+import com.example.testing.model.Product;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ProductSearchService {
+
+    List<Product> search(String query, Pageable pageable);
+}
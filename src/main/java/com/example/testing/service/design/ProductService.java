@@ -1,8 +1,11 @@
 package com.example.testing.service.design;
 
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.model.Product;
 import com.example.testing.model.ProductRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface ProductService {
@@ -11,5 +14,13 @@ public interface ProductService {
 
     Product findById(String productId);
 
+    MultiGetResponse<Product> findAllById(List<String> productIds);
+
+    List<Product> findByCategoryId(String categoryId, Pageable pageable);
+
+    List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    List<Product> findByNamePrefix(String namePrefix, Pageable pageable);
+
     Product save(ProductRequest productRequest);
 }
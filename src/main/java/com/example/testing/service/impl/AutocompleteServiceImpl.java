@@ -0,0 +1,21 @@
+package com.example.testing.service.impl;
+
+import com.example.testing.search.AutocompleteIndex;
+import com.example.testing.search.Completion;
+import com.example.testing.service.design.AutocompleteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    @Override
+    public List<Completion> complete(String prefix, int limit) {
+        return autocompleteIndex.complete(prefix, Math.min(limit, autocompleteIndex.maxCompletions()));
+    }
+}
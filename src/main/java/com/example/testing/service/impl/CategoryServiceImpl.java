@@ -1,20 +1,34 @@
 package com.example.testing.service.impl;
 
+import com.example.testing.cache.LocalCache;
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.event.CategorySavedEvent;
+import com.example.testing.index.CatalogIdIndex;
+import com.example.testing.index.CatalogIds;
 import com.example.testing.model.Category;
 import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.repository.CategoryRepository;
 import com.example.testing.service.design.CategoryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
+    private static final String COALESCING_NAMESPACE = "category";
+
     private final CategoryRepository categoryRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final LocalCache<String, Category> categoryCache;
+    private final CatalogIdIndex catalogIdIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Category> findAll() {
@@ -23,13 +37,55 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     public Category findById(String categoryId) {
-        return categoryRepository.findById(categoryId).orElse(null);
+        Category cachedCategory = categoryCache.get(categoryId);
+        if (cachedCategory != null) {
+            return cachedCategory;
+        }
+        CatalogIdIndex.Presence presence = catalogIdIndex.categoryPresence(categoryId);
+        if (presence == CatalogIdIndex.Presence.ABSENT) {
+            return null;
+        }
+        return requestCoalescer.execute(COALESCING_NAMESPACE, categoryId, () -> {
+            Category category = categoryRepository.findById(categoryId)
+                    .or(() -> presence == CatalogIdIndex.Presence.LIKELY ? categoryRepository.findPrimaryById(categoryId) : Optional.empty())
+                    .orElse(null);
+            categoryCache.put(categoryId, category);
+            return category;
+        });
+    }
+
+    @Override
+    public MultiGetResponse<Category> findAllById(List<String> categoryIds) {
+        Map<String, Category> found = categoryCache.getAll(categoryIds);
+        List<String> cacheMisses = categoryIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .filter(catalogIdIndex::mightContainCategory)
+                .distinct()
+                .toList();
+        if (!cacheMisses.isEmpty()) {
+            categoryRepository.findAllById(cacheMisses).forEach(category -> found.put(category.getId(), category));
+            List<String> secondaryMisses = cacheMisses.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .filter(id -> catalogIdIndex.categoryPresence(id) == CatalogIdIndex.Presence.LIKELY)
+                    .toList();
+            if (!secondaryMisses.isEmpty()) {
+                categoryRepository.findPrimaryByIdIn(secondaryMisses).forEach(category -> found.put(category.getId(), category));
+            }
+            cacheMisses.stream()
+                    .filter(found::containsKey)
+                    .forEach(id -> categoryCache.put(id, found.get(id)));
+        }
+        return MultiGetResponse.of(categoryIds, found);
     }
 
     @Override
     public Category save(CategoryRequest categoryRequest) {
-        Category category = Category.builder().id(UUID.randomUUID().toString()).name(categoryRequest.getName()).description(categoryRequest.getDescription()).build();
-        return categoryRepository.save(category);
+        Category category = Category.builder().id(CatalogIds.next()).name(categoryRequest.getName()).description(categoryRequest.getDescription()).build();
+        Category savedCategory = categoryRepository.save(category);
+        categoryCache.put(savedCategory.getId(), savedCategory);
+        catalogIdIndex.addCategory(savedCategory.getId());
+        eventPublisher.publishEvent(new CategorySavedEvent(savedCategory));
+        return savedCategory;
     }
 
 }
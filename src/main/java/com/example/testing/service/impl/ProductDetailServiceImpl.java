@@ -0,0 +1,109 @@
+package com.example.testing.service.impl;
+
+import com.example.testing.config.ProductDetailProperties;
+import com.example.testing.exception.ServiceOverloadedException;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.model.ProductDetail;
+import com.example.testing.service.design.CategoryService;
+import com.example.testing.service.design.ProductDetailService;
+import com.example.testing.service.design.ProductService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Assembles a product page in one call. The product is loaded first since the
+ * other parts depend on it; the category and the related products are then
+ * fetched concurrently on virtual threads, so the response takes as long as the
+ * slowest part instead of the sum. A failing or late required part cancels the
+ * others and fails the request, a failing or late optional part is left out
+ * and reported in {@link ProductDetail#getDegradedParts()}.
+ */
+@Log4j2
+@Service
+@EnableConfigurationProperties(ProductDetailProperties.class)
+public class ProductDetailServiceImpl implements ProductDetailService {
+
+    private final ProductService productService;
+    private final CategoryService categoryService;
+    private final ProductDetailProperties productDetailProperties;
+
+    public ProductDetailServiceImpl(ProductService productService, CategoryService categoryService,
+                                    ProductDetailProperties productDetailProperties) {
+        this.productService = productService;
+        this.categoryService = categoryService;
+        this.productDetailProperties = productDetailProperties;
+    }
+
+    @Override
+    public ProductDetail findById(String productId) {
+        Product product = productService.findById(productId);
+        if (product == null) {
+            return null;
+        }
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<Category> category = scope.fork(() -> categoryService.findById(product.getCategoryId()));
+            Subtask<Optional<List<Product>>> relatedProducts = scope.fork(() -> optionalPart(ProductDetail.RELATED_PRODUCTS,
+                    () -> findRelatedProducts(product)));
+            scope.joinUntil(Instant.now().plus(productDetailProperties.requiredPartTimeout()));
+            scope.throwIfFailed(e -> e instanceof RuntimeException runtimeException ? runtimeException : new IllegalStateException(e));
+            List<String> degradedParts = new ArrayList<>();
+            if (relatedProducts.get().isEmpty()) {
+                degradedParts.add(ProductDetail.RELATED_PRODUCTS);
+            }
+            return ProductDetail.builder()
+                    .product(product)
+                    .category(category.get())
+                    .relatedProducts(relatedProducts.get().orElse(List.of()))
+                    .degradedParts(degradedParts)
+                    .build();
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Timed out loading the detail of product " + productId,
+                    productDetailProperties.retryAfter());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the detail of product " + productId, e);
+        }
+    }
+
+    /**
+     * Runs an optional part in its own scope with its own deadline. An empty
+     * result means the part failed or was cancelled when the deadline passed.
+     */
+    private <T> Optional<T> optionalPart(String name, Callable<T> part) throws InterruptedException {
+        Duration timeout = productDetailProperties.optionalPartTimeout();
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            Subtask<T> subtask = scope.fork(part);
+            scope.joinUntil(Instant.now().plus(timeout));
+            scope.throwIfFailed();
+            return Optional.ofNullable(subtask.get());
+        } catch (TimeoutException e) {
+            log.warn("Leaving out {} after {} ms", name, timeout.toMillis());
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.warn("Leaving out {}: {}", name, e.getCause().getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private List<Product> findRelatedProducts(Product product) {
+        int limit = productDetailProperties.relatedProductsLimit();
+        return productService.findByCategoryId(product.getCategoryId(), PageRequest.of(0, limit + 1)).stream()
+                .filter(related -> !related.getId().equals(product.getId()))
+                .limit(limit)
+                .toList();
+    }
+}
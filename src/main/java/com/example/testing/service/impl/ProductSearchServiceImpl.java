@@ -0,0 +1,41 @@
+package com.example.testing.service.impl;
+
+import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.model.Product;
+import com.example.testing.search.ProductSearchIndex;
+import com.example.testing.search.SearchHit;
+import com.example.testing.service.design.ProductSearchService;
+import com.example.testing.service.design.ProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Ranks ids in the search index and loads the page of products through the
+ * cache-first multi-get, keeping the ranking order. Products deleted since the
+ * last rebuild are left out of the page. Pages that reach past the configured
+ * number of results are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductService productService;
+
+    @Override
+    public List<Product> search(String query, Pageable pageable) {
+        if (pageable.getOffset() + pageable.getPageSize() > productSearchIndex.maxResults()) {
+            throw new InvalidRequestException("Search results are only available up to the first " + productSearchIndex.maxResults());
+        }
+        List<String> ids = productSearchIndex.search(query, Math.toIntExact(pageable.getOffset()), pageable.getPageSize()).stream()
+                .map(SearchHit::id)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return productService.findAllById(ids).getItems();
+    }
+}
@@ -1,20 +1,40 @@
 package com.example.testing.service.impl;
 
+import com.example.testing.cache.LocalCache;
+import com.example.testing.cache.OffHeapCache;
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.index.CatalogIdIndex;
+import com.example.testing.index.CatalogIds;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.model.Product;
 import com.example.testing.model.ProductRequest;
+import com.example.testing.monitoring.HotKeyTracker;
 import com.example.testing.repository.ProductRepository;
 import com.example.testing.service.design.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    private static final String COALESCING_NAMESPACE = "product";
+
     private final ProductRepository productRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final LocalCache<String, Product> productCache;
+    private final OffHeapCache<Product> productOffHeapCache;
+    private final CatalogIdIndex catalogIdIndex;
+    private final HotKeyTracker hotKeyTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<Product> findAll() {
@@ -23,19 +43,98 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public Product findById(String productId) {
-        return productRepository.findById(productId).orElse(null);
+        hotKeyTracker.record(HotKeyTracker.PRODUCT_READS, productId);
+        Product cachedProduct = productCache.get(productId);
+        if (cachedProduct != null) {
+            return cachedProduct;
+        }
+        Product offHeapProduct = productOffHeapCache.get(productId);
+        if (offHeapProduct != null) {
+            productCache.put(productId, offHeapProduct);
+            return offHeapProduct;
+        }
+        CatalogIdIndex.Presence presence = catalogIdIndex.productPresence(productId);
+        if (presence == CatalogIdIndex.Presence.ABSENT) {
+            return null;
+        }
+        return requestCoalescer.execute(COALESCING_NAMESPACE, productId, () -> {
+            Product product = productRepository.findById(productId)
+                    .or(() -> presence == CatalogIdIndex.Presence.LIKELY ? productRepository.findPrimaryById(productId) : Optional.empty())
+                    .orElse(null);
+            cache(productId, product);
+            return product;
+        });
+    }
+
+    @Override
+    public MultiGetResponse<Product> findAllById(List<String> productIds) {
+        productIds.stream().distinct().forEach(id -> hotKeyTracker.record(HotKeyTracker.PRODUCT_READS, id));
+        Map<String, Product> found = productCache.getAll(productIds);
+        productIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .distinct()
+                .forEach(id -> {
+                    Product offHeapProduct = productOffHeapCache.get(id);
+                    if (offHeapProduct != null) {
+                        productCache.put(id, offHeapProduct);
+                        found.put(id, offHeapProduct);
+                    }
+                });
+        List<String> cacheMisses = productIds.stream()
+                .filter(id -> !found.containsKey(id))
+                .filter(catalogIdIndex::mightContainProduct)
+                .distinct()
+                .toList();
+        if (!cacheMisses.isEmpty()) {
+            productRepository.findAllById(cacheMisses).forEach(product -> found.put(product.getId(), product));
+            List<String> secondaryMisses = cacheMisses.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .filter(id -> catalogIdIndex.productPresence(id) == CatalogIdIndex.Presence.LIKELY)
+                    .toList();
+            if (!secondaryMisses.isEmpty()) {
+                productRepository.findPrimaryByIdIn(secondaryMisses).forEach(product -> found.put(product.getId(), product));
+            }
+            cacheMisses.stream()
+                    .filter(found::containsKey)
+                    .forEach(id -> cache(id, found.get(id)));
+        }
+        return MultiGetResponse.of(productIds, found);
+    }
+
+    @Override
+    public List<Product> findByCategoryId(String categoryId, Pageable pageable) {
+        return productRepository.findByCategoryId(categoryId, pageable);
+    }
+
+    @Override
+    public List<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return productRepository.findByPriceRange(minPrice, maxPrice, pageable);
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String namePrefix, Pageable pageable) {
+        return productRepository.findByNameStartingWith(namePrefix, pageable);
     }
 
     @Override
     public Product save(ProductRequest productRequest) {
         Product product = Product.builder()
-                .id(UUID.randomUUID().toString())
+                .id(CatalogIds.next())
                 .name(productRequest.getName())
                 .description(productRequest.getDescription())
                 .price(productRequest.getPrice())
                 .categoryId(productRequest.getCategoryId())
                 .stock(productRequest.getStock())
                 .build();
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        cache(savedProduct.getId(), savedProduct);
+        catalogIdIndex.addProduct(savedProduct.getId());
+        eventPublisher.publishEvent(new ProductSavedEvent(savedProduct));
+        return savedProduct;
+    }
+
+    private void cache(String productId, Product product) {
+        productCache.put(productId, product);
+        productOffHeapCache.put(productId, product);
     }
 }
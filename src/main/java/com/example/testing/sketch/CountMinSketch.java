@@ -0,0 +1,56 @@
+package com.example.testing.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count-min sketch. Estimates never undercount, and {@link #halve()}
+ * ages every counter so that old traffic gradually stops dominating.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("width and depth must be positive");
+        }
+        this.depth = depth;
+        this.width = Integer.bitCount(width) == 1 ? width : Integer.highestOneBit(width) << 1;
+        this.widthMask = this.width - 1;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    public long increment(String key) {
+        long h1 = Hashing.hash1(key);
+        long h2 = Hashing.hash2(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    public long estimate(String key) {
+        long h1 = Hashing.hash1(key);
+        long h2 = Hashing.hash2(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, count -> count >>> 1);
+        }
+    }
+
+    private int index(int row, long h1, long h2) {
+        long combined = h1 + row * h2;
+        return row * width + ((int) (combined ^ (combined >>> 32)) & widthMask);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.testing.sketch;
+
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    static long hash1(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    static long hash2(String key) {
+        long hash = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = Long.rotateLeft(hash ^ key.charAt(i), 31) * 0xC2B2AE3D27D4EB4FL;
+        }
+        return mix(hash) | 1L;
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.testing.sketch;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter that adds a larger, tighter stage whenever the current
+ * stage reaches its capacity, so the false positive rate stays bounded no matter
+ * how many keys are added. It never reports a false negative.
+ */
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final double falsePositiveProbability;
+    private volatile Stage[] stages;
+
+    public ScalableBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1");
+        }
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.stages = new Stage[]{new Stage(expectedInsertions, falsePositiveProbability * (1 - TIGHTENING_RATIO))};
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = Hashing.hash1(key);
+        long h2 = Hashing.hash2(key);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key) {
+        long h1 = Hashing.hash1(key);
+        long h2 = Hashing.hash2(key);
+        Stage[] current = stages;
+        for (Stage stage : current) {
+            if (stage.mightContain(h1, h2)) {
+                return;
+            }
+        }
+        Stage last = current[current.length - 1];
+        last.put(h1, h2);
+        if (last.count.incrementAndGet() >= last.capacity) {
+            grow(current);
+        }
+    }
+
+    public long approximateCount() {
+        long count = 0;
+        for (Stage stage : stages) {
+            count += stage.count.get();
+        }
+        return count;
+    }
+
+    public long bitSize() {
+        long bits = 0;
+        for (Stage stage : stages) {
+            bits += stage.bitCount;
+        }
+        return bits;
+    }
+
+    private synchronized void grow(Stage[] observed) {
+        if (stages != observed) {
+            return;
+        }
+        Stage last = observed[observed.length - 1];
+        double stageProbability = falsePositiveProbability * (1 - TIGHTENING_RATIO) * Math.pow(TIGHTENING_RATIO, observed.length);
+        Stage[] grown = new Stage[observed.length + 1];
+        System.arraycopy(observed, 0, grown, 0, observed.length);
+        grown[observed.length] = new Stage(last.capacity * GROWTH_FACTOR, stageProbability);
+        stages = grown;
+    }
+
+    private static final class Stage {
+
+        private final long capacity;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicLong count = new AtomicLong();
+
+        Stage(long capacity, double falsePositiveProbability) {
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+            this.capacity = capacity;
+            this.bitCount = (long) words << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.bits = new AtomicLongArray(words);
+        }
+
+        boolean mightContain(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = (combined & Long.MAX_VALUE) % bitCount;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += h2;
+            }
+            return true;
+        }
+
+        void put(long h1, long h2) {
+            long combined = h1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = (combined & Long.MAX_VALUE) % bitCount;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long current = bits.get(word);
+                while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                    current = bits.get(word);
+                }
+                combined += h2;
+            }
+        }
+    }
+}
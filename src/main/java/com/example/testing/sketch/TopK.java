@@ -0,0 +1,61 @@
+package com.example.testing.sketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the keys with the highest frequency estimates seen so far. Offers for
+ * keys that are already tracked, or too cold to enter, never take the lock.
+ */
+public class TopK {
+
+    private final int capacity;
+    private final Map<String, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long admissionThreshold;
+
+    public TopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(String key, long estimate) {
+        if (candidates.computeIfPresent(key, (k, current) -> Math.max(current, estimate)) != null) {
+            return;
+        }
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+        synchronized (this) {
+            candidates.merge(key, estimate, Math::max);
+            if (candidates.size() > capacity) {
+                candidates.remove(minimumEntry().getKey());
+            }
+            admissionThreshold = candidates.size() >= capacity ? minimumEntry().getValue() : 0;
+        }
+    }
+
+    public synchronized void halve() {
+        candidates.replaceAll((key, count) -> count >>> 1);
+        candidates.values().removeIf(count -> count == 0);
+        admissionThreshold = candidates.size() >= capacity ? minimumEntry().getValue() : 0;
+    }
+
+    public List<Map.Entry<String, Long>> snapshot() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        candidates.forEach((key, count) -> entries.add(Map.entry(key, count)));
+        entries.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries;
+    }
+
+    private Map.Entry<String, Long> minimumEntry() {
+        Map.Entry<String, Long> minimum = null;
+        for (Map.Entry<String, Long> entry : candidates.entrySet()) {
+            if (minimum == null || entry.getValue() < minimum.getValue()) {
+                minimum = entry;
+            }
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.testing.snapshot;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CatalogSnapshot(Instant takenAt, List<Product> products, List<Category> categories) {
+}
@@ -0,0 +1,129 @@
+package com.example.testing.snapshot;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary catalog snapshot: a fixed header (magic, version, timestamp, record
+ * counts), length-prefixed UTF-8 fields for every product and category, and a
+ * trailing CRC32 of everything before it. Files are written to a temporary
+ * name and moved into place, and read through a read-only memory mapping.
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x43415453;
+    private static final int VERSION = 1;
+    private static final int NULL_LENGTH = -1;
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(Path file, CatalogSnapshot snapshot) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            CRC32 checksum = new CRC32();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile), 1 << 16))) {
+                DataOutputStream body = new DataOutputStream(new CheckedOutputStream(out, checksum));
+                body.writeInt(MAGIC);
+                body.writeInt(VERSION);
+                body.writeLong(snapshot.takenAt().toEpochMilli());
+                body.writeInt(snapshot.products().size());
+                body.writeInt(snapshot.categories().size());
+                for (Product product : snapshot.products()) {
+                    writeString(body, product.getId());
+                    writeString(body, product.getName());
+                    writeString(body, product.getDescription());
+                    writeString(body, product.getPrice() == null ? null : product.getPrice().toString());
+                    body.writeInt(product.getStock());
+                    writeString(body, product.getCategoryId());
+                }
+                for (Category category : snapshot.categories()) {
+                    writeString(body, category.getId());
+                    writeString(body, category.getName());
+                    writeString(body, category.getDescription());
+                }
+                body.flush();
+                out.writeLong(checksum.getValue());
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    public static CatalogSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < Long.BYTES || !hasValidChecksum(buffer)) {
+                throw new IOException("Corrupt catalog snapshot " + file);
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported catalog snapshot format " + file);
+            }
+            Instant takenAt = Instant.ofEpochMilli(buffer.getLong());
+            int productCount = buffer.getInt();
+            int categoryCount = buffer.getInt();
+            List<Product> products = new ArrayList<>(productCount);
+            for (int i = 0; i < productCount; i++) {
+                String id = readString(buffer);
+                String name = readString(buffer);
+                String description = readString(buffer);
+                String price = readString(buffer);
+                int stock = buffer.getInt();
+                String categoryId = readString(buffer);
+                products.add(new Product(id, name, description, price == null ? null : new BigDecimal(price), stock, categoryId));
+            }
+            List<Category> categories = new ArrayList<>(categoryCount);
+            for (int i = 0; i < categoryCount; i++) {
+                categories.add(new Category(readString(buffer), readString(buffer), readString(buffer)));
+            }
+            return new CatalogSnapshot(takenAt, products, categories);
+        }
+    }
+
+    private static boolean hasValidChecksum(MappedByteBuffer buffer) {
+        int bodyLength = buffer.limit() - Long.BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.slice(0, bodyLength));
+        return checksum.getValue() == buffer.getLong(bodyLength);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.testing.snapshot;
+
+import com.example.testing.cache.LocalCache;
+import com.example.testing.config.CatalogSnapshotProperties;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.repository.CategoryRepository;
+import com.example.testing.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the product and category caches warm across restarts. Their contents
+ * are written to a binary snapshot periodically and once more on shutdown, so
+ * a rolling restart starts from what the old pod had cached; on startup the snapshot is
+ * loaded back before the application reports ready, and the loaded entries are
+ * then refreshed from the repositories in the background.
+ */
+@Log4j2
+@Component
+@EnableConfigurationProperties(CatalogSnapshotProperties.class)
+@Order(0)
+public class CatalogSnapshotService implements ApplicationRunner {
+
+    private final CatalogSnapshotProperties snapshotProperties;
+    private final LocalCache<String, Product> productCache;
+    private final LocalCache<String, Category> categoryCache;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final Counter updatedEntries;
+    private final Counter removedEntries;
+
+    public CatalogSnapshotService(CatalogSnapshotProperties snapshotProperties,
+                                  LocalCache<String, Product> productCache, LocalCache<String, Category> categoryCache,
+                                  ProductRepository productRepository, CategoryRepository categoryRepository,
+                                  MeterRegistry meterRegistry) {
+        this.snapshotProperties = snapshotProperties;
+        this.productCache = productCache;
+        this.categoryCache = categoryCache;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.updatedEntries = meterRegistry.counter("catalog.snapshot.reconciled", "result", "updated");
+        this.removedEntries = meterRegistry.counter("catalog.snapshot.reconciled", "result", "removed");
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!snapshotProperties.enabled() || !Files.exists(snapshotProperties.file())) {
+            return;
+        }
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = CatalogSnapshotFile.read(snapshotProperties.file());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", snapshotProperties.file(), e.getMessage());
+            return;
+        }
+        snapshot.products().forEach(product -> productCache.put(product.getId(), product));
+        snapshot.categories().forEach(category -> categoryCache.put(category.getId(), category));
+        log.info("Warmed caches with {} products and {} categories from snapshot taken at {}",
+                snapshot.products().size(), snapshot.categories().size(), snapshot.takenAt());
+        Thread.ofVirtual()
+                .name("catalog-snapshot-reconciliation")
+                .start(() -> reconcile(snapshot));
+    }
+
+    @PreDestroy
+    @Scheduled(initialDelayString = "${app.catalog-snapshot.write-interval:PT10M}",
+            fixedDelayString = "${app.catalog-snapshot.write-interval:PT10M}")
+    public synchronized void write() {
+        if (!snapshotProperties.enabled()) {
+            return;
+        }
+        try {
+            CatalogSnapshotFile.write(snapshotProperties.file(),
+                    new CatalogSnapshot(Instant.now(), productCache.values(), categoryCache.values()));
+        } catch (IOException e) {
+            log.warn("Unable to write catalog snapshot {}: {}", snapshotProperties.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads every entry loaded from the snapshot in batches, replacing the
+     * ones that changed since it was taken and evicting the ones that are gone.
+     */
+    void reconcile(CatalogSnapshot snapshot) {
+        try {
+            reconcile(snapshot.products(), Product::getId, productRepository::findAllById, productCache);
+            reconcile(snapshot.categories(), Category::getId, categoryRepository::findAllById, categoryCache);
+        } catch (RuntimeException e) {
+            log.warn("Catalog snapshot reconciliation stopped: {}", e.getMessage());
+        }
+    }
+
+    private <T> void reconcile(List<T> snapshotEntries, Function<T, String> idOf,
+                               Function<List<String>, List<T>> repositoryLookup, LocalCache<String, T> cache) {
+        int batchSize = snapshotProperties.reconcileBatchSize();
+        for (int from = 0; from < snapshotEntries.size(); from += batchSize) {
+            List<T> batch = snapshotEntries.subList(from, Math.min(from + batchSize, snapshotEntries.size()));
+            Map<String, T> current = repositoryLookup.apply(batch.stream().map(idOf).toList()).stream()
+                    .collect(Collectors.toMap(idOf, Function.identity()));
+            for (T entry : batch) {
+                String id = idOf.apply(entry);
+                T currentEntry = current.get(id);
+                if (currentEntry == null) {
+                    cache.invalidate(id);
+                    removedEntries.increment();
+                } else if (!Objects.equals(currentEntry, entry)) {
+                    cache.put(id, currentEntry);
+                    updatedEntries.increment();
+                }
+            }
+        }
+    }
+}
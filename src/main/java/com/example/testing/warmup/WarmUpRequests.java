@@ -0,0 +1,50 @@
+package com.example.testing.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Recognizes the synthetic requests of the {@link WarmUpRunner}, which must
+ * neither spend a rate limit budget nor be answered from the response cache.
+ * They carry a token generated per process in the {@value #TOKEN_HEADER}
+ * header and have to come from the loopback interface, so no client can pass
+ * itself off as the warm-up.
+ */
+@Component
+public class WarmUpRequests {
+
+    public static final String TOKEN_HEADER = "X-Warm-Up-Token";
+
+    private final byte[] token;
+
+    public WarmUpRequests() {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        this.token = Base64.getUrlEncoder().withoutPadding().encode(random);
+    }
+
+    public String token() {
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    public boolean isWarmUp(HttpServletRequest request) {
+        String presented = request.getHeader(TOKEN_HEADER);
+        return presented != null
+                && isLoopback(request.getRemoteAddr())
+                && MessageDigest.isEqual(presented.getBytes(StandardCharsets.US_ASCII), token);
+    }
+
+    private static boolean isLoopback(String address) {
+        try {
+            return address != null && InetAddress.ofLiteral(address).isLoopbackAddress();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
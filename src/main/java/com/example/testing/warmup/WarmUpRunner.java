@@ -0,0 +1,194 @@
+package com.example.testing.warmup;
+
+import com.example.testing.cache.LocalCache;
+import com.example.testing.config.MongoClientProperties;
+import com.example.testing.config.WarmUpProperties;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exercises the read path before the application reports ready: opens the
+ * Mongo connection pool, preloads the hot products into the cache and sends
+ * rounds of synthetic requests through the full MVC stack until their p99
+ * settles or the time budget runs out. Spring Boot only switches readiness to
+ * accepting traffic once all application runners have returned.
+ */
+@Log4j2
+@Component
+@Order(10)
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final WarmUpProperties warmUpProperties;
+    private final ApplicationContext applicationContext;
+    private final WarmUpRequests warmUpRequests;
+    private final ProductRepository productRepository;
+    private final LocalCache<String, Product> productCache;
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final ObjectProvider<MongoClientProperties> mongoClientProperties;
+    private final AtomicReference<WarmUpResult> result = new AtomicReference<>(WarmUpResult.NOT_RUN);
+
+    public WarmUpRunner(WarmUpProperties warmUpProperties, ApplicationContext applicationContext, WarmUpRequests warmUpRequests,
+                        ProductRepository productRepository, LocalCache<String, Product> productCache,
+                        ObjectProvider<MongoTemplate> mongoTemplate, ObjectProvider<MongoClientProperties> mongoClientProperties,
+                        MeterRegistry meterRegistry) {
+        this.warmUpProperties = warmUpProperties;
+        this.applicationContext = applicationContext;
+        this.warmUpRequests = warmUpRequests;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.mongoTemplate = mongoTemplate;
+        this.mongoClientProperties = mongoClientProperties;
+        Gauge.builder("app.warm-up.duration", result, r -> r.get().durationMillis() / 1000.0)
+                .description("Time spent in the startup warm-up phase")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("app.warm-up.time.to.steady.state", result,
+                        r -> r.get().timeToSteadyStateMillis() < 0 ? Double.NaN : r.get().timeToSteadyStateMillis() / 1000.0)
+                .description("Time from JVM start until the synthetic request p99 settled, NaN if it did not")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("app.warm-up.steady.state.p99", result, r -> r.get().p99Millis() / 1000.0)
+                .description("p99 latency of the last synthetic request round")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmUpProperties.enabled() || !(applicationContext instanceof WebServerApplicationContext webServerContext)
+                || webServerContext.getWebServer() == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + warmUpProperties.timeBudget().toNanos();
+        openConnectionPool();
+        List<String> productIds = preloadHotProducts();
+        RestClient restClient = RestClient.builder()
+                .baseUrl("http://localhost:" + webServerContext.getWebServer().getPort()
+                        + applicationContext.getEnvironment().getProperty("server.servlet.context-path", ""))
+                .defaultHeader(WarmUpRequests.TOKEN_HEADER, warmUpRequests.token())
+                .build();
+        double previousP99 = Double.NaN;
+        double p99 = Double.NaN;
+        long timeToSteadyState = -1;
+        for (int round = 0; round < warmUpProperties.maxRounds() && System.nanoTime() < deadline; round++) {
+            p99 = runRound(restClient, productIds, deadline);
+            if (Math.abs(p99 - previousP99) <= previousP99 * warmUpProperties.steadyStateTolerance()) {
+                timeToSteadyState = ManagementFactory.getRuntimeMXBean().getUptime();
+                break;
+            }
+            previousP99 = p99;
+        }
+        WarmUpResult warmUpResult = new WarmUpResult((System.nanoTime() - start) / 1_000_000, timeToSteadyState, p99);
+        result.set(warmUpResult);
+        log.info("Warm-up finished in {} ms, steady state {}, last round p99 {} ms", warmUpResult.durationMillis(),
+                timeToSteadyState < 0 ? "not reached" : "reached " + timeToSteadyState + " ms after JVM start",
+                String.format("%.2f", p99));
+    }
+
+    private void openConnectionPool() {
+        MongoTemplate template = mongoTemplate.getIfAvailable();
+        MongoClientProperties clientProperties = mongoClientProperties.getIfAvailable();
+        if (template == null) {
+            return;
+        }
+        int connections = clientProperties == null ? 1 : Math.max(1, clientProperties.poolMinSize());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                executor.submit(() -> template.executeCommand("{ ping: 1 }"));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to open Mongo connections during warm-up: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Uses the products already cached (from the catalog snapshot) when there
+     * are any, otherwise loads the first page of the catalog into the cache.
+     */
+    private List<String> preloadHotProducts() {
+        List<String> ids = productCache.values().stream()
+                .limit(warmUpProperties.topProducts())
+                .map(Product::getId)
+                .toList();
+        if (!ids.isEmpty()) {
+            return ids;
+        }
+        try {
+            List<Product> products = productRepository.findAll(PageRequest.of(0, warmUpProperties.topProducts())).getContent();
+            products.forEach(product -> productCache.put(product.getId(), product));
+            return products.stream().map(Product::getId).toList();
+        } catch (RuntimeException e) {
+            log.warn("Unable to preload products during warm-up: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    private double runRound(RestClient restClient, List<String> productIds, long deadline) {
+        List<Long> latencies = new ArrayList<>(warmUpProperties.requestsPerRound());
+        for (int i = 0; i < warmUpProperties.requestsPerRound() && System.nanoTime() < deadline; i++) {
+            long requestStart = System.nanoTime();
+            sendRequest(restClient, i, productIds);
+            latencies.add(System.nanoTime() - requestStart);
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1_000_000.0;
+    }
+
+    private void sendRequest(RestClient restClient, int i, List<String> productIds) {
+        try {
+            switch (i % 4) {
+                case 0 -> restClient.get().uri("/api/v1/categories").retrieve().toBodilessEntity();
+                case 1 -> restClient.get().uri("/api/v1/products/{id}", productId(productIds, i)).retrieve().toBodilessEntity();
+                case 2 -> restClient.get().uri("/api/v1/products?ids={ids}", String.join(",", productIds.subList(0, Math.min(10, productIds.size()))))
+                        .retrieve().toBodilessEntity();
+                // An empty product fails validation, which exercises the validator and error handling without writing.
+                default -> restClient.post().uri("/api/v1/products").contentType(MediaType.APPLICATION_JSON).body("{}")
+                        .retrieve().toBodilessEntity();
+            }
+        } catch (RestClientResponseException e) {
+            log.trace("Warm-up request answered with {}", e.getStatusCode());
+        } catch (RestClientException e) {
+            log.debug("Warm-up request failed: {}", e.getMessage());
+        }
+    }
+
+    private String productId(List<String> productIds, int i) {
+        return productIds.isEmpty() ? "warm-up" : productIds.get(i % productIds.size());
+    }
+
+    private record WarmUpResult(long durationMillis, long timeToSteadyStateMillis, double p99Millis) {
+
+        static final WarmUpResult NOT_RUN = new WarmUpResult(0, -1, Double.NaN);
+    }
+}
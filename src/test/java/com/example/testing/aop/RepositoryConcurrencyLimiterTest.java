@@ -0,0 +1,143 @@
+package com.example.testing.aop;
+
+import com.example.testing.config.RepositoryLimiterProperties;
+import com.example.testing.exception.ServiceOverloadedException;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryConcurrencyLimiterTest {
+
+    private static final int CALLERS = 12;
+
+    // Stands in for a Mongo instance that has become slow, e.g. during an index build.
+    @Mock
+    private ProductRepository slowProductRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductRepository limitedProductRepository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RepositoryLimiterProperties limiterProperties = new RepositoryLimiterProperties(true, 1, 2, 4, 1, 2, Duration.ofSeconds(2));
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(slowProductRepository);
+        proxyFactory.addInterface(ProductRepository.class);
+        proxyFactory.addAspect(new RepositoryConcurrencyLimiter(limiterProperties, meterRegistry));
+        limitedProductRepository = proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldRejectReadsBeyondLimitInsteadOfQueueingOnSlowDatabase() throws Exception {
+        // Given.
+        BDDMockito.given(slowProductRepository.findById(ArgumentMatchers.anyString())).willAnswer(invocation -> {
+            Thread.sleep(300);
+            return Optional.of(Product.builder().id(invocation.getArgument(0)).build());
+        });
+        CountDownLatch startSignal = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+
+        // When.
+        List<Future<Optional<Product>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < CALLERS; i++) {
+                String id = Integer.toString(i);
+                results.add(executorService.submit(() -> {
+                    startSignal.await();
+                    return limitedProductRepository.findById(id);
+                }));
+            }
+            startSignal.countDown();
+
+            // Then or assertions.
+            int served = 0;
+            int rejected = 0;
+            for (Future<Optional<Product>> result : results) {
+                try {
+                    Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isPresent();
+                    served++;
+                } catch (ExecutionException e) {
+                    Assertions.assertThat(e.getCause()).isInstanceOf(ServiceOverloadedException.class);
+                    Assertions.assertThat(((ServiceOverloadedException) e.getCause()).getRetryAfter()).hasSeconds(2);
+                    rejected++;
+                }
+            }
+            Assertions.assertThat(served).isBetween(1, 2);
+            Assertions.assertThat(rejected).isEqualTo(CALLERS - served);
+            Assertions.assertThat(meterRegistry.get("repository.concurrency.rejections").tag("operation", "read").functionCounter().count())
+                    .isEqualTo(rejected);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldUseSeparateBudgetForWrites() {
+        // Given.
+        Product product = Product.builder().id("123456").build();
+        BDDMockito.given(slowProductRepository.save(product)).willReturn(product);
+
+        // When.
+        Product savedProduct = limitedProductRepository.save(product);
+
+        // Then or assertions.
+        Assertions.assertThat(savedProduct).isSameAs(product);
+        Assertions.assertThat(meterRegistry.get("repository.concurrency.limit").tag("operation", "write").gauge().value()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("repository.concurrency.in.flight").tag("operation", "write").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldNotLimitStreamingReads() throws Exception {
+        // Given.
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        BDDMockito.given(slowProductRepository.findById("123456")).willAnswer(invocation -> {
+            readStarted.countDown();
+            releaseRead.await();
+            return Optional.empty();
+        });
+        BDDMockito.given(slowProductRepository.streamAllForSearch()).willReturn(Stream.of(Product.builder().id("123456").build()));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+        try {
+            // When. The only read permit is held by a slow lookup.
+            Future<Optional<Product>> lookup = executorService.submit(() -> limitedProductRepository.findById("123456"));
+            readStarted.await(5, TimeUnit.SECONDS);
+            List<Product> products;
+            try (Stream<Product> stream = limitedProductRepository.streamAllForSearch()) {
+                products = stream.toList();
+            }
+            releaseRead.countDown();
+
+            // Then or assertions.
+            Assertions.assertThat(products).hasSize(1);
+            Assertions.assertThat(lookup.get(5, TimeUnit.SECONDS)).isEmpty();
+            Assertions.assertThat(meterRegistry.get("repository.concurrency.rejections").tag("operation", "read").functionCounter().count())
+                    .isZero();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.config.HotKeyProperties;
+import com.example.testing.monitoring.HotKeyTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the hot-key tracking done in AppLogger: one endpoint
+ * hit plus one id hit, under contention from several request threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HotKeyTrackerBenchmark {
+
+    private static final int DISTINCT_IDS = 100_000;
+
+    private HotKeyTracker hotKeyTracker;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        hotKeyTracker = new HotKeyTracker(new HotKeyProperties(20, 8192, 4));
+        ids = new String[DISTINCT_IDS];
+        for (int i = 0; i < DISTINCT_IDS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RequestStream {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        int nextIndex() {
+            // Skewed towards low indexes so that a few ids are clearly hot.
+            double uniform = random.nextDouble();
+            return (int) (DISTINCT_IDS * uniform * uniform * uniform);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordRequest(RequestStream requestStream) {
+        hotKeyTracker.record(HotKeyTracker.ENDPOINTS, HotKeyTracker.PRODUCT_LOOKUP);
+        hotKeyTracker.record(HotKeyTracker.PRODUCT_LOOKUP, ids[requestStream.nextIndex()]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long estimate(RequestStream requestStream) {
+        return hotKeyTracker.estimate(HotKeyTracker.PRODUCT_LOOKUP, ids[requestStream.nextIndex()]);
+    }
+}
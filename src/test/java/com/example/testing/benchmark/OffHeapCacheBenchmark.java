@@ -0,0 +1,112 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.cache.LocalCache;
+import com.example.testing.cache.OffHeapCache;
+import com.example.testing.cache.ProductSerializer;
+import com.example.testing.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product lookups against a large working set kept either entirely in the
+ * on-heap {@link LocalCache}, or in a small on-heap first level backed by the
+ * {@link OffHeapCache}, the way ProductServiceImpl reads. One lookup in
+ * twenty replaces the product, so the heap variant keeps promoting and
+ * retiring long-lived objects. Run with {@code -prof gc} and compare
+ * {@code gc.count} and {@code gc.time}; the heap is fixed so that both
+ * variants collect under the same budget.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsPrepend = {"-Xms4g", "-Xmx4g", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class OffHeapCacheBenchmark {
+
+    private static final int FIRST_LEVEL_SIZE = 10_000;
+
+    @Param({"heap", "offHeap"})
+    private String tier;
+
+    @Param({"2000000"})
+    private int workingSet;
+
+    @Param({"256"})
+    private int descriptionLength;
+
+    private LocalCache<String, Product> productCache;
+    private OffHeapCache<Product> productOffHeapCache;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean offHeap = "offHeap".equals(tier);
+        productCache = new LocalCache<>("product", offHeap ? FIRST_LEVEL_SIZE : workingSet);
+        productOffHeapCache = new OffHeapCache<>("product-offheap",
+                offHeap ? (long) workingSet * (descriptionLength + 256) : 0, new ProductSerializer());
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new String[workingSet];
+        for (int i = 0; i < workingSet; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            put(product(ids[i], random));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        productOffHeapCache.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Product lookup(Requests requests) {
+        String id = ids[requests.random.nextInt(workingSet)];
+        if (requests.random.nextInt(20) == 0) {
+            Product product = product(id, requests.random);
+            put(product);
+            return product;
+        }
+        Product product = productCache.get(id);
+        if (product == null) {
+            product = productOffHeapCache.get(id);
+            if (product != null) {
+                productCache.put(id, product);
+            }
+        }
+        return product;
+    }
+
+    private void put(Product product) {
+        productCache.put(product.getId(), product);
+        productOffHeapCache.put(product.getId(), product);
+    }
+
+    private Product product(String id, SplittableRandom random) {
+        return new Product(id, "Product " + random.nextInt(), "d".repeat(descriptionLength),
+                BigDecimal.valueOf(random.nextInt(100, 100_000), 2), random.nextInt(1000), UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.testing.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the JMH JSON result of {@link ProductPersistenceBenchmark} into one
+ * entry per operation and parameter combination, with every strategy's score
+ * relative to the repository and the fastest strategy named:
+ * {@code java -cp <test classpath> com.example.testing.benchmark.PersistenceBenchmarkReport
+ * target/jmh-result.json target/persistence-report.json}.
+ */
+public final class PersistenceBenchmarkReport {
+
+    private static final String BENCHMARK_PREFIX = ProductPersistenceBenchmark.class.getName() + ".";
+    private static final String BASELINE_STRATEGY = "repository";
+
+    private PersistenceBenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(args.length > 0 ? args[0] : "target/jmh-result.json");
+        Path report = Path.of(args.length > 1 ? args[1] : "target/persistence-report.json");
+        ObjectMapper objectMapper = new ObjectMapper();
+        ArrayNode entries = summarize(objectMapper, objectMapper.readTree(result.toFile()));
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), entries);
+        for (JsonNode entry : entries) {
+            System.out.printf("%-22s %-32s fastest: %s%n", entry.get("operation").asText(),
+                    entry.get("params").toString(), entry.get("fastest").asText());
+        }
+        System.out.printf("Report written to %s%n", report.toAbsolutePath());
+    }
+
+    static ArrayNode summarize(ObjectMapper objectMapper, JsonNode results) {
+        Map<String, List<JsonNode>> groups = new TreeMap<>();
+        for (JsonNode result : results) {
+            String benchmark = result.get("benchmark").asText();
+            if (!benchmark.startsWith(BENCHMARK_PREFIX)) {
+                continue;
+            }
+            ObjectNode params = result.get("params").deepCopy();
+            params.remove("strategy");
+            groups.computeIfAbsent(benchmark.substring(BENCHMARK_PREFIX.length()) + " " + params, key -> new ArrayList<>())
+                    .add(result);
+        }
+        ArrayNode entries = objectMapper.createArrayNode();
+        for (List<JsonNode> group : groups.values()) {
+            JsonNode first = group.getFirst();
+            ObjectNode params = first.get("params").deepCopy();
+            params.remove("strategy");
+            double baseline = group.stream()
+                    .filter(result -> BASELINE_STRATEGY.equals(strategy(result)))
+                    .mapToDouble(PersistenceBenchmarkReport::score)
+                    .findFirst()
+                    .orElse(Double.NaN);
+            ObjectNode entry = entries.addObject();
+            entry.put("operation", first.get("benchmark").asText().substring(BENCHMARK_PREFIX.length()));
+            entry.set("params", params);
+            entry.put("unit", first.get("primaryMetric").get("scoreUnit").asText());
+            entry.put("fastest", strategy(group.stream().min(Comparator.comparingDouble(PersistenceBenchmarkReport::score)).orElseThrow()));
+            ArrayNode strategies = entry.putArray("strategies");
+            group.stream()
+                    .sorted(Comparator.comparingDouble(PersistenceBenchmarkReport::score))
+                    .forEach(result -> {
+                        ObjectNode row = strategies.addObject()
+                                .put("strategy", strategy(result))
+                                .put("score", score(result))
+                                .put("error", result.get("primaryMetric").get("scoreError").asDouble());
+                        if (!Double.isNaN(baseline)) {
+                            row.put("relativeToRepository", score(result) / baseline);
+                        }
+                    });
+        }
+        return entries;
+    }
+
+    private static String strategy(JsonNode result) {
+        return result.get("params").get("strategy").asText();
+    }
+
+    private static double score(JsonNode result) {
+        return result.get("primaryMetric").get("score").asDouble();
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.codec.CatalogCodecs;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductPriceShadow;
+import com.example.testing.repository.ProductRepository;
+import com.example.testing.repository.ProductRepositoryCustomImpl;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonReader;
+import org.bson.BsonWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mapping.callback.EntityCallbacks;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each way of reaching the product collection for the operations the
+ * API performs: the Spring Data repository with its codec-backed lookups,
+ * {@link MongoTemplate}, the driver with POJO codecs, the driver with the
+ * hand-written {@link CatalogCodecs} and the driver with
+ * {@link RawBsonDocument}s, which skips mapping altogether. All of them read
+ * and write the layout the application stores, prices as strings with their
+ * Decimal128 {@link ProductPriceShadow} copy included, except the POJO codecs,
+ * which cannot add a field the class does not have. The client is set up with
+ * the catalog codecs and the template with the price shadow callback, the way
+ * the application sets them up.
+ * <p>
+ * Runs against the Mongo at {@code BENCHMARK_MONGO_URI} when it is set and a
+ * Testcontainers instance otherwise. Turn the JSON result into a per-operation
+ * comparison with {@link PersistenceBenchmarkReport}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductPersistenceBenchmark {
+
+    static final String COLLECTION = "product";
+
+    private static final int PRODUCTS = 20_000;
+    private static final int CATEGORIES = 10;
+    private static final CodecRegistry POJO_CODEC_REGISTRY = CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new BigDecimalStringCodec()),
+            MongoClientSettings.getDefaultCodecRegistry(),
+            CodecRegistries.fromProviders(PojoCodecProvider.builder().automatic(true).build()));
+    private static final CodecRegistry CATALOG_CODEC_REGISTRY = CatalogCodecs.withCatalogCodecs(CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new BigDecimalStringCodec()),
+            MongoClientSettings.getDefaultCodecRegistry()));
+
+    @Param({"repository", "template", "pojo", "codec", "raw"})
+    private String strategy;
+
+    @Param({"64", "4096"})
+    private int descriptionLength;
+
+    private MongoDBContainer mongoDBContainer;
+    private MongoClient mongoClient;
+    private ProductAccess productAccess;
+    private String[] ids;
+    private String[] categoryIds;
+    private String description;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String uri = System.getenv("BENCHMARK_MONGO_URI");
+        if (uri == null || uri.isBlank()) {
+            mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:4.4.29-focal"));
+            mongoDBContainer.start();
+            uri = mongoDBContainer.getReplicaSetUrl();
+        }
+        mongoClient = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .codecRegistry(CatalogCodecs.withCatalogCodecs(MongoClientSettings.getDefaultCodecRegistry()))
+                .build());
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "benchmark");
+        mongoTemplate.setEntityCallbacks(EntityCallbacks.create(new ProductPriceShadow(null)));
+        MongoCollection<Document> collection = mongoTemplate.getCollection(COLLECTION);
+        collection.drop();
+        collection.createIndex(Indexes.ascending("categoryId"));
+
+        description = "d".repeat(descriptionLength);
+        categoryIds = new String[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds[i] = UUID.randomUUID().toString();
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new String[PRODUCTS];
+        List<RawBsonDocument> documents = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            documents.add(toRawBson(product(ids[i], random)));
+        }
+        collection.withDocumentClass(RawBsonDocument.class).insertMany(documents);
+
+        productAccess = switch (strategy) {
+            case "repository" -> new RepositoryAccess(new MongoRepositoryFactory(mongoTemplate).getRepository(ProductRepository.class,
+                    RepositoryFragments.just(new ProductRepositoryCustomImpl(mongoTemplate))));
+            case "template" -> new TemplateAccess(mongoTemplate);
+            case "pojo" -> new CodecAccess(collection.withCodecRegistry(POJO_CODEC_REGISTRY).withDocumentClass(Product.class));
+            case "codec" -> new CodecAccess(collection.withCodecRegistry(CATALOG_CODEC_REGISTRY).withDocumentClass(Product.class));
+            case "raw" -> new RawAccess(collection.withDocumentClass(RawBsonDocument.class));
+            default -> throw new IllegalArgumentException("Unknown strategy " + strategy);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongoDBContainer != null) {
+            mongoDBContainer.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lookups {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * Page and bulk insert sizes, kept apart so that the single-document
+     * benchmarks do not repeat for every size.
+     */
+    @State(Scope.Thread)
+    public static class Batch {
+
+        @Param({"10", "100", "1000"})
+        private int batchSize;
+    }
+
+    @Benchmark
+    public Object findById(Lookups lookups) {
+        return productAccess.findById(ids[lookups.random.nextInt(PRODUCTS)]);
+    }
+
+    @Benchmark
+    public List<?> findPageByCategoryId(Lookups lookups, Batch batch) {
+        return productAccess.findByCategoryId(categoryIds[lookups.random.nextInt(CATEGORIES)], batch.batchSize);
+    }
+
+    @Benchmark
+    public void insert(Lookups lookups) {
+        productAccess.insert(product(UUID.randomUUID().toString(), lookups.random));
+    }
+
+    @Benchmark
+    public void bulkInsert(Lookups lookups, Batch batch) {
+        List<Product> products = new ArrayList<>(batch.batchSize);
+        for (int i = 0; i < batch.batchSize; i++) {
+            products.add(product(UUID.randomUUID().toString(), lookups.random));
+        }
+        productAccess.insertAll(products);
+    }
+
+    @Benchmark
+    public void update(Lookups lookups) {
+        productAccess.update(product(ids[lookups.random.nextInt(PRODUCTS)], lookups.random));
+    }
+
+    private Product product(String id, SplittableRandom random) {
+        return Product.builder()
+                .id(id)
+                .name("Product " + random.nextInt(1_000_000))
+                .description(description)
+                .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                .stock(random.nextInt(1000))
+                .categoryId(categoryIds[random.nextInt(CATEGORIES)])
+                .build();
+    }
+
+    /**
+     * Writes a product straight to BSON bytes in the layout Spring Data uses,
+     * without going through a {@link Document}.
+     */
+    static RawBsonDocument toRawBson(Product product) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer(256 + product.getDescription().length());
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer)) {
+            writer.writeStartDocument();
+            writer.writeString("_id", product.getId());
+            writer.writeString("name", product.getName());
+            writer.writeString("description", product.getDescription());
+            writer.writeString("price", product.getPrice().toPlainString());
+            writer.writeInt32("stock", product.getStock());
+            writer.writeString("categoryId", product.getCategoryId());
+            writer.writeString("_class", Product.class.getName());
+            writer.writeDecimal128(ProductPriceShadow.FIELD, ProductPriceShadow.value(product.getPrice()));
+            writer.writeEndDocument();
+        }
+        return new RawBsonDocument(buffer.toByteArray());
+    }
+
+    /**
+     * Keeps prices as strings, the way Spring Data stores them, instead of the
+     * driver's default of Decimal128.
+     */
+    private static final class BigDecimalStringCodec implements Codec<BigDecimal> {
+
+        @Override
+        public BigDecimal decode(BsonReader reader, DecoderContext decoderContext) {
+            return new BigDecimal(reader.readString());
+        }
+
+        @Override
+        public void encode(BsonWriter writer, BigDecimal value, EncoderContext encoderContext) {
+            writer.writeString(value.toPlainString());
+        }
+
+        @Override
+        public Class<BigDecimal> getEncoderClass() {
+            return BigDecimal.class;
+        }
+    }
+
+    private interface ProductAccess {
+
+        Object findById(String id);
+
+        List<?> findByCategoryId(String categoryId, int limit);
+
+        void insert(Product product);
+
+        void insertAll(List<Product> products);
+
+        void update(Product product);
+    }
+
+    private record RepositoryAccess(ProductRepository productRepository) implements ProductAccess {
+
+        @Override
+        public Object findById(String id) {
+            return productRepository.findById(id).orElse(null);
+        }
+
+        @Override
+        public List<?> findByCategoryId(String categoryId, int limit) {
+            return productRepository.findByCategoryId(categoryId, PageRequest.of(0, limit));
+        }
+
+        @Override
+        public void insert(Product product) {
+            productRepository.insert(product);
+        }
+
+        @Override
+        public void insertAll(List<Product> products) {
+            productRepository.insert(products);
+        }
+
+        /**
+         * The repository can only replace the whole document.
+         */
+        @Override
+        public void update(Product product) {
+            productRepository.save(product);
+        }
+    }
+
+    private record TemplateAccess(MongoTemplate mongoTemplate) implements ProductAccess {
+
+        @Override
+        public Object findById(String id) {
+            return mongoTemplate.findById(id, Product.class, COLLECTION);
+        }
+
+        @Override
+        public List<?> findByCategoryId(String categoryId, int limit) {
+            return mongoTemplate.find(Query.query(Criteria.where("categoryId").is(categoryId)).limit(limit), Product.class, COLLECTION);
+        }
+
+        @Override
+        public void insert(Product product) {
+            mongoTemplate.insert(product, COLLECTION);
+        }
+
+        @Override
+        public void insertAll(List<Product> products) {
+            mongoTemplate.insert(products, COLLECTION);
+        }
+
+        @Override
+        public void update(Product product) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(product.getId())),
+                    Update.update("stock", product.getStock()).set("price", product.getPrice())
+                            .set(ProductPriceShadow.FIELD, ProductPriceShadow.value(product.getPrice())), COLLECTION);
+        }
+    }
+
+    /**
+     * The driver decoding straight to {@link Product}s, with whichever codecs
+     * the collection was given.
+     */
+    private record CodecAccess(MongoCollection<Product> collection) implements ProductAccess {
+
+        @Override
+        public Object findById(String id) {
+            return collection.find(Filters.eq("_id", id)).first();
+        }
+
+        @Override
+        public List<?> findByCategoryId(String categoryId, int limit) {
+            return collection.find(Filters.eq("categoryId", categoryId)).limit(limit).into(new ArrayList<>(limit));
+        }
+
+        @Override
+        public void insert(Product product) {
+            collection.insertOne(product);
+        }
+
+        @Override
+        public void insertAll(List<Product> products) {
+            collection.insertMany(products);
+        }
+
+        @Override
+        public void update(Product product) {
+            collection.updateOne(Filters.eq("_id", product.getId()),
+                    Updates.combine(Updates.set("stock", product.getStock()), Updates.set("price", product.getPrice()),
+                            Updates.set(ProductPriceShadow.FIELD, ProductPriceShadow.value(product.getPrice()))));
+        }
+    }
+
+    private record RawAccess(MongoCollection<RawBsonDocument> collection) implements ProductAccess {
+
+        @Override
+        public Object findById(String id) {
+            return collection.find(Filters.eq("_id", id)).first();
+        }
+
+        @Override
+        public List<?> findByCategoryId(String categoryId, int limit) {
+            return collection.find(Filters.eq("categoryId", categoryId)).limit(limit).into(new ArrayList<>(limit));
+        }
+
+        @Override
+        public void insert(Product product) {
+            collection.insertOne(toRawBson(product));
+        }
+
+        @Override
+        public void insertAll(List<Product> products) {
+            List<RawBsonDocument> documents = new ArrayList<>(products.size());
+            for (Product product : products) {
+                documents.add(toRawBson(product));
+            }
+            collection.insertMany(documents);
+        }
+
+        @Override
+        public void update(Product product) {
+            collection.updateOne(Filters.eq("_id", product.getId()),
+                    Updates.combine(Updates.set("stock", product.getStock()), Updates.set("price", product.getPrice().toPlainString()),
+                            Updates.set(ProductPriceShadow.FIELD, ProductPriceShadow.value(product.getPrice()))));
+        }
+    }
+}
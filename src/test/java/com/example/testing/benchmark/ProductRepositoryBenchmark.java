@@ -0,0 +1,142 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.codec.CatalogCodecs;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductRepository;
+import com.example.testing.repository.ProductRepositoryCustomImpl;
+import com.example.testing.repository.inmemory.InMemoryProductRepository;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the in-memory repository against the Mongo-backed one for the
+ * lookups the API serves: by id, a page of a category and a name prefix. The
+ * Mongo repository is put together the way the application does it, with the
+ * catalog codecs on the client and the codec-backed custom fragment.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductRepositoryBenchmark {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int CATEGORIES = 100;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"inmemory", "mongo"})
+    private String engine;
+
+    private MongoDBContainer mongoDBContainer;
+    private MongoClient mongoClient;
+    private ProductRepository productRepository;
+    private String[] ids;
+    private String[] categoryIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("mongo".equals(engine)) {
+            mongoDBContainer = new MongoDBContainer(DockerImageName.parse("mongo:4.4.29-focal"));
+            mongoDBContainer.start();
+            mongoClient = MongoClients.create(MongoClientSettings.builder()
+                    .applyConnectionString(new ConnectionString(mongoDBContainer.getReplicaSetUrl()))
+                    .codecRegistry(CatalogCodecs.withCatalogCodecs(MongoClientSettings.getDefaultCodecRegistry()))
+                    .build());
+            MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "benchmark");
+            productRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(ProductRepository.class,
+                    RepositoryFragments.just(new ProductRepositoryCustomImpl(mongoTemplate)));
+        } else {
+            productRepository = new InMemoryProductRepository();
+        }
+        categoryIds = new String[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds[i] = UUID.randomUUID().toString();
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        ids = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids[i] = UUID.randomUUID().toString();
+            products.add(Product.builder()
+                    .id(ids[i])
+                    .name("Product " + i)
+                    .description("Benchmark product " + i)
+                    .price(BigDecimal.valueOf(random.nextInt(100, 100_000), 2))
+                    .stock(random.nextInt(1000))
+                    .categoryId(categoryIds[random.nextInt(CATEGORIES)])
+                    .build());
+        }
+        productRepository.saveAll(products);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (mongoClient != null) {
+            mongoClient.close();
+        }
+        if (mongoDBContainer != null) {
+            mongoDBContainer.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lookups {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Product> findById(Lookups lookups) {
+        return productRepository.findById(ids[lookups.next(PRODUCTS)]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Product> findByCategoryId(Lookups lookups) {
+        return productRepository.findByCategoryId(categoryIds[lookups.next(CATEGORIES)], FIRST_PAGE);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public List<Product> findByNameStartingWith(Lookups lookups) {
+        return productRepository.findByNameStartingWith("Product " + lookups.next(100), FIRST_PAGE);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.search.InvertedIndex;
+import com.example.testing.search.SearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency distribution of the product search index. Names and
+ * descriptions draw words from a Zipf-distributed vocabulary, so common query
+ * terms walk long postings lists the way real catalog words do.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int NAME_WORDS = 3;
+    private static final int DESCRIPTION_WORDS = 15;
+
+    @Param({"1000000"})
+    private int products;
+
+    private InvertedIndex invertedIndex;
+    private double[] cumulativeFrequencies;
+
+    @Setup
+    public void setUp() {
+        cumulativeFrequencies = new double[VOCABULARY];
+        double sum = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulativeFrequencies[rank] = sum;
+        }
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            cumulativeFrequencies[rank] /= sum;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        invertedIndex = new InvertedIndex(1.2f, 0.75f);
+        for (int i = 0; i < products; i++) {
+            invertedIndex.index(Integer.toString(i), words(random, NAME_WORDS), words(random, DESCRIPTION_WORDS));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Queries {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<SearchHit> searchTwoTerms(Queries queries) {
+        return invertedIndex.search(words(queries.random, 2), 0, 20);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<SearchHit> searchThreeTermsSecondPage(Queries queries) {
+        return invertedIndex.search(words(queries.random, 3), 20, 20);
+    }
+
+    private String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = Arrays.binarySearch(cumulativeFrequencies, random.nextDouble());
+            text.append("w").append(Integer.toString(rank < 0 ? -rank - 1 : rank, 36)).append(' ');
+        }
+        return text.toString();
+    }
+}
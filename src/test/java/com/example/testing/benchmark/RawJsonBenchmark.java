@@ -0,0 +1,113 @@
+package com.example.testing.benchmark;
+
+import com.example.testing.config.ObjectMapperConfig;
+import com.example.testing.model.Product;
+import com.example.testing.raw.BsonJsonTranscoder;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning stored product documents into a JSON response: decoding them into
+ * {@link Product} with the mapping converter and serializing that with
+ * Jackson, against transcoding the BSON bytes directly. Both sides start from
+ * the {@link RawBsonDocument}s the driver hands over. Run with {@code -prof gc}
+ * to compare allocation per operation as well.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RawJsonBenchmark {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    @Param({"1", "100"})
+    private int documents;
+
+    @Param({"64", "4096"})
+    private int descriptionLength;
+
+    private RawBsonDocument[] page;
+    private ObjectMapper objectMapper;
+    private MappingMongoConverter mappingMongoConverter;
+    private DocumentCodec documentCodec;
+    private ByteArrayOutputStream output;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        mappingMongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        mappingMongoConverter.afterPropertiesSet();
+        documentCodec = new DocumentCodec();
+        output = new ByteArrayOutputStream(documents * (descriptionLength + 256));
+        SplittableRandom random = new SplittableRandom(42);
+        page = new RawBsonDocument[documents];
+        for (int i = 0; i < documents; i++) {
+            Document document = new Document("_id", UUID.randomUUID().toString())
+                    .append("name", "Product " + i)
+                    .append("description", "d".repeat(descriptionLength))
+                    .append("price", BigDecimal.valueOf(random.nextInt(100, 100_000), 2).toString())
+                    .append("stock", random.nextInt(1000))
+                    .append("categoryId", UUID.randomUUID().toString())
+                    .append("_class", Product.class.getName());
+            page[i] = new RawBsonDocument(document, documentCodec);
+        }
+    }
+
+    @Benchmark
+    public int mapped() throws IOException {
+        output.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (RawBsonDocument document : page) {
+                Document decoded = documentCodec.decode(document.asBsonReader(), DECODER_CONTEXT);
+                objectMapper.writeValue(generator, mappingMongoConverter.read(Product.class, decoded));
+            }
+            generator.writeEndArray();
+        }
+        return output.size();
+    }
+
+    @Benchmark
+    public int transcoded() throws IOException {
+        output.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (RawBsonDocument document : page) {
+                BsonJsonTranscoder.PRODUCT.write(document, generator);
+            }
+            generator.writeEndArray();
+        }
+        return output.size();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.testing.cache;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+class LocalCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryWhenSegmentIsFull() {
+        // Given. A maximum size of 16 leaves a single entry per segment.
+        LocalCache<Integer, String> cache = new LocalCache<>("test", 16);
+        cache.put(0, "zero");
+
+        // When. Keys 0 and 16 hash to the same segment.
+        cache.put(16, "sixteen");
+
+        // Then or assertions.
+        Assertions.assertThat(cache.get(0)).isNull();
+        Assertions.assertThat(cache.get(16)).isEqualTo("sixteen");
+        Assertions.assertThat(cache.hitCount()).isEqualTo(1);
+        Assertions.assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepVictimWhenAdmissionPolicyRejectsCandidate() {
+        // Given.
+        Map<Integer, Long> frequencies = Map.of(0, 10L, 16, 1L);
+        LocalCache<Integer, String> cache = new LocalCache<>("test", 16,
+                new FrequencyAdmissionPolicy<Integer>(key -> frequencies.getOrDefault(key, 0L)));
+        cache.put(0, "zero");
+
+        // When.
+        cache.put(16, "sixteen");
+
+        // Then or assertions.
+        Assertions.assertThat(cache.get(0)).isEqualTo("zero");
+        Assertions.assertThat(cache.get(16)).isNull();
+    }
+
+    @Test
+    void shouldReturnOnlyCachedEntriesFromGetAll() {
+        // Given.
+        LocalCache<String, String> cache = new LocalCache<>("test", 100);
+        cache.put("a", "first");
+        cache.put("c", "third");
+
+        // When.
+        Map<String, String> found = cache.getAll(List.of("a", "b", "c", "a"));
+
+        // Then or assertions.
+        Assertions.assertThat(found).containsOnlyKeys("a", "c");
+    }
+}
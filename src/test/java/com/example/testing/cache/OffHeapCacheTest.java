@@ -0,0 +1,135 @@
+package com.example.testing.cache;
+
+import com.example.testing.model.Product;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class OffHeapCacheTest {
+
+    private static final OffHeapCache.Serializer<String> STRINGS = new OffHeapCache.Serializer<>() {
+
+        @Override
+        public byte[] write(String value) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String read(String key, ByteBuffer value) {
+            return StandardCharsets.UTF_8.decode(value).toString();
+        }
+    };
+
+    @Test
+    void shouldReturnCopyOfStoredProduct() {
+        // Given.
+        try (OffHeapCache<Product> cache = new OffHeapCache<>("test", 1 << 20, new ProductSerializer())) {
+            Product product = new Product("p-1", "Espresso cup ☕", null, new BigDecimal("-12.50"), 7, "c-1");
+
+            // When.
+            cache.put(product.getId(), product);
+            Product cachedProduct = cache.get(product.getId());
+
+            // Then or assertions.
+            Assertions.assertThat(cachedProduct).isEqualTo(product).isNotSameAs(product);
+            Assertions.assertThat(cache.get("p-2")).isNull();
+            Assertions.assertThat(cache.hitCount()).isEqualTo(1);
+            Assertions.assertThat(cache.missCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldReplaceAndInvalidateEntries() {
+        // Given.
+        try (OffHeapCache<String> cache = new OffHeapCache<>("test", 1 << 20, STRINGS)) {
+            cache.put("a", "first");
+
+            // When.
+            cache.put("a", "second");
+            cache.put("b", "third");
+            cache.invalidate("b");
+
+            // Then or assertions.
+            Assertions.assertThat(cache.get("a")).isEqualTo("second");
+            Assertions.assertThat(cache.get("b")).isNull();
+            Assertions.assertThat(cache.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldStayWithinCapacityByEvictingOldestEntries() {
+        // Given. Each segment holds about five of these entries.
+        try (OffHeapCache<String> cache = new OffHeapCache<>("test", 16 * 1024, STRINGS)) {
+            String value = "v".repeat(180);
+
+            // When.
+            for (int i = 0; i < 2_000; i++) {
+                cache.put("key-" + i, value);
+            }
+
+            // Then or assertions.
+            Assertions.assertThat(cache.usedBytes()).isPositive().isLessThanOrEqualTo(cache.capacityBytes());
+            Assertions.assertThat(cache.evictionCount()).isEqualTo(2_000 - cache.size());
+            Assertions.assertThat(cache.get("key-0")).isNull();
+            Assertions.assertThat(cache.get("key-1999")).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void shouldGiveRecentlyReadEntriesSecondChance() {
+        // Given.
+        try (OffHeapCache<String> cache = new OffHeapCache<>("test", 16 * 1024, STRINGS)) {
+            String value = "v".repeat(180);
+            cache.put("hot", value);
+
+            // When.
+            for (int i = 0; i < 2_000; i++) {
+                cache.get("hot");
+                cache.put("key-" + i, value);
+            }
+
+            // Then or assertions.
+            Assertions.assertThat(cache.get("hot")).isEqualTo(value);
+            Assertions.assertThat(cache.get("key-0")).isNull();
+        }
+    }
+
+    @Test
+    void shouldKeepIndexConsistentUnderManySmallEntries() {
+        // Given.
+        try (OffHeapCache<String> cache = new OffHeapCache<>("test", 64 * 1024, STRINGS)) {
+
+            // When. Small entries fill the index before the memory.
+            for (int i = 0; i < 10_000; i++) {
+                cache.put("k" + i, Integer.toString(i));
+                if (i % 3 == 0) {
+                    cache.invalidate("k" + (i / 2));
+                }
+            }
+
+            // Then or assertions.
+            for (int i = 9_900; i < 10_000; i++) {
+                String cached = cache.get("k" + i);
+                Assertions.assertThat(cached).isIn(null, Integer.toString(i));
+            }
+            Assertions.assertThat(cache.get("k9999")).isEqualTo("9999");
+        }
+    }
+
+    @Test
+    void shouldCacheNothingWithZeroCapacity() {
+        // Given.
+        try (OffHeapCache<String> cache = new OffHeapCache<>("test", 0, STRINGS)) {
+
+            // When.
+            cache.put("a", "first");
+
+            // Then or assertions.
+            Assertions.assertThat(cache.get("a")).isNull();
+            Assertions.assertThat(cache.capacityBytes()).isZero();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.testing.codec;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.repository.ProductPriceShadow;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonObjectId;
+import org.bson.BsonDecimal128;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+class ProductCodecTest {
+
+    private final MappingMongoConverter mappingMongoConverter = mappingMongoConverter();
+    private final ProductPriceShadow productPriceShadow = new ProductPriceShadow(null);
+
+    @Test
+    void shouldWriteTheSameDocumentAsSpringData() {
+        // Given.
+        Product product = new Product(new ObjectId().toHexString(), "Cup", "Porcelain", new BigDecimal("12.50"), 7, "c-1");
+
+        // When.
+        BsonDocument encoded = encode(new ProductCodec(), product);
+
+        // Then or assertions.
+        BsonDocument written = springWrite(product);
+        Assertions.assertThat(encoded).isEqualTo(written);
+        Assertions.assertThat(List.copyOf(encoded.keySet())).isEqualTo(List.copyOf(written.keySet()));
+        Assertions.assertThat(encoded.get(ProductPriceShadow.FIELD)).isEqualTo(new BsonDecimal128(ProductPriceShadow.value(new BigDecimal("12.50"))));
+    }
+
+    @Test
+    void shouldWriteTheSameDocumentAsSpringDataWithoutPrice() {
+        // Given.
+        Product product = new Product(new ObjectId().toHexString(), "Cup", "Porcelain", null, 7, "c-1");
+
+        // When.
+        BsonDocument encoded = encode(new ProductCodec(), product);
+
+        // Then or assertions.
+        Assertions.assertThat(encoded).isEqualTo(springWrite(product));
+        Assertions.assertThat(encoded.containsKey(ProductPriceShadow.FIELD)).isFalse();
+    }
+
+    @Test
+    void shouldReadDocumentsWrittenBySpringData() {
+        // Given.
+        Product product = new Product("p-1", "Cup", "Porcelain", new BigDecimal("3.10"), 2, "c-1");
+
+        // When.
+        Product decoded = decode(new ProductCodec(), springWrite(product));
+
+        // Then or assertions.
+        Assertions.assertThat(decoded).isEqualTo(product);
+    }
+
+    @Test
+    void shouldBeReadableBySpringData() {
+        // Given.
+        Product product = new Product(new ObjectId().toHexString(), "Cup", null, new BigDecimal("0.99"), 0, "c-1");
+
+        // When.
+        Document encoded = decode(new DocumentCodec(), encode(new ProductCodec(), product));
+
+        // Then or assertions.
+        Assertions.assertThat(mappingMongoConverter.read(Product.class, encoded)).isEqualTo(product);
+    }
+
+    @Test
+    void shouldStoreObjectIdShapedIdsAsObjectIds() {
+        // Given.
+        String objectId = new ObjectId().toHexString();
+
+        // When.
+        BsonDocument withObjectId = encode(new ProductCodec(), Product.builder().id(objectId).build());
+        BsonDocument withString = encode(new ProductCodec(), Product.builder().id("p-1").build());
+
+        // Then or assertions.
+        Assertions.assertThat(withObjectId.get("_id")).isEqualTo(new BsonObjectId(new ObjectId(objectId)));
+        Assertions.assertThat(withString.get("_id")).isEqualTo(new BsonString("p-1"));
+    }
+
+    @Test
+    void shouldLeaveOutNullProperties() {
+        // When.
+        BsonDocument encoded = encode(new ProductCodec(), Product.builder().name("Cup").build());
+
+        // Then or assertions.
+        Assertions.assertThat(encoded.keySet()).containsExactly("name", "stock", "_class");
+    }
+
+    @Test
+    void shouldGenerateAnObjectIdWhenAbsent() {
+        // Given.
+        ProductCodec codec = new ProductCodec();
+
+        // When.
+        Product product = codec.generateIdIfAbsentFromDocument(Product.builder().name("Cup").build());
+
+        // Then or assertions.
+        Assertions.assertThat(ObjectId.isValid(product.getId())).isTrue();
+        Assertions.assertThat(codec.getDocumentId(product)).isEqualTo(new BsonObjectId(new ObjectId(product.getId())));
+    }
+
+    @Test
+    void shouldRoundTripCategoriesLikeSpringData() {
+        // Given.
+        Category category = new Category(new ObjectId().toHexString(), "Bakery", "Bread and pastries");
+
+        // When.
+        BsonDocument encoded = encode(new CategoryCodec(), category);
+
+        // Then or assertions.
+        BsonDocument written = springWrite(category);
+        Assertions.assertThat(List.copyOf(encoded.keySet())).isEqualTo(List.copyOf(written.keySet()));
+        Assertions.assertThat(encoded).isEqualTo(written);
+        Assertions.assertThat(decode(new CategoryCodec(), written)).isEqualTo(category);
+    }
+
+    /**
+     * What the application stores: the converter's document, then the save
+     * callbacks that run on it.
+     */
+    private BsonDocument springWrite(Object entity) {
+        Document document = new Document();
+        mappingMongoConverter.write(entity, document);
+        if (entity instanceof Product product) {
+            productPriceShadow.onBeforeSave(product, document, "product");
+        }
+        return document.toBsonDocument();
+    }
+
+    private static <T> BsonDocument encode(Codec<T> codec, T value) {
+        BsonDocument document = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(document), value, EncoderContext.builder().build());
+        return document;
+    }
+
+    private static <T> T decode(Codec<T> codec, BsonDocument document) {
+        return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+    }
+
+    private static MappingMongoConverter mappingMongoConverter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.testing.concurrent;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldRejectOnceLimitIsReached() {
+        // Given.
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 2, 1, 10);
+
+        // When.
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+
+        // Then or assertions.
+        Assertions.assertThat(first).isTrue();
+        Assertions.assertThat(second).isTrue();
+        Assertions.assertThat(third).isFalse();
+        Assertions.assertThat(limiter.getRejections()).isEqualTo(1);
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldGrowLimitWhileLatencyIsStable() {
+        // Given.
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 10, 1, 100);
+
+        // When.
+        for (int i = 0; i < 200; i++) {
+            saturateAndComplete(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+
+        // Then or assertions.
+        Assertions.assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRises() {
+        // Given.
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("read", 50, 1, 100);
+        for (int i = 0; i < 100; i++) {
+            saturateAndComplete(limiter, TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        int limitBeforeSlowdown = limiter.getLimit();
+
+        // When.
+        for (int i = 0; i < 20; i++) {
+            saturateAndComplete(limiter, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+
+        // Then or assertions.
+        Assertions.assertThat(limiter.getLimit()).isLessThan(limitBeforeSlowdown);
+    }
+
+    @Test
+    void shouldBackOffWhenCallsAreDropped() {
+        // Given.
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("write", 20, 1, 50);
+
+        // When.
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        // Then or assertions.
+        Assertions.assertThat(limiter.getLimit()).isLessThan(10);
+        Assertions.assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private void saturateAndComplete(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.testing.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentCallersOfSameKey() throws Exception {
+        // Given.
+        int callers = 16;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+
+        // When.
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            results.add(executorService.submit(() -> requestCoalescer.execute("product", "123456", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "value";
+            })));
+            Assertions.assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                results.add(executorService.submit(() -> requestCoalescer.execute("product", "123456", () -> {
+                    loads.incrementAndGet();
+                    return "other value";
+                })));
+            }
+            while (meterRegistry.counter("coalescer.calls.collapsed", "namespace", "product").count() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            // Then or assertions.
+            for (Future<String> result : results) {
+                Assertions.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertThat(loads).hasValue(1);
+        Assertions.assertThat(requestCoalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldPropagateLoaderFailureToCaller() {
+        // When & assertions.
+        Assertions.assertThatThrownBy(() -> requestCoalescer.execute("category", "123456", () -> {
+                    throw new IllegalStateException("database unavailable");
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+        Assertions.assertThat(requestCoalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldLoadAgainOnceFlightHasLanded() {
+        // Given.
+        AtomicInteger loads = new AtomicInteger();
+
+        // When.
+        requestCoalescer.execute("product", "123456", loads::incrementAndGet);
+        requestCoalescer.execute("product", "123456", loads::incrementAndGet);
+
+        // Then or assertions.
+        Assertions.assertThat(loads).hasValue(2);
+        Assertions.assertThat(meterRegistry.counter("coalescer.calls.executed", "namespace", "product").count()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
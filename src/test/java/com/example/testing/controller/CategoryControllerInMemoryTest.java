@@ -0,0 +1,163 @@
+package com.example.testing.controller;
+
+import com.github.javafaker.Faker;
+import com.example.testing.asserts.ApiErrorAssert;
+import com.example.testing.asserts.CategoryAssert;
+import com.example.testing.model.ApiError;
+import com.example.testing.model.Category;
+import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
+import com.example.testing.repository.CategoryRepository;
+import com.example.testing.service.design.CategoryService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+class CategoryControllerInMemoryTest extends InMemorySpringContext {
+
+    private static Faker faker;
+    private final String API_URL = "/api/v1/categories";
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeAll
+    static void initializeFaker() {
+        faker = new Faker(Locale.ENGLISH);
+    }
+
+    @BeforeEach
+    void clearUp() {
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnAllCategories() throws Exception {
+        // Given.
+        List<Category> expectedCategories = saveRandomCategories();
+        // When or perform the mock.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL).contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        List<Category> actualCategories = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        Assertions.assertThat(actualCategories).containsExactlyInAnyOrderElementsOf(expectedCategories);
+    }
+
+    @Test
+    void shouldReturnCategoryWhenValidId() throws Exception {
+        // Given.
+        Category category = categoryService.save(new CategoryRequest("random name", "random category description"));
+        // When, perform & assert.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}", category.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(ResponseBodyMatchers.responseBody().containsObjectAsJson(category, Category.class));
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenInvalidId() throws Exception {
+        // When, perform & assert.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}", "123456")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        ApiError actualApiError = objectMapper.readValue(actualResponseAsString, ApiError.class);
+        ApiError expectedApiError = populateError();
+
+        ApiErrorAssert.assertThat(actualApiError)
+                .isNotNull()
+                .hasStatusCode(expectedApiError.getStatusCode())
+                .hasMessage(expectedApiError.getMessage())
+                .hasPath(expectedApiError.getPath());
+    }
+
+    @Test
+    void shouldReturnCategoriesAndMissingIdsWhenBatchRequested() throws Exception {
+        // Given.
+        List<Category> categories = saveRandomCategories();
+        MultiGetResponse<Category> expectedResponse = new MultiGetResponse<>(List.of(categories.get(0)), List.of("missing-id"));
+        // When or perform the mock.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL)
+                                .param("ids", categories.get(0).getId() + ",missing-id")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Assertions.assertThat(actualResponseAsString).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(expectedResponse)
+        );
+    }
+
+    @Test
+    void shouldSaveCategoryWhenValidData() throws Exception {
+        // Mock.
+        CategoryRequest categoryRequest = new CategoryRequest("name", "some random description");
+        // When, verify & assertions.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post(API_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(categoryRequest))
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Category actualCategory = objectMapper.readValue(actualResponseAsString, Category.class);
+        CategoryAssert.assertThat(actualCategory)
+                .hasId()
+                .hasName(categoryRequest.getName())
+                .hasDescription(categoryRequest.getDescription());
+        Assertions.assertThat(categoryRepository.findById(actualCategory.getId())).contains(actualCategory);
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenInvalidData() throws Exception {
+        // Mock.
+        CategoryRequest categoryRequest = new CategoryRequest("", "");
+        // When, verify & assertions.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post(API_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(categoryRequest))
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("name", "must not be blank"))
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("description", "must not be blank"))
+                .andReturn();
+    }
+
+    private List<Category> saveRandomCategories() {
+        return Stream.generate(() -> categoryService.save(new CategoryRequest(faker.commerce().department(), faker.funnyName().name())))
+                .limit(3)
+                .toList();
+    }
+
+    private ApiError populateError() {
+        return new ApiError("INVALID_REQUEST", "Category not found with this id: 123456", "uri=" + API_URL + "/123456");
+    }
+
+}
@@ -6,6 +6,7 @@ import com.example.testing.asserts.CategoryAssert;
 import com.example.testing.model.ApiError;
 import com.example.testing.model.Category;
 import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.service.design.CategoryService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,6 +15,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -24,6 +26,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
+// @MockBean cannot be used in an AOT-processed context, so these only run on the JVM.
+@DisabledInAotMode
 class CategoryControllerTest extends GlobalSpringContext {
 
     private static Faker faker;
@@ -92,6 +96,27 @@ class CategoryControllerTest extends GlobalSpringContext {
                 .hasPath(expectedApiError.getPath());
     }
 
+    @Test
+    void shouldReturnCategoriesAndMissingIdsWhenBatchRequested() throws Exception {
+        // Mock.
+        List<Category> categories = populateRandomCategories();
+        MultiGetResponse<Category> expectedResponse = new MultiGetResponse<>(categories, List.of("missing-id"));
+        // Given.
+        BDDMockito.given(categoryService.findAllById(ArgumentMatchers.anyList())).willReturn(expectedResponse);
+        // When or perform the mock.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL)
+                                .param("ids", categories.get(0).getId() + ",missing-id")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Assertions.assertThat(actualResponseAsString).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(expectedResponse)
+        );
+    }
+
     @Test
     void shouldSaveCategoryWhenValidData() throws Exception {
         // Mock.
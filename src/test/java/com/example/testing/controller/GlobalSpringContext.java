@@ -6,7 +6,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
-@SpringBootTest
+@SpringBootTest(properties = {"app.catalog-snapshot.enabled=false", "app.warm-up.enabled=false",
+        "app.response-cache.enabled=false"})
 @AutoConfigureMockMvc
 public abstract class GlobalSpringContext {
 
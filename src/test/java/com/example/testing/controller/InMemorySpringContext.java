@@ -0,0 +1,27 @@
+package com.example.testing.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Runs the controllers against the real services on the in-memory
+ * repositories. These tests need no Mongo and no mock beans, so unlike the
+ * {@link GlobalSpringContext} ones they also run against the AOT-processed
+ * context of the nativeTest profile.
+ */
+@SpringBootTest(properties = {"app.catalog-snapshot.enabled=false", "app.warm-up.enabled=false",
+        "app.response-cache.enabled=false", "app.in-memory.snapshot-file=target/controller-test-catalog.json"})
+@ActiveProfiles("inmemory")
+@AutoConfigureMockMvc
+public abstract class InMemorySpringContext {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+}
@@ -0,0 +1,235 @@
+package com.example.testing.controller;
+
+import com.example.testing.asserts.ApiErrorAssert;
+import com.example.testing.asserts.ProductAssert;
+import com.example.testing.model.ApiError;
+import com.example.testing.model.Category;
+import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
+import com.example.testing.model.Product;
+import com.example.testing.model.ProductDetail;
+import com.example.testing.model.ProductRequest;
+import com.example.testing.repository.ProductRepository;
+import com.example.testing.service.design.CategoryService;
+import com.example.testing.service.design.ProductService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.javafaker.Faker;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+class ProductControllerInMemoryTest extends InMemorySpringContext {
+
+    private static Faker faker;
+    private final String API_URL = "/api/v1/products";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeAll
+    static void initializeFaker() {
+        faker = new Faker(Locale.ENGLISH);
+    }
+
+    @BeforeEach
+    void clearUp() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReturnAllProducts() throws Exception {
+        // Given.
+        List<Product> expectedProducts = saveRandomProducts();
+        // When or assertions or perform mocks.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        List<Product> actualProducts = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        Assertions.assertThat(actualProducts).containsExactlyInAnyOrderElementsOf(expectedProducts);
+    }
+
+    @Test
+    void shouldReturnProductWhenValidId() throws Exception {
+        // Given.
+        Product product = saveRandomProduct(faker.commerce().department());
+        // Assertion.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}", product.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(ResponseBodyMatchers.responseBody().containsObjectAsJson(product, Product.class));
+    }
+
+    @Test
+    void shouldReturnRankedSearchResults() throws Exception {
+        // Given.
+        Product product = productService.save(new ProductRequest("Espresso cup", "Glazed porcelain espresso cup",
+                new BigDecimal("7.50"), faker.commerce().department(), 10));
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/search")
+                                .param("q", "espresso cup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        List<Product> actualProducts = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+        Assertions.assertThat(actualProducts).first().isEqualTo(product);
+    }
+
+    @Test
+    void shouldRejectSearchPageBeyondMaximumResults() throws Exception {
+        // Given.
+        productService.save(new ProductRequest("Espresso cup", "Glazed porcelain espresso cup",
+                new BigDecimal("7.50"), faker.commerce().department(), 10));
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/search")
+                                .param("q", "espresso")
+                                .param("page", "10000000")
+                                .param("size", "20")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+        ApiError actualApiError = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), ApiError.class);
+        ApiErrorAssert.assertThat(actualApiError)
+                .hasStatusCode("INVALID_REQUEST")
+                .hasMessage("Search results are only available up to the first 10000");
+    }
+
+    @Test
+    void shouldReturnProductDetailWithCategoryAndRelatedProducts() throws Exception {
+        // Given.
+        Category category = categoryService.save(new CategoryRequest(faker.commerce().department(), faker.funnyName().name()));
+        Product product = saveRandomProduct(category.getId());
+        Product relatedProduct = saveRandomProduct(category.getId());
+        // Assertion.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}/detail", product.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.product.id").value(product.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.category.id").value(category.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.relatedProducts[0].id").value(relatedProduct.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.degradedParts").isEmpty());
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenInvalidProductId() throws Exception {
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}", "123456")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        ApiError actualApiError = objectMapper.readValue(actualResponseAsString, ApiError.class);
+        ApiErrorAssert.assertThat(actualApiError)
+                .hasStatusCode("INVALID_REQUEST")
+                .hasMessage("Product not found with this id: 123456")
+                .hasPath("uri=" + API_URL + "/123456");
+    }
+
+    @Test
+    void shouldReturnProductsAndMissingIdsWhenBatchRequested() throws Exception {
+        // Given.
+        List<Product> products = saveRandomProducts();
+        MultiGetResponse<Product> expectedResponse = new MultiGetResponse<>(products, List.of("missing-id"));
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL)
+                                .param("ids", products.get(0).getId() + "," + products.get(1).getId() + "," + products.get(2).getId() + ",missing-id")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Assertions.assertThat(actualResponseAsString).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(expectedResponse)
+        );
+    }
+
+    @Test
+    void shouldSaveProductWhenValidData() throws Exception {
+        // Mock.
+        ProductRequest productRequest = populateProductRequest(faker.commerce().department());
+        // Assert.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post(API_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(productRequest))
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Product actualProduct = objectMapper.readValue(actualResponseAsString, Product.class);
+        ProductAssert.assertThat(actualProduct)
+                .hasId()
+                .hasName(productRequest.getName())
+                .hasDescription(productRequest.getDescription())
+                .hasPrice(productRequest.getPrice())
+                .hasCategoryId(productRequest.getCategoryId())
+                .hasStock(productRequest.getStock());
+        Assertions.assertThat(productRepository.findById(actualProduct.getId())).contains(actualProduct);
+    }
+
+    @Test
+    void shouldThrowAnExceptionWhenInvalidProductRequest() throws Exception {
+        // Mock.
+        ProductRequest productRequest = new ProductRequest("", "", null, "", 0);
+        // Assert.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post(API_URL)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(productRequest))
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("name", "must not be blank"))
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("description", "must not be blank"))
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("price", "must not be null"))
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("categoryId", "must not be blank"))
+                .andExpect(ResponseBodyMatchers.responseBody().containsError("stock", "must be greater than or equal to 1"));
+    }
+
+
+    private List<Product> saveRandomProducts() {
+        return Stream.generate(() -> saveRandomProduct(faker.commerce().department()))
+                .limit(3)
+                .toList();
+    }
+
+    private Product saveRandomProduct(String categoryId) {
+        return productService.save(populateProductRequest(categoryId));
+    }
+
+    private ProductRequest populateProductRequest(String categoryId) {
+        return new ProductRequest(faker.commerce().productName(), faker.funnyName().name(), new BigDecimal(faker.commerce().price()), categoryId, faker.number().numberBetween(1, 100));
+    }
+}
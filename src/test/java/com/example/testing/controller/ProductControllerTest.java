@@ -4,8 +4,12 @@ import com.github.javafaker.Faker;
 import com.example.testing.asserts.ApiErrorAssert;
 import com.example.testing.asserts.ProductAssert;
 import com.example.testing.model.ApiError;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.model.Product;
+import com.example.testing.model.ProductDetail;
 import com.example.testing.model.ProductRequest;
+import com.example.testing.service.design.ProductDetailService;
+import com.example.testing.service.design.ProductSearchService;
 import com.example.testing.service.design.ProductService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,6 +18,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -25,6 +30,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
+// @MockBean cannot be used in an AOT-processed context, so these only run on the JVM.
+@DisabledInAotMode
 class ProductControllerTest extends GlobalSpringContext {
 
     private static Faker faker;
@@ -33,6 +40,12 @@ class ProductControllerTest extends GlobalSpringContext {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductDetailService productDetailService;
+
+    @MockBean
+    private ProductSearchService productSearchService;
+
     @BeforeAll
     static void initializeFaker() {
         faker = new Faker(Locale.ENGLISH);
@@ -72,6 +85,46 @@ class ProductControllerTest extends GlobalSpringContext {
                 .andExpect(ResponseBodyMatchers.responseBody().containsObjectAsJson(product, Product.class));
     }
 
+    @Test
+    void shouldReturnRankedSearchResults() throws Exception {
+        // Mock.
+        List<Product> expectedProducts = populateRandomProducts();
+        // Given.
+        BDDMockito.given(productSearchService.search(ArgumentMatchers.eq("espresso cup"), ArgumentMatchers.any())).willReturn(expectedProducts);
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/search")
+                                .param("q", "espresso cup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        Assertions.assertThat(mvcResult.getResponse().getContentAsString()).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(expectedProducts)
+        );
+    }
+
+    @Test
+    void shouldReturnProductDetailWithDegradedParts() throws Exception {
+        // Mock.
+        Product product = populateRandomProduct();
+        ProductDetail productDetail = ProductDetail.builder()
+                .product(product)
+                .relatedProducts(List.of())
+                .degradedParts(List.of(ProductDetail.RELATED_PRODUCTS))
+                .build();
+        // Given.
+        BDDMockito.given(productDetailService.findById(product.getId())).willReturn(productDetail);
+        // Assertion.
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL + "/{id}/detail", product.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.product.id").value(product.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.degradedParts[0]").value(ProductDetail.RELATED_PRODUCTS));
+    }
+
     @Test
     void shouldThrowAnExceptionWhenInvalidProductId() throws Exception {
         // Given.
@@ -91,6 +144,28 @@ class ProductControllerTest extends GlobalSpringContext {
                 .hasPath("uri=" + API_URL + "/123456");
     }
 
+    @Test
+    void shouldReturnProductsAndMissingIdsWhenBatchRequested() throws Exception {
+        // Mock.
+        List<Product> products = populateRandomProducts();
+        MultiGetResponse<Product> expectedResponse = new MultiGetResponse<>(products, List.of("missing-id"));
+        // Given.
+        BDDMockito.given(productService.findAllById(ArgumentMatchers.anyList())).willReturn(expectedResponse);
+        // Assertion.
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get(API_URL)
+                                .param("ids", products.get(0).getId() + "," + products.get(1).getId() + "," + products.get(2).getId() + ",missing-id")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn();
+        String actualResponseAsString = mvcResult.getResponse().getContentAsString();
+        Assertions.assertThat(actualResponseAsString).isEqualToIgnoringWhitespace(
+                objectMapper.writeValueAsString(expectedResponse)
+        );
+        BDDMockito.then(productService).should().findAllById(List.of(products.get(0).getId(), products.get(1).getId(), products.get(2).getId(), "missing-id"));
+    }
+
     @Test
     void shouldSaveProductWhenValidData() throws Exception {
         // Mock.
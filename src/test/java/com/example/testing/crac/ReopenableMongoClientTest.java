@@ -0,0 +1,52 @@
+package com.example.testing.crac;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+class ReopenableMongoClientTest {
+
+    @Test
+    void shouldCloseClientOnStopAndOpenNewOneOnStart() {
+        // Given.
+        MongoClient first = client();
+        MongoClient second = client();
+        Deque<MongoClient> clients = new ArrayDeque<>(List.of(first, second));
+        ReopenableMongoClient reopenableMongoClient = new ReopenableMongoClient(clients::removeFirst);
+        MongoClient client = reopenableMongoClient.getClient();
+
+        // When.
+        MongoDatabase beforeStop = client.getDatabase("product-service");
+        reopenableMongoClient.stop();
+
+        // Then or assertions.
+        Mockito.verify(first).close();
+        Assertions.assertThat(reopenableMongoClient.isRunning()).isFalse();
+        Assertions.assertThatThrownBy(() -> client.getDatabase("product-service"))
+                .isInstanceOf(IllegalStateException.class);
+        client.close();
+        Mockito.verify(first).close();
+
+        // When.
+        reopenableMongoClient.start();
+
+        // Then or assertions.
+        Assertions.assertThat(reopenableMongoClient.isRunning()).isTrue();
+        Assertions.assertThat(beforeStop).isSameAs(first.getDatabase("product-service"));
+        Assertions.assertThat(client.getDatabase("product-service")).isSameAs(second.getDatabase("product-service"));
+        Assertions.assertThat(clients).isEmpty();
+    }
+
+    private MongoClient client() {
+        MongoClient client = Mockito.mock(MongoClient.class);
+        BDDMockito.given(client.getDatabase("product-service")).willReturn(Mockito.mock(MongoDatabase.class));
+        return client;
+    }
+}
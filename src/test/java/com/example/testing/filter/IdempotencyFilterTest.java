@@ -0,0 +1,314 @@
+package com.example.testing.filter;
+
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.config.IdempotencyProperties;
+import com.example.testing.idempotency.IdempotencyStore;
+import com.example.testing.idempotency.IdempotentResponse;
+import com.example.testing.idempotency.InMemoryIdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class IdempotencyFilterTest {
+
+    private static final String API_URL = "/api/v1/products";
+    private static final String PRODUCT_REQUEST = "{\"name\":\"Espresso\",\"price\":2.10}";
+    private static final IdempotencyProperties IDEMPOTENCY_PROPERTIES = new IdempotencyProperties(true,
+            IdempotencyProperties.Store.MEMORY, Duration.ofHours(24), 100, Duration.ofSeconds(5), Duration.ofMillis(10));
+
+    private final AtomicInteger creations = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldReplayRecordedResponseForRepeatedKey() throws Exception {
+        // Given.
+        IdempotencyFilter filter = filter(Clock.systemUTC());
+        MockHttpServletResponse first = perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // When.
+        MockHttpServletResponse retry = perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // Then or assertions.
+        Assertions.assertThat(creations).hasValue(1);
+        Assertions.assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        Assertions.assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString());
+        Assertions.assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        Assertions.assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+        // Given.
+        IdempotencyFilter filter = filter(Clock.systemUTC());
+        perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // When.
+        MockHttpServletResponse response = perform(filter, post("key-1", "{\"name\":\"Latte\"}"), create());
+
+        // Then or assertions.
+        Assertions.assertThat(creations).hasValue(1);
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+    }
+
+    @Test
+    void shouldCreateAgainOnceKeyHasExpired() throws Exception {
+        // Given.
+        SteppingClock clock = new SteppingClock();
+        IdempotencyFilter filter = filter(clock);
+        perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // When.
+        clock.advance(Duration.ofDays(2));
+        perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // Then or assertions.
+        Assertions.assertThat(creations).hasValue(2);
+    }
+
+    @Test
+    void shouldCollapseConcurrentDuplicatesIntoOneCreate() throws Exception {
+        // Given.
+        IdempotencyFilter filter = filter(Clock.systemUTC());
+        int callers = 8;
+        CountDownLatch createStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreate = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            createStarted.countDown();
+            try {
+                releaseCreate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            create().doFilter(request, response);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(callers);
+
+        // When.
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try {
+            responses.add(executorService.submit(() -> perform(filter, post("key-1", PRODUCT_REQUEST), slowCreate)));
+            Assertions.assertThat(createStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                responses.add(executorService.submit(() -> perform(filter, post("key-1", PRODUCT_REQUEST), slowCreate)));
+            }
+            while (meterRegistry.counter("coalescer.calls.collapsed", "namespace", "idempotency").count() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            releaseCreate.countDown();
+
+            // Then or assertions.
+            for (Future<MockHttpServletResponse> response : responses) {
+                Assertions.assertThat(response.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(HttpStatus.CREATED.value());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void shouldReplayResponseOfRequestInFlightOnAnotherInstance() throws Exception {
+        // Given. Two instances share the store but not the coalescer.
+        IdempotencyStore idempotencyStore = new InMemoryIdempotencyStore(100, IDEMPOTENCY_PROPERTIES.ttl(),
+                IDEMPOTENCY_PROPERTIES.pendingTimeout(), Clock.systemUTC());
+        IdempotencyFilter firstInstance = filter(idempotencyStore);
+        IdempotencyFilter secondInstance = filter(idempotencyStore);
+        CountDownLatch createStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreate = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            createStarted.countDown();
+            try {
+                releaseCreate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            create().doFilter(request, response);
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        // When.
+        try {
+            Future<MockHttpServletResponse> first = executorService.submit(() -> perform(firstInstance, post("key-1", PRODUCT_REQUEST), slowCreate));
+            Assertions.assertThat(createStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> duplicate = executorService.submit(() -> perform(secondInstance, post("key-1", PRODUCT_REQUEST), create()));
+            Thread.sleep(50);
+            releaseCreate.countDown();
+
+            // Then or assertions.
+            Assertions.assertThat(duplicate.get(5, TimeUnit.SECONDS).getContentAsString())
+                    .isEqualTo(first.get(5, TimeUnit.SECONDS).getContentAsString());
+            Assertions.assertThat(duplicate.get().getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void shouldRunAgainAfterServerError() throws Exception {
+        // Given.
+        IdempotencyFilter filter = filter(Clock.systemUTC());
+        FilterChain failingCreate = (request, response) -> ((HttpServletResponse) response).setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        perform(filter, post("key-1", PRODUCT_REQUEST), failingCreate);
+
+        // When.
+        MockHttpServletResponse retry = perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // Then or assertions.
+        Assertions.assertThat(retry.getStatus()).isEqualTo(HttpStatus.CREATED.value());
+        Assertions.assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    void shouldNotifyReadListenerOfBufferedBody() throws Exception {
+        // Given.
+        IdempotencyFilter filter = filter(Clock.systemUTC());
+        List<String> notifications = new ArrayList<>();
+        ReadListener readListener = new ReadListener() {
+            @Override
+            public void onDataAvailable() {
+                notifications.add("available");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                notifications.add("read");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                notifications.add("error");
+            }
+        };
+
+        // When.
+        perform(filter, post("key-1", PRODUCT_REQUEST), (request, response) -> {
+            request.getInputStream().setReadListener(readListener);
+            create().doFilter(request, response);
+        });
+
+        // Then or assertions.
+        Assertions.assertThat(notifications).containsExactly("available", "read");
+    }
+
+    @Test
+    void shouldAnswerConflictWhenKeyCannotBeClaimed() throws Exception {
+        // Given.
+        IdempotencyStore contendedStore = new IdempotencyStore() {
+            @Override
+            public Optional<IdempotentResponse> claim(IdempotentResponse pending) {
+                throw new ConcurrencyFailureException("Unable to claim idempotency key " + pending.key());
+            }
+
+            @Override
+            public IdempotentResponse save(IdempotentResponse response) {
+                return response;
+            }
+
+            @Override
+            public void release(String key) {
+            }
+        };
+        IdempotencyFilter filter = filter(contendedStore, Clock.systemUTC());
+
+        // When.
+        MockHttpServletResponse response = perform(filter, post("key-1", PRODUCT_REQUEST), create());
+
+        // Then or assertions.
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(creations).hasValue(0);
+    }
+
+    private FilterChain create() {
+        return (request, response) -> {
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            ((HttpServletResponse) response).setStatus(HttpStatus.CREATED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(("{\"id\":\"" + creations.incrementAndGet() + "\",\"request\":" + body + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private IdempotencyFilter filter(Clock clock) {
+        return filter(new InMemoryIdempotencyStore(100, IDEMPOTENCY_PROPERTIES.ttl(), IDEMPOTENCY_PROPERTIES.pendingTimeout(), clock), clock);
+    }
+
+    private IdempotencyFilter filter(IdempotencyStore idempotencyStore) {
+        return filter(idempotencyStore, Clock.systemUTC());
+    }
+
+    private IdempotencyFilter filter(IdempotencyStore idempotencyStore, Clock clock) {
+        return new IdempotencyFilter(idempotencyStore, IDEMPOTENCY_PROPERTIES, new RequestCoalescer(meterRegistry), new ObjectMapper(),
+                clock);
+    }
+
+    private MockHttpServletRequest post(String idempotencyKey, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/spring-boot-testing" + API_URL);
+        request.setContextPath("/spring-boot-testing");
+        request.setServletPath(API_URL);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse perform(IdempotencyFilter filter, MockHttpServletRequest request, FilterChain filterChain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    /**
+     * Shared by the filter and the store, so both see time move together.
+     */
+    private static final class SteppingClock extends Clock {
+
+        private volatile Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.testing.filter;
+
+import com.example.testing.config.InternalEndpointProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.actuate.autoconfigure.endpoint.web.WebEndpointProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+class InternalEndpointTokenFilterTest {
+
+    private static final String CONTEXT_PATH = "/spring-boot-testing";
+
+    @Test
+    void shouldRejectProtectedEndpointWithoutValidToken() throws Exception {
+        // Given.
+        InternalEndpointTokenFilter filter = filter("secret");
+
+        // When.
+        MockHttpServletResponse withoutToken = perform(filter, request("/actuator/flightrecorder", null));
+        MockHttpServletResponse wrongToken = perform(filter, request("/actuator/flightrecorder/1", "guess"));
+
+        // Then or assertions.
+        Assertions.assertThat(withoutToken.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        Assertions.assertThat(wrongToken.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/actuator/%73lowcommands",
+            "/actuator/slowcommands;x",
+            "/actuator/slowcommands;jsessionid=1/1",
+            "/actuator//slowcommands",
+            "/actuator/./slowcommands",
+            "/actuator/health/../slowcommands"})
+    void shouldRejectEncodedAndParameterizedVariantsOfProtectedEndpoint(String path) throws Exception {
+        // Given.
+        InternalEndpointTokenFilter filter = filter("secret");
+
+        // When.
+        MockHttpServletResponse response = perform(filter, request(path, null));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldPassProtectedEndpointWithValidTokenAndOtherPathsWithout() throws Exception {
+        // Given.
+        InternalEndpointTokenFilter filter = filter("secret");
+
+        // When.
+        MockHttpServletResponse withToken = perform(filter, request("/actuator/flightrecorder", "secret"));
+        MockHttpServletResponse health = perform(filter, request("/actuator/health", null));
+
+        // Then or assertions.
+        Assertions.assertThat(withToken.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(health.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldRefuseProtectedEndpointWhenNoTokenIsConfigured() throws Exception {
+        // Given.
+        InternalEndpointTokenFilter filter = filter(null);
+
+        // When.
+        MockHttpServletResponse response = perform(filter, request("/actuator/slowcommands", "secret"));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    private InternalEndpointTokenFilter filter(String token) {
+        return new InternalEndpointTokenFilter(
+                new InternalEndpointProperties(token, List.of("flightrecorder", "slowcommands")), new WebEndpointProperties());
+    }
+
+    private MockHttpServletRequest request(String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", CONTEXT_PATH + path);
+        request.setContextPath(CONTEXT_PATH);
+        if (token != null) {
+            request.addHeader(InternalEndpointTokenFilter.TOKEN_HEADER, token);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse perform(InternalEndpointTokenFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
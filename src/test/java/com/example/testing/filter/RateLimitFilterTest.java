@@ -0,0 +1,130 @@
+package com.example.testing.filter;
+
+import com.example.testing.config.RateLimitProperties;
+import com.example.testing.warmup.WarmUpRequests;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+class RateLimitFilterTest {
+
+    private static final String API_URL = "/api/v1/products";
+
+    private final WarmUpRequests warmUpRequests = new WarmUpRequests();
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties rateLimitProperties = new RateLimitProperties(true, 1000, 2, 0.001, 1, 0.001, 1, 0.001,
+                Set.of("client-a", "client-b"));
+        rateLimitFilter = new RateLimitFilter(rateLimitProperties, new ObjectMapper(), new SimpleMeterRegistry(), warmUpRequests);
+    }
+
+    @Test
+    void shouldRejectClientOnceReadBudgetIsSpent() throws Exception {
+        // When.
+        MockHttpServletResponse first = perform(get("client-a"));
+        MockHttpServletResponse second = perform(get("client-a"));
+        MockHttpServletResponse third = perform(get("client-a"));
+
+        // Then or assertions.
+        Assertions.assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(first.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        Assertions.assertThat(first.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+        Assertions.assertThat(second.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        Assertions.assertThat(third.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(third.getHeader(HttpHeaders.RETRY_AFTER)).isNotBlank();
+        Assertions.assertThat(third.getContentAsString()).contains("TOO_MANY_REQUESTS");
+    }
+
+    @Test
+    void shouldKeepSeparateBudgetsPerClientAndOperation() throws Exception {
+        // Given.
+        perform(get("client-a"));
+        perform(get("client-a"));
+
+        // When.
+        MockHttpServletResponse otherClient = perform(get("client-b"));
+        MockHttpServletResponse bulk = perform(withIds(get("client-a")));
+        MockHttpServletResponse write = perform(post("client-a"));
+
+        // Then or assertions.
+        Assertions.assertThat(otherClient.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(bulk.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(write.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(perform(post("client-a")).getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    void shouldLimitUnknownKeysByRemoteAddress() throws Exception {
+        // Given.
+        perform(get("rotated-1"));
+        perform(get("rotated-2"));
+
+        // When.
+        MockHttpServletResponse rotated = perform(get("rotated-3"));
+        MockHttpServletResponse knownClient = perform(get("client-a"));
+
+        // Then or assertions.
+        Assertions.assertThat(rotated.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(knownClient.getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void shouldNotLimitWarmUpRequestsFromLoopbackOnly() throws Exception {
+        // Given.
+        perform(get("client-a"));
+        perform(get("client-a"));
+
+        // When.
+        MockHttpServletResponse warmUp = perform(warmUp(get("client-a"), "127.0.0.1"));
+        MockHttpServletResponse remote = perform(warmUp(get("client-a"), "203.0.113.7"));
+        MockHttpServletRequest forged = get("client-a");
+        forged.addHeader(WarmUpRequests.TOKEN_HEADER, "guessed");
+        MockHttpServletResponse guessed = perform(forged);
+
+        // Then or assertions.
+        Assertions.assertThat(warmUp.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(warmUp.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+        Assertions.assertThat(remote.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(guessed.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private MockHttpServletRequest warmUp(MockHttpServletRequest request, String remoteAddress) {
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader(WarmUpRequests.TOKEN_HEADER, warmUpRequests.token());
+        return request;
+    }
+
+    private MockHttpServletRequest get(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", API_URL);
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        return request;
+    }
+
+    private MockHttpServletRequest post(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", API_URL);
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        return request;
+    }
+
+    private MockHttpServletRequest withIds(MockHttpServletRequest request) {
+        request.addParameter("ids", "a,b,c");
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.testing.filter;
+
+import com.example.testing.cache.LocalCache;
+import com.example.testing.config.HotKeyProperties;
+import com.example.testing.config.ResponseCacheProperties;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.model.Product;
+import com.example.testing.monitoring.HotKeyTracker;
+import com.example.testing.warmup.WarmUpRequests;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+class ResponseCacheFilterTest {
+
+    private static final String PRODUCT_PATH = "/api/v1/products/123456";
+    private static final String PRODUCT_JSON = "{\"id\":\"123456\",\"name\":\"Espresso\"}";
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private final WarmUpRequests warmUpRequests = new WarmUpRequests();
+    private final HotKeyTracker hotKeyTracker = new HotKeyTracker(new HotKeyProperties(20, 1024, 4));
+    private ResponseCacheFilter responseCacheFilter;
+
+    @BeforeEach
+    void setUp() {
+        responseCacheFilter = new ResponseCacheFilter(new LocalCache<>("response", 100),
+                new ResponseCacheProperties(true, 100, DataSize.ofBytes(16), Duration.ofMinutes(1)), warmUpRequests, hotKeyTracker);
+    }
+
+    @Test
+    void shouldServeRepeatedReadFromCachedBytes() throws Exception {
+        // When.
+        MockHttpServletResponse first = perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+        MockHttpServletResponse second = perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(renders).hasValue(1);
+        Assertions.assertThat(second.getContentAsString()).isEqualTo(PRODUCT_JSON);
+        Assertions.assertThat(second.getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        Assertions.assertThat(second.getHeader(HttpHeaders.ETAG)).isNotBlank().isEqualTo(first.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldRecordHotKeysOfCacheHits() throws Exception {
+        // Given.
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // When.
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(hotKeyTracker.estimate(HotKeyTracker.PRODUCT_LOOKUP, "123456")).isEqualTo(2);
+        Assertions.assertThat(hotKeyTracker.estimate(HotKeyTracker.ENDPOINTS, HotKeyTracker.PRODUCT_LOOKUP)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        // Given.
+        String etag = perform(get(PRODUCT_PATH), render(HttpStatus.OK)).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = get(PRODUCT_PATH);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // When.
+        MockHttpServletResponse response = perform(request, render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        Assertions.assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void shouldServeGzipVariantWhenAccepted() throws Exception {
+        // Given.
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+        MockHttpServletRequest request = get(PRODUCT_PATH);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        // When.
+        MockHttpServletResponse response = perform(request, render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            Assertions.assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(PRODUCT_JSON);
+        }
+    }
+
+    @Test
+    void shouldRenderAgainAfterProductIsSaved() throws Exception {
+        // Given.
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // When.
+        responseCacheFilter.onProductSaved(new ProductSavedEvent(Product.builder().id("123456").build()));
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void shouldRenderAgainOnceEntryHasExpired() throws Exception {
+        // Given.
+        responseCacheFilter = new ResponseCacheFilter(new LocalCache<>("response", 100),
+                new ResponseCacheProperties(true, 100, DataSize.ofBytes(16), Duration.ZERO), warmUpRequests, hotKeyTracker);
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // When.
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheErrorsOrUncachedRoutes() throws Exception {
+        // When.
+        perform(get(PRODUCT_PATH), render(HttpStatus.NOT_FOUND));
+        perform(get(PRODUCT_PATH), render(HttpStatus.NOT_FOUND));
+        perform(get(PRODUCT_PATH + "/detail"), render(HttpStatus.OK));
+        perform(get(PRODUCT_PATH + "/detail"), render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(renders).hasValue(4);
+    }
+
+    @Test
+    void shouldNeitherServeNorStoreWarmUpRequests() throws Exception {
+        // Given.
+        MockHttpServletRequest firstWarmUp = get(PRODUCT_PATH);
+        firstWarmUp.addHeader(WarmUpRequests.TOKEN_HEADER, warmUpRequests.token());
+        MockHttpServletRequest secondWarmUp = get(PRODUCT_PATH);
+        secondWarmUp.addHeader(WarmUpRequests.TOKEN_HEADER, warmUpRequests.token());
+
+        // When.
+        perform(firstWarmUp, render(HttpStatus.OK));
+        perform(get(PRODUCT_PATH), render(HttpStatus.OK));
+        perform(secondWarmUp, render(HttpStatus.OK));
+
+        // Then or assertions.
+        Assertions.assertThat(renders).hasValue(3);
+    }
+
+    private FilterChain render(HttpStatus status) {
+        return (request, response) -> {
+            renders.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(PRODUCT_JSON.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/spring-boot-testing" + path);
+        request.setContextPath("/spring-boot-testing");
+        request.setServletPath(path);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain filterChain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseCacheFilter.doFilter(request, response, filterChain);
+        return response;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.testing.generator;
+
+import com.example.testing.config.CatalogGeneratorProperties;
+import com.example.testing.index.CatalogIds;
+import com.example.testing.model.Product;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+class CatalogGeneratorTest {
+
+    private static final Instant ID_EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void shouldGenerateSameCatalogForSameSeed() {
+        // Given.
+        CatalogGenerator generator = new CatalogGenerator(properties(42));
+        CatalogGenerator sameSeed = new CatalogGenerator(properties(42));
+        CatalogGenerator otherSeed = new CatalogGenerator(properties(7));
+
+        // When.
+        List<Document> batch = generator.productBatch(3);
+
+        // Then or assertions.
+        Assertions.assertThat(sameSeed.categories()).isEqualTo(generator.categories());
+        Assertions.assertThat(sameSeed.productBatch(3)).isEqualTo(batch);
+        Assertions.assertThat(generator.productBatch(4)).isNotEqualTo(batch);
+        Assertions.assertThat(otherSeed.productBatch(3)).isNotEqualTo(batch);
+    }
+
+    @Test
+    void shouldStampIdsFromIdEpoch() {
+        // Given.
+        CatalogGenerator generator = new CatalogGenerator(properties(42));
+
+        // When.
+        List<Document> batch = generator.productBatch(3);
+
+        // Then or assertions.
+        Assertions.assertThat(generator.categories())
+                .extracting(category -> CatalogIds.createdAt(category.getString("_id")))
+                .containsOnly(ID_EPOCH.toEpochMilli());
+        Assertions.assertThat(batch)
+                .extracting(product -> CatalogIds.createdAt(product.getString("_id")))
+                .containsOnly(ID_EPOCH.toEpochMilli() + 4);
+    }
+
+    @Test
+    void shouldWriteProductsInSpringDataLayout() {
+        // Given.
+        CatalogGenerator generator = new CatalogGenerator(properties(42));
+
+        // When.
+        Document product = generator.productBatch(0).get(0);
+
+        // Then or assertions.
+        Assertions.assertThat(product.getString("_class")).isEqualTo(Product.class.getName());
+        Assertions.assertThat(new BigDecimal(product.getString("price"))).isPositive();
+        Assertions.assertThat(product.getInteger("stock")).isNotNegative();
+        Assertions.assertThat(generator.categories()).extracting(category -> category.getString("_id"))
+                .contains(product.getString("categoryId"));
+    }
+
+    @Test
+    void shouldSkewProductsTowardsFirstCategories() {
+        // Given.
+        CatalogGenerator generator = new CatalogGenerator(properties(42));
+        List<String> categoryIds = generator.categories().stream().map(category -> category.getString("_id")).toList();
+
+        // When.
+        Map<String, Long> productsPerCategory = LongStream.range(0, generator.productBatches())
+                .mapToObj(generator::productBatch)
+                .flatMap(List::stream)
+                .collect(Collectors.groupingBy(product -> product.getString("categoryId"), Collectors.counting()));
+
+        // Then or assertions.
+        Assertions.assertThat(productsPerCategory.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(10_000);
+        Assertions.assertThat(productsPerCategory.get(categoryIds.get(0)))
+                .isGreaterThan(5 * productsPerCategory.getOrDefault(categoryIds.get(99), 0L));
+    }
+
+    private CatalogGeneratorProperties properties(long seed) {
+        return new CatalogGeneratorProperties(seed, ID_EPOCH, 100, 10_000, 1.0, new BigDecimal("25.00"), 1.0, 50, 0.05,
+                1_000, 2, false, false);
+    }
+}
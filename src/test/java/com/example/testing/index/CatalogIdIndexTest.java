@@ -0,0 +1,70 @@
+package com.example.testing.index;
+
+import com.example.testing.config.IdFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class CatalogIdIndexTest {
+
+    private final CatalogIdIndex catalogIdIndex = new CatalogIdIndex(
+            new IdFilterProperties(true, 1000, 0.01, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Test
+    void shouldKeepIdsSavedBeforeTheRebuildCursorOpens() {
+        // Given.
+        String savedId = CatalogIds.next();
+
+        // When. The save lands after the rebuild started but before its cursor returns anything.
+        catalogIdIndex.rebuildProducts(() -> {
+            catalogIdIndex.addProduct(savedId);
+            return Stream.empty();
+        });
+
+        // Then or assertions.
+        Assertions.assertThat(catalogIdIndex.productPresence(savedId)).isEqualTo(CatalogIdIndex.Presence.LIKELY);
+    }
+
+    @Test
+    void shouldLookUpIdsCreatedElsewhereAfterTheFilterWasBuilt() {
+        // Given.
+        catalogIdIndex.rebuildProducts(Stream::empty);
+
+        // When. Another pod creates the id, so this filter never sees it.
+        String createdElsewhere = CatalogIds.next();
+
+        // Then or assertions.
+        Assertions.assertThat(catalogIdIndex.productPresence(createdElsewhere)).isEqualTo(CatalogIdIndex.Presence.LIKELY);
+    }
+
+    @Test
+    void shouldRejectIdsOlderThanTheFilter() {
+        // Given.
+        catalogIdIndex.rebuildProducts(Stream::empty);
+
+        // When.
+        String oldId = CatalogIds.next(System.currentTimeMillis() - Duration.ofHours(1).toMillis());
+
+        // Then or assertions.
+        Assertions.assertThat(catalogIdIndex.productPresence(oldId)).isEqualTo(CatalogIdIndex.Presence.ABSENT);
+        Assertions.assertThat(catalogIdIndex.productPresence(UUID.randomUUID().toString())).isEqualTo(CatalogIdIndex.Presence.ABSENT);
+    }
+
+    @Test
+    void shouldReadCreationTimeBackFromIds() {
+        // Given.
+        long createdAt = 1_760_000_000_000L;
+
+        // When.
+        String id = CatalogIds.next(createdAt);
+
+        // Then or assertions.
+        Assertions.assertThat(UUID.fromString(id).version()).isEqualTo(7);
+        Assertions.assertThat(CatalogIds.createdAt(id)).isEqualTo(createdAt);
+        Assertions.assertThat(CatalogIds.createdAt("123456")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.testing.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * Gaps between request arrivals at a given rate. Poisson arrivals are bursty
+ * the way independent clients are; constant arrivals are easier to read when
+ * comparing runs.
+ */
+public enum ArrivalProcess {
+
+    CONSTANT {
+        @Override
+        long nextGapNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(NANOS_PER_SECOND / ratePerSecond);
+        }
+    },
+    POISSON {
+        @Override
+        long nextGapNanos(double ratePerSecond, SplittableRandom random) {
+            return Math.round(-Math.log(1 - random.nextDouble()) * NANOS_PER_SECOND / ratePerSecond);
+        }
+    };
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    abstract long nextGapNanos(double ratePerSecond, SplittableRandom random);
+}
@@ -0,0 +1,205 @@
+package com.example.testing.loadtest;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.Product;
+import com.example.testing.model.ProductRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The catalog a run works against. It is created through the public API
+ * before the clock starts, and request bodies and ids are drawn from it with
+ * the workload's key skew, so hot keys are the same ones on every run with
+ * the same seed.
+ */
+public final class CatalogFixture {
+
+    private static final String API_PATH = "/api/v1";
+    private static final int SEED_CONCURRENCY = 64;
+    private static final int NAME_POOL_SIZE = 2_000;
+
+    private final URI apiBase;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration requestTimeout;
+    private final String[] productNames;
+    private final String[] searchTerms;
+    private final AtomicInteger created = new AtomicInteger();
+    private String[] productIds = new String[0];
+    private String[] categoryIds = new String[0];
+    private double[] productWeights;
+    private double[] categoryWeights;
+
+    private CatalogFixture(URI target, Duration requestTimeout, String[] productNames) {
+        this.apiBase = URI.create(target.toString().replaceAll("/+$", "") + API_PATH);
+        this.requestTimeout = requestTimeout;
+        this.productNames = productNames;
+        Set<String> terms = new LinkedHashSet<>();
+        for (String name : productNames) {
+            terms.addAll(Arrays.asList(name.toLowerCase(Locale.ROOT).split(" ")));
+        }
+        this.searchTerms = terms.toArray(String[]::new);
+    }
+
+    /**
+     * Creates the categories and products of a run through the API. Ids are
+     * kept in creation order, which is also their popularity rank.
+     */
+    public static CatalogFixture seed(HttpClient client, URI target, LoadTestConfig config) throws InterruptedException {
+        Faker faker = new Faker(Locale.ENGLISH, new Random(config.seed()));
+        String[] productNames = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            productNames[i] = faker.commerce().productName();
+        }
+        CatalogFixture fixture = new CatalogFixture(target, config.requestTimeout(), productNames);
+        SplittableRandom random = new SplittableRandom(config.seed());
+        fixture.categoryIds = create(client, config.categories(),
+                i -> fixture.post("/categories", new CategoryRequest(faker.commerce().department() + " " + i, "Load test category " + i)),
+                body -> fixture.objectMapper.readValue(body, Category.class).getId());
+        fixture.productIds = create(client, config.products(),
+                i -> fixture.post("/products", fixture.newProduct(random)),
+                body -> fixture.objectMapper.readValue(body, Product.class).getId());
+        fixture.productWeights = cumulativeWeights(fixture.productIds.length, config.workload().keySkew());
+        fixture.categoryWeights = cumulativeWeights(fixture.categoryIds.length, config.workload().keySkew());
+        return fixture;
+    }
+
+    public int size() {
+        return productIds.length;
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(apiBase + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(apiBase + path))
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    String productId(SplittableRandom random) {
+        return productIds[pick(productWeights, random)];
+    }
+
+    String productIds(SplittableRandom random, int count) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ids.append(i == 0 ? "" : ",").append(productId(random));
+        }
+        return ids.toString();
+    }
+
+    String categoryId(SplittableRandom random) {
+        return categoryIds[pick(categoryWeights, random)];
+    }
+
+    String searchQuery(SplittableRandom random) {
+        String query = searchTerms[random.nextInt(searchTerms.length)] + " " + searchTerms[random.nextInt(searchTerms.length)];
+        return URLEncoder.encode(query, StandardCharsets.UTF_8);
+    }
+
+    String namePrefix(SplittableRandom random) {
+        String name = productNames[random.nextInt(productNames.length)];
+        return URLEncoder.encode(name.substring(0, Math.min(name.length(), 1 + random.nextInt(4))), StandardCharsets.UTF_8);
+    }
+
+    ProductRequest newProduct(SplittableRandom random) {
+        int number = created.incrementAndGet();
+        String name = productNames[random.nextInt(productNames.length)];
+        return new ProductRequest(name + " " + number, "Load test product " + number,
+                BigDecimal.valueOf(100 + random.nextInt(100_000), 2), categoryIds[random.nextInt(categoryIds.length)],
+                1 + random.nextInt(100));
+    }
+
+    CategoryRequest newCategory(SplittableRandom random) {
+        int number = created.incrementAndGet();
+        return new CategoryRequest("Load test category " + number, "Created under load " + random.nextInt(1_000));
+    }
+
+    private static String[] create(HttpClient client, int count, RequestFactory requests, IdReader ids)
+            throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<String>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            responses.add(client.sendAsync(requests.create(i + 1), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> permits.release())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 201) {
+                            throw new IllegalStateException("Seeding " + response.uri() + " failed with status "
+                                    + response.statusCode() + ": " + response.body());
+                        }
+                        try {
+                            return ids.read(response.body());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        }
+        return responses.stream().map(CompletableFuture::join).toArray(String[]::new);
+    }
+
+    private static int pick(double[] cumulativeWeights, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulativeWeights.length - 1);
+    }
+
+    private static double[] cumulativeWeights(int size, double skew) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, skew);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= sum;
+        }
+        return cumulative;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+
+        HttpRequest create(int number);
+    }
+
+    @FunctionalInterface
+    private interface IdReader {
+
+        String read(String body) throws IOException;
+    }
+}
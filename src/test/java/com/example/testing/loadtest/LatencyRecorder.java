@@ -0,0 +1,77 @@
+package com.example.testing.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency recorders, in microseconds. Response time runs from
+ * the moment a request was due to be sent, so time spent queued behind a slow
+ * response is counted; service time runs from the moment it was actually
+ * sent, which is what a closed-loop client would have reported.
+ */
+final class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            serviceTimes.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long intendedNanos, long sentNanos, long completedNanos, boolean failed) {
+        responseTimes.get(operation).recordValue(toMicros(completedNanos - intendedNanos));
+        serviceTimes.get(operation).recordValue(toMicros(completedNanos - sentNanos));
+        if (failed) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Counts a request the generator could not send because too many were
+     * already outstanding. It is reported as an error rather than left out,
+     * so an overloaded run cannot look faster than a healthy one.
+     */
+    void recordDropped(Operation operation) {
+        errors.get(operation).increment();
+    }
+
+    Histogram intervalResponseTimes(Operation operation, Histogram recycle) {
+        return responseTimes.get(operation).getIntervalHistogram(recycle);
+    }
+
+    Histogram intervalServiceTimes(Operation operation, Histogram recycle) {
+        return serviceTimes.get(operation).getIntervalHistogram(recycle);
+    }
+
+    long intervalErrors(Operation operation) {
+        return errors.get(operation).sumThenReset();
+    }
+
+    /**
+     * Discards everything recorded so far, used to drop the warm-up phase.
+     */
+    void reset() {
+        for (Operation operation : Operation.values()) {
+            responseTimes.get(operation).reset();
+            serviceTimes.get(operation).reset();
+            errors.get(operation).reset();
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.testing.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties. Without
+ * a target the harness starts the application itself on the in-memory
+ * repositories.
+ */
+public record LoadTestConfig(
+        URI target,
+        Workload workload,
+        double rate,
+        ArrivalProcess arrivals,
+        Duration warmup,
+        Duration duration,
+        int products,
+        int categories,
+        long seed,
+        int maxInFlight,
+        Duration requestTimeout,
+        Path outputDirectory,
+        Path baseline) {
+
+    private static final DateTimeFormatter RUN_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static LoadTestConfig fromSystemProperties() {
+        Workload workload = Workload.valueOf(property("workload", "read_heavy").toUpperCase(Locale.ROOT));
+        double rate = Double.parseDouble(property("rate", "500"));
+        String run = property("run", workload.name().toLowerCase(Locale.ROOT) + "-" + (long) rate + "rps-"
+                + LocalDateTime.now().format(RUN_TIMESTAMP));
+        String target = property("target", "");
+        String baseline = property("baseline", "");
+        return new LoadTestConfig(
+                target.isBlank() ? null : URI.create(target),
+                workload,
+                rate,
+                ArrivalProcess.valueOf(property("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+                Duration.parse(property("warmup", "PT15S")),
+                Duration.parse(property("duration", "PT60S")),
+                Integer.parseInt(property("products", "10000")),
+                Integer.parseInt(property("categories", "100")),
+                Long.parseLong(property("seed", "42")),
+                Integer.parseInt(property("max-in-flight", "10000")),
+                Duration.parse(property("request-timeout", "PT10S")),
+                Path.of(property("output", "target/loadtest")).resolve(run),
+                baseline.isBlank() ? null : Path.of(baseline));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
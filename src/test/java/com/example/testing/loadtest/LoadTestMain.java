@@ -0,0 +1,101 @@
+package com.example.testing.loadtest;
+
+import com.example.testing.SpringBootTestingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the HTTP API with an open-model workload and writes a latency
+ * report: {@code mvn -Ploadtest test -Dloadtest.workload=hot_key -Dloadtest.rate=2000}.
+ * <p>
+ * Without {@code loadtest.target} the application is started in this JVM on
+ * a random port with the in-memory repositories and rate limiting off; other
+ * settings can be overridden with system properties such as
+ * {@code -Dapp.response-cache.enabled=false}. Pointing
+ * {@code loadtest.baseline} at an earlier run directory prints how this run
+ * differs from it.
+ */
+public final class LoadTestMain {
+
+    private static final String[] APPLICATION_PROPERTIES = {
+            "--server.port=0",
+            "--app.rate-limit.enabled=false",
+            "--app.catalog-snapshot.enabled=false",
+            "--app.warm-up.enabled=false",
+            "--logging.level.com.example.testing=WARN"
+    };
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext application = config.target() == null ? startApplication(config) : null;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            URI target = application == null ? config.target() : localTarget(application.getEnvironment());
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            CatalogFixture fixture = CatalogFixture.seed(client, target, config);
+            System.out.printf("Seeded %d categories and %d products at %s%n", config.categories(), fixture.size(), target);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, fixture, config, recorder);
+            System.out.printf("Warming up for %s%n", config.warmup());
+            generator.run(config.warmup());
+            recorder.reset();
+
+            System.out.printf("Offering %.0f req/s of %s for %s%n", config.rate(), config.workload(), config.duration());
+            List<String> summary;
+            try (LoadTestReport report = new LoadTestReport(config, recorder)) {
+                ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+                ticker.scheduleAtFixedRate(report::interval, 1, 1, TimeUnit.SECONDS);
+                generator.run(config.duration());
+                ticker.shutdown();
+                ticker.awaitTermination(5, TimeUnit.SECONDS);
+                report.interval();
+                summary = report.finish();
+            }
+            System.out.println(LoadTestReport.SUMMARY_HEADER);
+            summary.forEach(System.out::println);
+            System.out.printf("Report written to %s%n", config.outputDirectory().toAbsolutePath());
+            if (config.baseline() != null) {
+                LoadTestReport.compare(config.baseline(), config.outputDirectory(), System.out);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) throws IOException {
+        Files.createDirectories(config.outputDirectory());
+        String[] args = Arrays.copyOf(APPLICATION_PROPERTIES, APPLICATION_PROPERTIES.length + 1);
+        args[APPLICATION_PROPERTIES.length] = "--app.in-memory.snapshot-file="
+                + config.outputDirectory().resolve("catalog-in-memory.json").toAbsolutePath();
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .profiles("inmemory")
+                .run(args);
+    }
+
+    private static URI localTarget(Environment environment) {
+        return URI.create("http://localhost:" + environment.getProperty("local.server.port")
+                + environment.getProperty("server.servlet.context-path", ""));
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.testing.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Files written for one run, all under the run directory:
+ * <ul>
+ *     <li>{@code latency.hlog}: one tagged histogram per operation and second,
+ *     readable by HdrHistogram's log tools and plotters</li>
+ *     <li>{@code throughput.csv} and {@code throughput.svg}: requests per second
+ *     and percentiles over time</li>
+ *     <li>{@code <operation>.hgrm}: the full response time distribution</li>
+ *     <li>{@code summary.csv}: one line per operation, in the same layout on every
+ *     run so two runs can be compared</li>
+ * </ul>
+ * Latencies are recorded in microseconds and reported in milliseconds.
+ */
+final class LoadTestReport implements AutoCloseable {
+
+    static final String SUMMARY_FILE = "summary.csv";
+    static final String SUMMARY_HEADER = "operation,count,errors,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms";
+
+    private static final String ALL = "ALL";
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String[] COMPARED_COLUMNS = {"throughput_per_s", "p50_ms", "p99_ms", "p999_ms", "errors"};
+
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder;
+    private final PrintStream latencyLog;
+    private final HistogramLogWriter latencyLogWriter;
+    private final PrintWriter throughput;
+    private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private final List<double[]> timeline = new ArrayList<>();
+    private final long startMillis;
+    private long lastIntervalMillis;
+
+    LoadTestReport(LoadTestConfig config, LatencyRecorder recorder) throws IOException {
+        this.config = config;
+        this.recorder = recorder;
+        Path directory = config.outputDirectory();
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("run.txt"), config + System.lineSeparator());
+        startMillis = System.currentTimeMillis();
+        lastIntervalMillis = startMillis;
+        latencyLog = new PrintStream(Files.newOutputStream(directory.resolve("latency.hlog")));
+        latencyLogWriter = new HistogramLogWriter(latencyLog);
+        latencyLogWriter.outputLogFormatVersion();
+        latencyLogWriter.outputStartTime(startMillis);
+        latencyLogWriter.setBaseTime(startMillis);
+        latencyLogWriter.outputLegend();
+        throughput = new PrintWriter(Files.newBufferedWriter(directory.resolve("throughput.csv")));
+        throughput.println("elapsed_s,operation,requests_per_s,errors,p50_ms,p99_ms,max_ms");
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, newHistogram());
+            serviceTimes.put(operation, newHistogram());
+            errors.put(operation, 0L);
+        }
+    }
+
+    /**
+     * Moves everything recorded since the previous call into the report.
+     * Called once a second while the run lasts and once at the end.
+     */
+    synchronized void interval() {
+        long now = System.currentTimeMillis();
+        double elapsedSeconds = (now - startMillis) / 1000.0;
+        double intervalSeconds = Math.max(0.001, (now - lastIntervalMillis) / 1000.0);
+        Histogram all = newHistogram();
+        long allErrors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram interval = recorder.intervalResponseTimes(operation, null);
+            long intervalErrors = recorder.intervalErrors(operation);
+            responseTimes.get(operation).add(interval);
+            serviceTimes.get(operation).add(recorder.intervalServiceTimes(operation, null));
+            errors.merge(operation, intervalErrors, Long::sum);
+            all.add(interval);
+            allErrors += intervalErrors;
+            if (interval.getTotalCount() > 0 || intervalErrors > 0) {
+                interval.setTag(operation.name());
+                latencyLogWriter.outputIntervalHistogram(interval);
+                throughput.println(row(elapsedSeconds, operation.name(), interval, intervalErrors, intervalSeconds));
+            }
+        }
+        all.setStartTimeStamp(lastIntervalMillis);
+        all.setEndTimeStamp(now);
+        all.setTag(ALL);
+        latencyLogWriter.outputIntervalHistogram(all);
+        throughput.println(row(elapsedSeconds, ALL, all, allErrors, intervalSeconds));
+        throughput.flush();
+        timeline.add(new double[]{elapsedSeconds, all.getTotalCount() / intervalSeconds, toMillis(all.getValueAtPercentile(99))});
+        lastIntervalMillis = now;
+    }
+
+    /**
+     * Writes the distributions, the summary and the graph, and returns the
+     * summary lines without the header.
+     */
+    synchronized List<String> finish() throws IOException {
+        Path directory = config.outputDirectory();
+        double seconds = config.duration().toMillis() / 1000.0;
+        Histogram all = newHistogram();
+        Histogram allService = newHistogram();
+        long allErrors = 0;
+        List<String> summary = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = responseTimes.get(operation);
+            if (histogram.getTotalCount() == 0 && errors.get(operation) == 0) {
+                continue;
+            }
+            writeDistribution(directory.resolve(operation.name().toLowerCase(Locale.ROOT) + ".hgrm"), histogram);
+            summary.add(summaryLine(operation.name(), histogram, serviceTimes.get(operation), errors.get(operation), seconds));
+            all.add(histogram);
+            allService.add(serviceTimes.get(operation));
+            allErrors += errors.get(operation);
+        }
+        writeDistribution(directory.resolve("all.hgrm"), all);
+        summary.add(summaryLine(ALL, all, allService, allErrors, seconds));
+        List<String> lines = new ArrayList<>();
+        lines.add(SUMMARY_HEADER);
+        lines.addAll(summary);
+        Files.write(directory.resolve(SUMMARY_FILE), lines);
+        writeGraph(directory.resolve("throughput.svg"));
+        return summary;
+    }
+
+    @Override
+    public synchronized void close() {
+        throughput.close();
+        latencyLog.close();
+    }
+
+    /**
+     * Prints the change of the compared columns from a baseline summary to a
+     * candidate summary, for the operations both runs have.
+     */
+    static void compare(Path baseline, Path candidate, PrintStream out) throws IOException {
+        Map<String, Map<String, String>> before = readSummary(baseline);
+        Map<String, Map<String, String>> after = readSummary(candidate);
+        out.printf("%-22s %-16s %12s %12s %9s%n", "operation", "metric", "baseline", "candidate", "change");
+        for (Map.Entry<String, Map<String, String>> entry : after.entrySet()) {
+            Map<String, String> previous = before.get(entry.getKey());
+            if (previous == null) {
+                continue;
+            }
+            for (String column : COMPARED_COLUMNS) {
+                double from = Double.parseDouble(previous.get(column));
+                double to = Double.parseDouble(entry.getValue().get(column));
+                String change = from == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (to - from) * 100 / from);
+                out.printf(Locale.ROOT, "%-22s %-16s %12.3f %12.3f %9s%n", entry.getKey(), column, from, to, change);
+            }
+        }
+    }
+
+    private static Map<String, Map<String, String>> readSummary(Path path) throws IOException {
+        Path file = Files.isDirectory(path) ? path.resolve(SUMMARY_FILE) : path;
+        List<String> lines = Files.readAllLines(file);
+        String[] header = lines.getFirst().split(",");
+        Map<String, Map<String, String>> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] values = line.split(",");
+            Map<String, String> row = new LinkedHashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                row.put(header[i], values[i]);
+            }
+            rows.put(values[0], row);
+        }
+        return rows;
+    }
+
+    private static String row(double elapsedSeconds, String operation, Histogram interval, long errors, double intervalSeconds) {
+        return String.format(Locale.ROOT, "%.3f,%s,%.1f,%d,%.3f,%.3f,%.3f", elapsedSeconds, operation,
+                interval.getTotalCount() / intervalSeconds, errors, toMillis(interval.getValueAtPercentile(50)),
+                toMillis(interval.getValueAtPercentile(99)), toMillis(interval.getMaxValue()));
+    }
+
+    private static String summaryLine(String operation, Histogram responseTimes, Histogram serviceTimes, long errors, double seconds) {
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", operation,
+                responseTimes.getTotalCount(), errors, responseTimes.getTotalCount() / seconds,
+                toMillis(responseTimes.getValueAtPercentile(50)), toMillis(responseTimes.getValueAtPercentile(90)),
+                toMillis(responseTimes.getValueAtPercentile(99)), toMillis(responseTimes.getValueAtPercentile(99.9)),
+                toMillis(responseTimes.getMaxValue()), toMillis(serviceTimes.getValueAtPercentile(99)));
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Requests per second in blue against the left axis and the p99 response
+     * time in red against the right one.
+     */
+    private void writeGraph(Path file) throws IOException {
+        int width = 960;
+        int height = 400;
+        int margin = 60;
+        double maxElapsed = timeline.stream().mapToDouble(point -> point[0]).max().orElse(1);
+        double maxRate = Math.max(1, timeline.stream().mapToDouble(point -> point[1]).max().orElse(1));
+        double maxLatency = Math.max(0.001, timeline.stream().mapToDouble(point -> point[2]).max().orElse(1));
+        StringBuilder rate = new StringBuilder();
+        StringBuilder latency = new StringBuilder();
+        for (double[] point : timeline) {
+            double x = margin + point[0] / maxElapsed * (width - 2 * margin);
+            rate.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, height - margin - point[1] / maxRate * (height - 2 * margin)));
+            latency.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, height - margin - point[2] / maxLatency * (height - 2 * margin)));
+        }
+        String svg = String.format(Locale.ROOT, """
+                <svg xmlns="http://www.w3.org/2000/svg" width="%1$d" height="%2$d" font-family="sans-serif" font-size="12">
+                <rect width="100%%" height="100%%" fill="white"/>
+                <text x="%3$d" y="20">%4$s at %5$.0f req/s offered (%6$s arrivals)</text>
+                <line x1="%3$d" y1="%7$d" x2="%8$d" y2="%7$d" stroke="black"/>
+                <line x1="%3$d" y1="%3$d" x2="%3$d" y2="%7$d" stroke="black"/>
+                <line x1="%8$d" y1="%3$d" x2="%8$d" y2="%7$d" stroke="black"/>
+                <text x="5" y="%3$d" fill="steelblue">%9$.0f req/s</text>
+                <text x="%8$d" y="%10$d" fill="firebrick">p99 %11$.1f ms</text>
+                <text x="%8$d" y="%12$d" text-anchor="end">%13$.0f s</text>
+                <polyline fill="none" stroke="steelblue" points="%14$s"/>
+                <polyline fill="none" stroke="firebrick" points="%15$s"/>
+                </svg>
+                """, width, height, margin, config.workload(), config.rate(), config.arrivals().name().toLowerCase(Locale.ROOT),
+                height - margin, width - margin, maxRate, margin - 5, maxLatency, height - margin + 20, maxElapsed,
+                rate.toString().trim(), latency.toString().trim());
+        Files.writeString(file, svg);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(LatencyRecorder.HIGHEST_TRACKABLE_MICROS, LatencyRecorder.SIGNIFICANT_DIGITS);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
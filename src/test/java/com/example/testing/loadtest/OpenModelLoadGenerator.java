@@ -0,0 +1,75 @@
+package com.example.testing.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on a schedule fixed in advance by the arrival process, never
+ * waiting for earlier responses. A slow server therefore sees requests pile
+ * up the way it would with real clients, and the time they spend waiting is
+ * charged to it instead of silently shrinking the offered load.
+ */
+final class OpenModelLoadGenerator {
+
+    private final HttpClient client;
+    private final CatalogFixture fixture;
+    private final LoadTestConfig config;
+    private final LatencyRecorder recorder;
+    private final SplittableRandom random;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelLoadGenerator(HttpClient client, CatalogFixture fixture, LoadTestConfig config, LatencyRecorder recorder) {
+        this.client = client;
+        this.fixture = fixture;
+        this.config = config;
+        this.recorder = recorder;
+        this.random = new SplittableRandom(config.seed());
+    }
+
+    /**
+     * Offers load for the given duration, then waits up to the request
+     * timeout for outstanding responses.
+     */
+    void run(Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long intended = start;
+        while (true) {
+            intended += config.arrivals().nextGapNanos(config.rate(), random);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = config.workload().next(random);
+            if (inFlight.get() >= config.maxInFlight()) {
+                recorder.recordDropped(operation);
+                continue;
+            }
+            send(operation, operation.request(fixture, random), intended);
+        }
+        long deadline = System.nanoTime() + config.requestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void send(Operation operation, HttpRequest request, long intended) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    recorder.record(operation, intended, sent, System.nanoTime(),
+                            failure != null || response.statusCode() >= 400);
+                    inFlight.decrementAndGet();
+                });
+    }
+}
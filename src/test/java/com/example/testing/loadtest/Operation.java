@@ -0,0 +1,76 @@
+package com.example.testing.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+
+/**
+ * One kind of request against the catalog API. Each operation is reported
+ * on its own, so a regression in one endpoint is not hidden by the mix.
+ */
+public enum Operation {
+
+    GET_PRODUCT {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/products/" + fixture.productId(random));
+        }
+    },
+    GET_PRODUCT_DETAIL {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/products/" + fixture.productId(random) + "/detail");
+        }
+    },
+    GET_CATEGORY {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/categories/" + fixture.categoryId(random));
+        }
+    },
+    LIST_CATEGORIES {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/categories");
+        }
+    },
+    PRODUCTS_BY_CATEGORY {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/products?categoryId=" + fixture.categoryId(random) + "&size=100");
+        }
+    },
+    MULTI_GET_PRODUCTS {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/products?ids=" + fixture.productIds(random, MULTI_GET_SIZE));
+        }
+    },
+    SEARCH {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/products/search?q=" + fixture.searchQuery(random));
+        }
+    },
+    AUTOCOMPLETE {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.get("/autocomplete?prefix=" + fixture.namePrefix(random));
+        }
+    },
+    CREATE_PRODUCT {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.post("/products", fixture.newProduct(random));
+        }
+    },
+    CREATE_CATEGORY {
+        @Override
+        HttpRequest request(CatalogFixture fixture, SplittableRandom random) {
+            return fixture.post("/categories", fixture.newCategory(random));
+        }
+    };
+
+    private static final int MULTI_GET_SIZE = 50;
+
+    abstract HttpRequest request(CatalogFixture fixture, SplittableRandom random);
+}
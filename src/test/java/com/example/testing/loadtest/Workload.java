@@ -0,0 +1,65 @@
+package com.example.testing.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Operation mixes the harness can drive. Weights are relative, and the key
+ * skew is the Zipf exponent used to pick product and category ids (0 picks
+ * them uniformly).
+ */
+public enum Workload {
+
+    READ_HEAVY(0, Map.of(
+            Operation.GET_PRODUCT, 60,
+            Operation.PRODUCTS_BY_CATEGORY, 15,
+            Operation.GET_CATEGORY, 10,
+            Operation.SEARCH, 5,
+            Operation.AUTOCOMPLETE, 5,
+            Operation.CREATE_PRODUCT, 5)),
+    WRITE_HEAVY(0, Map.of(
+            Operation.CREATE_PRODUCT, 60,
+            Operation.CREATE_CATEGORY, 5,
+            Operation.GET_PRODUCT, 35)),
+    BULK(0, Map.of(
+            Operation.MULTI_GET_PRODUCTS, 70,
+            Operation.PRODUCTS_BY_CATEGORY, 20,
+            Operation.LIST_CATEGORIES, 10)),
+    HOT_KEY(1.1, Map.of(
+            Operation.GET_PRODUCT, 70,
+            Operation.GET_PRODUCT_DETAIL, 10,
+            Operation.GET_CATEGORY, 15,
+            Operation.CREATE_PRODUCT, 5));
+
+    private final double keySkew;
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+
+    Workload(double keySkew, Map<Operation, Integer> mix) {
+        this.keySkew = keySkew;
+        Map<Operation, Integer> ordered = new EnumMap<>(mix);
+        operations = ordered.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new double[operations.length];
+        double total = ordered.values().stream().mapToInt(Integer::intValue).sum();
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += ordered.get(operations[i]);
+            cumulativeWeights[i] = sum / total;
+        }
+    }
+
+    public double keySkew() {
+        return keySkew;
+    }
+
+    public Operation next(SplittableRandom random) {
+        double draw = random.nextDouble();
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.testing.monitoring;
+
+import com.example.testing.config.HotKeyProperties;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class HotKeyTrackerTest {
+
+    private HotKeyTracker hotKeyTracker;
+
+    @BeforeEach
+    void setUp() {
+        hotKeyTracker = new HotKeyTracker(new HotKeyProperties(3, 1024, 4));
+    }
+
+    @Test
+    void shouldRankMostRequestedIdsFirst() {
+        // Given.
+        record("hot", 100);
+        record("warm", 50);
+        record("lukewarm", 20);
+        for (int i = 0; i < 200; i++) {
+            record("cold-" + i, 1);
+        }
+
+        // When.
+        List<HotKey> topKeys = hotKeyTracker.topKeys(HotKeyTracker.PRODUCT_LOOKUP);
+
+        // Then or assertions.
+        Assertions.assertThat(topKeys)
+                .extracting(HotKey::key)
+                .containsExactly("hot", "warm", "lukewarm");
+        Assertions.assertThat(hotKeyTracker.estimate(HotKeyTracker.PRODUCT_LOOKUP, "hot")).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void shouldHalveFrequenciesOnDecay() {
+        // Given.
+        record("hot", 100);
+
+        // When.
+        hotKeyTracker.decay();
+
+        // Then or assertions.
+        Assertions.assertThat(hotKeyTracker.estimate(HotKeyTracker.PRODUCT_LOOKUP, "hot")).isBetween(50L, 60L);
+        Assertions.assertThat(hotKeyTracker.topKeys(HotKeyTracker.PRODUCT_LOOKUP))
+                .extracting(HotKey::estimatedCount)
+                .containsExactly(50L);
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownScope() {
+        Assertions.assertThat(hotKeyTracker.topKeys("unknown")).isEmpty();
+        Assertions.assertThat(hotKeyTracker.estimate("unknown", "123456")).isZero();
+    }
+
+    private void record(String id, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.record(HotKeyTracker.PRODUCT_LOOKUP, id);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.testing.monitoring;
+
+import com.example.testing.config.SlowCommandProperties;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.apache.logging.log4j.ThreadContext;
+import org.assertj.core.api.Assertions;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+class SlowCommandRecorderTest {
+
+    private static final String FIND_COMMAND = """
+            { "find" : "product", "filter" : { "categoryId" : "123456", "price" : { "$gte" : 10 } },
+              "sort" : { "price" : 1 }, "limit" : 20, "$db" : "product-service", "lsid" : { "id" : "session" } }
+            """;
+
+    private SlowCommandRecorder slowCommandRecorder;
+
+    @BeforeEach
+    void setUp() {
+        slowCommandRecorder = new SlowCommandRecorder(new SlowCommandProperties(true, Duration.ofMillis(100), 2));
+    }
+
+    @AfterEach
+    void clearThreadContext() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    void shouldRecordSlowCommandWithRedactedShapeAndEndpoint() {
+        // Given.
+        ThreadContext.put(SlowCommandRecorder.ENDPOINT_CONTEXT_KEY, "ProductController.findAll");
+
+        // When.
+        execute(1, "find", FIND_COMMAND, Duration.ofMillis(250));
+
+        // Then or assertions.
+        List<SlowCommand> slowCommands = slowCommandRecorder.slowCommands();
+        Assertions.assertThat(slowCommands).hasSize(1);
+        SlowCommand slowCommand = slowCommands.get(0);
+        Assertions.assertThat(slowCommand.collection()).isEqualTo("product");
+        Assertions.assertThat(slowCommand.endpoint()).isEqualTo("ProductController.findAll");
+        Assertions.assertThat(slowCommand.durationMillis()).isEqualTo(250);
+        Assertions.assertThat(BsonDocument.parse(slowCommand.command())).isEqualTo(BsonDocument.parse("""
+                { "find" : "product", "filter" : { "categoryId" : "?", "price" : { "$gte" : "?" } },
+                  "sort" : { "price" : 1 }, "limit" : 20 }
+                """));
+    }
+
+    @Test
+    void shouldIgnoreCommandsFasterThanThreshold() {
+        // When.
+        execute(1, "find", FIND_COMMAND, Duration.ofMillis(5));
+
+        // Then or assertions.
+        Assertions.assertThat(slowCommandRecorder.slowCommands()).isEmpty();
+    }
+
+    @Test
+    void shouldTakeShapeWhenCommandStarted() {
+        // Given.
+        BsonDocument command = BsonDocument.parse(FIND_COMMAND);
+        CommandStartedEvent startedEvent = startedEvent(1, "find", command);
+
+        // When. The driver reuses the command buffer once the command is sent.
+        slowCommandRecorder.commandStarted(startedEvent);
+        command.clear();
+        slowCommandRecorder.commandSucceeded(succeededEvent(1, Duration.ofSeconds(1)));
+
+        // Then or assertions.
+        Assertions.assertThat(slowCommandRecorder.slowCommands())
+                .singleElement()
+                .satisfies(slowCommand -> Assertions.assertThat(slowCommand.collection()).isEqualTo("product"));
+    }
+
+    @Test
+    void shouldSummariseWritePayloadsInShape() {
+        // When.
+        execute(1, "insert", """
+                { "insert" : "product", "documents" : [ { "_id" : "1" }, { "_id" : "2" }, { "_id" : "3" } ], "$db" : "product-service" }
+                """, Duration.ofSeconds(1));
+        execute(2, "update", """
+                { "update" : "product", "updates" : [
+                    { "q" : { "_id" : "1" }, "u" : { "$set" : { "stock" : 5 } } },
+                    { "q" : { "categoryId" : "123456" }, "u" : { "$inc" : { "stock" : 1 } }, "multi" : true } ],
+                  "$db" : "product-service" }
+                """, Duration.ofSeconds(1));
+
+        // Then or assertions.
+        Assertions.assertThat(slowCommandRecorder.slowCommands())
+                .extracting(slowCommand -> BsonDocument.parse(slowCommand.command()))
+                .containsExactly(
+                        BsonDocument.parse("""
+                                { "update" : "product", "updates" : [ { "q" : { "_id" : "?" }, "u" : { "$set" : { "stock" : "?" } } } ] }
+                                """),
+                        BsonDocument.parse("""
+                                { "insert" : "product", "documents" : "3 documents" }
+                                """));
+    }
+
+    @Test
+    void shouldKeepOnlyMostRecentSlowCommands() {
+        // When.
+        for (int requestId = 1; requestId <= 3; requestId++) {
+            execute(requestId, "find", FIND_COMMAND, Duration.ofSeconds(1));
+        }
+
+        // Then or assertions.
+        Assertions.assertThat(slowCommandRecorder.slowCommands())
+                .extracting(SlowCommand::id)
+                .containsExactly(3L, 2L);
+        Assertions.assertThat(slowCommandRecorder.slowCommand(1)).isNull();
+    }
+
+    private void execute(int requestId, String commandName, String command, Duration elapsed) {
+        slowCommandRecorder.commandStarted(startedEvent(requestId, commandName, BsonDocument.parse(command)));
+        slowCommandRecorder.commandSucceeded(succeededEvent(requestId, elapsed));
+    }
+
+    private CommandStartedEvent startedEvent(int requestId, String commandName, BsonDocument command) {
+        CommandStartedEvent startedEvent = Mockito.mock(CommandStartedEvent.class);
+        BDDMockito.given(startedEvent.getRequestId()).willReturn(requestId);
+        BDDMockito.given(startedEvent.getDatabaseName()).willReturn("product-service");
+        BDDMockito.given(startedEvent.getCommandName()).willReturn(commandName);
+        BDDMockito.given(startedEvent.getCommand()).willReturn(command);
+        return startedEvent;
+    }
+
+    private CommandSucceededEvent succeededEvent(int requestId, Duration elapsed) {
+        CommandSucceededEvent succeededEvent = Mockito.mock(CommandSucceededEvent.class);
+        BDDMockito.given(succeededEvent.getRequestId()).willReturn(requestId);
+        BDDMockito.given(succeededEvent.getElapsedTime(TimeUnit.NANOSECONDS)).willReturn(elapsed.toNanos());
+        return succeededEvent;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.testing.ratelimit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_000);
+
+    @Test
+    void shouldAllowBurstUpToCapacity() {
+        // Given.
+        TokenBucket tokenBucket = new TokenBucket(3, 1, START);
+
+        // When & assertions.
+        Assertions.assertThat(tokenBucket.tryConsume(START)).isEqualTo(2);
+        Assertions.assertThat(tokenBucket.tryConsume(START)).isEqualTo(1);
+        Assertions.assertThat(tokenBucket.tryConsume(START)).isZero();
+        Assertions.assertThat(tokenBucket.tryConsume(START)).isEqualTo(-TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRate() {
+        // Given.
+        TokenBucket tokenBucket = new TokenBucket(2, 10, START);
+        tokenBucket.tryConsume(START);
+        tokenBucket.tryConsume(START);
+
+        // When.
+        long afterHundredMillis = tokenBucket.tryConsume(START + TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then or assertions.
+        Assertions.assertThat(afterHundredMillis).isZero();
+        Assertions.assertThat(tokenBucket.nanosUntilFull(START + TimeUnit.MILLISECONDS.toNanos(100)))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+}
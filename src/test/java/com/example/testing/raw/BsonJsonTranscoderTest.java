@@ -0,0 +1,124 @@
+package com.example.testing.raw;
+
+import com.example.testing.config.ObjectMapperConfig;
+import com.example.testing.exception.InvalidRequestException;
+import com.example.testing.model.Product;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+class BsonJsonTranscoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapperConfig().objectMapper();
+
+    @Test
+    void shouldWriteTheSameJsonAsTheMappedProduct() throws IOException {
+        // Given.
+        Product product = new Product("p-1", "Espresso \"cup\"", "Porcelain, 90 ml ☕", new BigDecimal("12.50"), 7, "c-1");
+
+        // When.
+        String json = transcode(BsonJsonTranscoder.PRODUCT, stored(product));
+
+        // Then or assertions.
+        Assertions.assertThat(json).isEqualTo(objectMapper.writeValueAsString(product));
+    }
+
+    @Test
+    void shouldWriteOnlyProjectedFields() throws IOException {
+        // Given.
+        BsonJsonTranscoder transcoder = BsonJsonTranscoder.PRODUCT.project(List.of("price", "id"));
+
+        // When.
+        String json = transcode(transcoder, stored(new Product("p-1", "Cup", "Porcelain", new BigDecimal("3.10"), 2, "c-1")));
+
+        // Then or assertions.
+        Assertions.assertThat(json).isEqualTo("{\"id\":\"p-1\",\"price\":3.10}");
+        Assertions.assertThat(transcoder.storedFieldNames()).containsExactly("_id", "price");
+    }
+
+    @Test
+    void shouldRejectUnknownProjectedFields() {
+        // When.
+        Throwable thrown = Assertions.catchThrowable(() -> BsonJsonTranscoder.PRODUCT.project(List.of("name", "secret")));
+
+        // Then or assertions.
+        Assertions.assertThat(thrown).isInstanceOf(InvalidRequestException.class).hasMessageContaining("secret");
+    }
+
+    @Test
+    void shouldSkipUnmappedFieldsOfEveryType() throws IOException {
+        // Given.
+        Document document = new Document("_id", "p-1")
+                .append("tags", new Document("colors", List.of("red", 2L, true))
+                        .append("weight", 1.5)
+                        .append("ratio", new Decimal128(new BigDecimal("0.25")))
+                        .append("added", new Date(0))
+                        .append("note", null))
+                .append("name", "Cup")
+                .append("_class", Product.class.getName());
+
+        // When.
+        String json = transcode(BsonJsonTranscoder.PRODUCT, new RawBsonDocument(document, new DocumentCodec()));
+
+        // Then or assertions.
+        Assertions.assertThat(json).isEqualTo("{\"id\":\"p-1\",\"name\":\"Cup\"}");
+    }
+
+    @Test
+    void shouldWriteNumbersStoredWithOtherTypes() throws IOException {
+        // Given.
+        Document document = new Document("_id", "p-1")
+                .append("price", new Decimal128(new BigDecimal("4.20")))
+                .append("stock", 5L);
+
+        // When.
+        String json = transcode(BsonJsonTranscoder.PRODUCT, new RawBsonDocument(document, new DocumentCodec()));
+
+        // Then or assertions.
+        Assertions.assertThat(json).isEqualTo("{\"id\":\"p-1\",\"price\":4.20,\"stock\":5}");
+    }
+
+    @Test
+    void shouldWriteMalformedNumericStringsAsStrings() throws IOException {
+        // Given.
+        Document document = new Document("_id", "p-1").append("price", "n/a");
+
+        // When.
+        String json = transcode(BsonJsonTranscoder.PRODUCT, new RawBsonDocument(document, new DocumentCodec()));
+
+        // Then or assertions.
+        Assertions.assertThat(json).isEqualTo("{\"id\":\"p-1\",\"price\":\"n/a\"}");
+    }
+
+    private String transcode(BsonJsonTranscoder transcoder, RawBsonDocument document) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json, JsonEncoding.UTF8)) {
+            transcoder.write(document, generator);
+        }
+        return json.toString(StandardCharsets.UTF_8);
+    }
+
+    private static RawBsonDocument stored(Product product) {
+        Document document = new Document("_id", product.getId())
+                .append("name", product.getName())
+                .append("description", product.getDescription())
+                .append("price", product.getPrice().toString())
+                .append("stock", product.getStock())
+                .append("categoryId", product.getCategoryId())
+                .append("_class", Product.class.getName());
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+}
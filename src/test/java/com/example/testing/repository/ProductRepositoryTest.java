@@ -8,6 +8,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -16,6 +19,7 @@ import java.util.Locale;
 import java.util.UUID;
 
 @DataMongoTest
+@Import(ProductPriceShadow.class)
 class ProductRepositoryTest extends BaseMongoContainer {
 
     private static Faker faker;
@@ -69,6 +73,41 @@ class ProductRepositoryTest extends BaseMongoContainer {
                 .hasFieldOrProperty("stock");
     }
 
+    @Test
+    void shouldFindProductsByNumericPriceRange() {
+        // Given.
+        productRepository.saveAll(List.of(
+                Product.builder().name("Tea").price(new BigDecimal("9.99")).build(),
+                Product.builder().name("Coffee").price(new BigDecimal("10.00")).build(),
+                Product.builder().name("Kettle").price(new BigDecimal("100.00")).build()));
+
+        // When.
+        List<Product> products = productRepository.findByPriceRange(new BigDecimal("9.99"), new BigDecimal("20"),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")));
+
+        // Then or assertions.
+        Assertions.assertThat(products).extracting(Product::getName).containsExactly("Coffee", "Tea");
+    }
+
+    @Test
+    void shouldPageThroughCategoryInIdOrder() {
+        // Given.
+        String categoryId = UUID.randomUUID().toString();
+        List<String> ids = List.of("p-4", "p-1", "p-5", "p-3", "p-2");
+        ids.forEach(id -> productRepository.save(Product.builder().id(id).name(id).price(BigDecimal.ONE).categoryId(categoryId).build()));
+
+        // When.
+        List<Product> firstPage = productRepository.findByCategoryId(categoryId, PageRequest.of(0, 3));
+        List<Product> secondPage = productRepository.findByCategoryId(categoryId, PageRequest.of(1, 3));
+        List<Product> samePrice = productRepository.findByPriceRange(BigDecimal.ONE, BigDecimal.ONE,
+                PageRequest.of(0, 5, Sort.by("price")));
+
+        // Then or assertions.
+        Assertions.assertThat(firstPage).extracting(Product::getId).containsExactly("p-1", "p-2", "p-3");
+        Assertions.assertThat(secondPage).extracting(Product::getId).containsExactly("p-4", "p-5");
+        Assertions.assertThat(samePrice).extracting(Product::getId).containsExactly("p-1", "p-2", "p-3", "p-4", "p-5");
+    }
+
     @Test
     void shouldReturnNullWhenNotFoundId() {
         Assertions.assertThat(productRepository.findById("123465"))
@@ -0,0 +1,174 @@
+package com.example.testing.repository.inmemory;
+
+import com.example.testing.model.Product;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+class InMemoryProductRepositoryTest {
+
+    private InMemoryProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        productRepository.saveAll(List.of(
+                product("1", "Apple Juice", "10.50", "drinks"),
+                product("2", "Apple Pie", "4.00", "bakery"),
+                product("3", "Banana Bread", "6.25", "bakery"),
+                product("4", "Apricot Jam", "3.10", "pantry"),
+                product("5", "Almond Milk", "2.99", "drinks")));
+    }
+
+    @Test
+    void shouldPageProductsOfCategoryInRequestedOrder() {
+        // When.
+        List<Product> firstPage = productRepository.findByCategoryId("bakery", PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "price")));
+        List<Product> secondPage = productRepository.findByCategoryId("bakery", PageRequest.of(1, 1, Sort.by(Sort.Direction.DESC, "price")));
+
+        // Then or assertions.
+        Assertions.assertThat(firstPage).extracting(Product::getId).containsExactly("3");
+        Assertions.assertThat(secondPage).extracting(Product::getId).containsExactly("2");
+    }
+
+    @Test
+    void shouldFindProductsByInclusivePriceRangeAndNamePrefix() {
+        // When.
+        List<Product> byPrice = productRepository.findByPriceRange(new BigDecimal("3.10"), new BigDecimal("6.25"), PageRequest.of(0, 10));
+        List<Product> byName = productRepository.findByNameStartingWith("Ap", PageRequest.of(0, 10, Sort.by("name")));
+
+        // Then or assertions.
+        Assertions.assertThat(byPrice).extracting(Product::getId).containsExactlyInAnyOrder("2", "3", "4");
+        Assertions.assertThat(byName).extracting(Product::getName).containsExactly("Apple Juice", "Apple Pie", "Apricot Jam");
+    }
+
+    @Test
+    void shouldFindProductsByExample() {
+        // Given.
+        Product drinks = Product.builder().categoryId("drinks").stock(10).build();
+        Product pies = Product.builder().name("pie").build();
+        ExampleMatcher endingWithIgnoringCase = ExampleMatcher.matching()
+                .withIgnorePaths("stock")
+                .withMatcher("name", ExampleMatcher.GenericPropertyMatcher::endsWith)
+                .withIgnoreCase("name");
+
+        // When.
+        List<Product> byCategory = productRepository.findAll(Example.of(drinks), Sort.by("price"));
+        Page<Product> firstPage = productRepository.findAll(Example.of(drinks), PageRequest.of(0, 1, Sort.by("price")));
+        Optional<Product> byName = productRepository.findOne(Example.of(pies, endingWithIgnoringCase));
+
+        // Then or assertions.
+        Assertions.assertThat(byCategory).extracting(Product::getId).containsExactly("5", "1");
+        Assertions.assertThat(firstPage.getContent()).extracting(Product::getId).containsExactly("5");
+        Assertions.assertThat(firstPage.getTotalElements()).isEqualTo(2);
+        Assertions.assertThat(byName).get().extracting(Product::getId).isEqualTo("2");
+        Assertions.assertThat(productRepository.count(Example.of(Product.builder().stock(10).build()))).isEqualTo(5);
+        Assertions.assertThat(productRepository.exists(Example.of(Product.builder().categoryId("frozen").build()))).isFalse();
+    }
+
+    @Test
+    void shouldRejectExampleMatchingSeveralProductsForFindOne() {
+        // Given.
+        Product bakery = Product.builder().categoryId("bakery").stock(10).build();
+
+        // When & assertions.
+        Assertions.assertThatThrownBy(() -> productRepository.findOne(Example.of(bakery)))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    void shouldFindProductsByFluentExample() {
+        // Given.
+        Product bakery = Product.builder().categoryId("bakery").stock(10).build();
+
+        // When.
+        List<Product> byPrice = productRepository.findBy(Example.of(bakery), query -> query.sortBy(Sort.by("price")).all());
+        Product cheapest = productRepository.findBy(Example.of(bakery), query -> query.sortBy(Sort.by("price")).firstValue());
+        Page<Product> secondPage = productRepository.findBy(Example.of(bakery), query -> query.page(PageRequest.of(1, 1, Sort.by("price"))));
+        List<String> names = productRepository.findBy(Example.of(bakery), query -> query.as(Named.class).stream().map(Named::getName).toList());
+        long count = productRepository.findBy(Example.of(bakery), FluentQuery.FetchableFluentQuery::count);
+
+        // Then or assertions.
+        Assertions.assertThat(byPrice).extracting(Product::getId).containsExactly("2", "3");
+        Assertions.assertThat(cheapest.getId()).isEqualTo("2");
+        Assertions.assertThat(secondPage.getContent()).extracting(Product::getId).containsExactly("3");
+        Assertions.assertThat(secondPage.getTotalElements()).isEqualTo(2);
+        Assertions.assertThat(names).containsExactlyInAnyOrder("Apple Pie", "Banana Bread");
+        Assertions.assertThat(count).isEqualTo(2);
+        Assertions.assertThatThrownBy(() -> productRepository.findBy(Example.of(bakery), FluentQuery.FetchableFluentQuery::oneValue))
+                .isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    void shouldIgnoreUnknownSortProperty() {
+        // When.
+        List<Product> products = productRepository.findAll(Sort.by("colour").and(Sort.by(Sort.Direction.DESC, "price")));
+
+        // Then or assertions.
+        Assertions.assertThat(products).extracting(Product::getId).containsExactly("1", "3", "2", "4", "5");
+    }
+
+    @Test
+    void shouldMoveProductBetweenIndexesWhenSavedAgain() {
+        // Given.
+        productRepository.save(product("2", "Cherry Pie", "4.00", "desserts"));
+
+        // When.
+        List<Product> bakery = productRepository.findByCategoryId("bakery", PageRequest.of(0, 10));
+        List<Product> desserts = productRepository.findByCategoryId("desserts", PageRequest.of(0, 10));
+        List<Product> apples = productRepository.findByNameStartingWith("Apple", PageRequest.of(0, 10));
+
+        // Then or assertions.
+        Assertions.assertThat(bakery).extracting(Product::getId).containsExactly("3");
+        Assertions.assertThat(desserts).extracting(Product::getId).containsExactly("2");
+        Assertions.assertThat(apples).extracting(Product::getId).containsExactly("1");
+    }
+
+    @Test
+    void shouldIsolateStoredProductsFromCallerChanges() {
+        // Given.
+        Product product = productRepository.findById("1").orElseThrow();
+
+        // When.
+        product.setCategoryId("bakery");
+
+        // Then or assertions.
+        Assertions.assertThat(productRepository.findById("1")).get().extracting(Product::getCategoryId).isEqualTo("drinks");
+        Assertions.assertThat(productRepository.findByCategoryId("bakery", PageRequest.of(0, 10))).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectInsertOfExistingId() {
+        // When & assertions.
+        Assertions.assertThatThrownBy(() -> productRepository.insert(product("1", "Orange Juice", "3.00", "drinks")))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private Product product(String id, String name, String price, String categoryId) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(name)
+                .price(new BigDecimal(price))
+                .stock(10)
+                .categoryId(categoryId)
+                .build();
+    }
+
+    interface Named {
+
+        String getName();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.testing.search;
+
+import com.example.testing.config.AutocompleteProperties;
+import com.example.testing.config.HotKeyProperties;
+import com.example.testing.monitoring.HotKeyTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class AutocompleteIndexTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutocompleteIndex autocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        autocompleteIndex = new AutocompleteIndex(new AutocompleteProperties(true, 3),
+                new HotKeyTracker(new HotKeyProperties(20, 8192, 4)), meterRegistry);
+    }
+
+    @Test
+    void shouldReturnMostPopularCompletionsForPrefix() {
+        // Given.
+        autocompleteIndex.rebuild(() -> Stream.of(
+                product("1", "Espresso cup", 10, 5),
+                product("2", "Espresso machine", 50, 1),
+                product("3", "Espresso beans", 10, 9),
+                product("4", "Esp32 board", 1, 100),
+                product("5", "Ethiopian beans", 99, 1),
+                new Completion(Completion.CATEGORY, "c-1", "Espresso", 5, 0)));
+
+        // When.
+        List<Completion> espresso = autocompleteIndex.complete("ESPRE", 10);
+        List<Completion> es = autocompleteIndex.complete("es", 2);
+
+        // Then or assertions.
+        Assertions.assertThat(espresso).extracting(Completion::id).containsExactly("2", "3", "1");
+        Assertions.assertThat(es).extracting(Completion::id).containsExactly("2", "3");
+        Assertions.assertThat(autocompleteIndex.complete("espx", 10)).isEmpty();
+        Assertions.assertThat(autocompleteIndex.complete("ethiopian beans", 10)).extracting(Completion::id).containsExactly("5");
+    }
+
+    @Test
+    void shouldServeSavedNamesBeforeNextRebuild() {
+        // Given.
+        autocompleteIndex.rebuild(() -> Stream.of(product("1", "Espresso cup", 10, 5)));
+
+        // When.
+        autocompleteIndex.add(product("2", "Espresso tamper", 20, 5));
+        autocompleteIndex.add(product("1", "Latte cup", 10, 5));
+
+        // Then or assertions.
+        Assertions.assertThat(autocompleteIndex.complete("espresso", 10)).extracting(Completion::id).containsExactly("2");
+        Assertions.assertThat(autocompleteIndex.complete("latte", 10)).extracting(Completion::id).containsExactly("1");
+    }
+
+    @Test
+    void shouldFillLimitWhenOverlayShadowsTopEntry() {
+        // Given.
+        autocompleteIndex.rebuild(() -> Stream.of(
+                product("1", "Espresso cup", 10, 5),
+                product("2", "Espresso machine", 50, 1),
+                product("3", "Espresso beans", 10, 9),
+                product("4", "Espresso tamper", 5, 2)));
+
+        // When.
+        autocompleteIndex.add(product("2", "Latte machine", 50, 1));
+
+        // Then or assertions.
+        Assertions.assertThat(autocompleteIndex.complete("espresso", 3)).extracting(Completion::id).containsExactly("3", "1", "4");
+    }
+
+    @Test
+    void shouldDropOverlayOnceRebuildHasPickedItUp() {
+        // Given.
+        autocompleteIndex.add(product("1", "Espresso cup", 10, 5));
+
+        // When.
+        autocompleteIndex.rebuild(() -> Stream.of(product("1", "Espresso cup", 10, 5)));
+
+        // Then or assertions.
+        Assertions.assertThat(autocompleteIndex.complete("espresso", 10)).extracting(Completion::id).containsExactly("1");
+        Assertions.assertThat(meterRegistry.get("autocomplete.overlay.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldKeepOverlayOfSavesMadeWhileSourceWasOpening() {
+        // Given.
+        autocompleteIndex.add(product("1", "Espresso cup", 10, 5));
+
+        // When. The second save lands after the rebuild started but before its source was read.
+        autocompleteIndex.rebuild(() -> {
+            autocompleteIndex.add(product("2", "Espresso tamper", 20, 5));
+            return Stream.of(product("1", "Espresso cup", 10, 5));
+        });
+
+        // Then or assertions.
+        Assertions.assertThat(autocompleteIndex.complete("espresso", 10)).extracting(Completion::id).containsExactly("2", "1");
+        Assertions.assertThat(meterRegistry.get("autocomplete.overlay.size").gauge().value()).isEqualTo(1);
+    }
+
+    private Completion product(String id, String name, long popularity, int stock) {
+        return new Completion(Completion.PRODUCT, id, name, popularity, stock);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.testing.search;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+class InvertedIndexTest {
+
+    private InvertedIndex invertedIndex;
+
+    @BeforeEach
+    void setUp() {
+        invertedIndex = new InvertedIndex(1.2f, 0.75f);
+    }
+
+    @Test
+    void shouldRankRareTermsAndNameMatchesHigher() {
+        // Given.
+        invertedIndex.index("1", "Espresso cup", "Porcelain cup for a double shot");
+        invertedIndex.index("2", "Coffee mug", "Large mug, also fits an espresso");
+        invertedIndex.index("3", "Tea cup", "Porcelain cup with saucer");
+
+        // When.
+        List<SearchHit> hits = invertedIndex.search("espresso cup", 0, 10);
+
+        // Then or assertions.
+        Assertions.assertThat(hits).extracting(SearchHit::id).containsExactly("1", "3", "2");
+        Assertions.assertThat(hits).extracting(SearchHit::score).isSortedAccordingTo((a, b) -> Float.compare(b, a));
+    }
+
+    @Test
+    void shouldForgetOldTermsWhenDocumentIsReindexed() {
+        // Given.
+        invertedIndex.index("1", "Espresso cup", "Porcelain");
+
+        // When.
+        invertedIndex.index("1", "Latte glass", "Double walled");
+
+        // Then or assertions.
+        Assertions.assertThat(invertedIndex.search("espresso", 0, 10)).isEmpty();
+        Assertions.assertThat(invertedIndex.search("latte", 0, 10)).extracting(SearchHit::id).containsExactly("1");
+        Assertions.assertThat(invertedIndex.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPageThroughHitsInRankOrder() {
+        // Given.
+        for (int i = 0; i < 25; i++) {
+            invertedIndex.index(Integer.toString(i), "Grinder", "grinder ".repeat(i + 1));
+        }
+
+        // When.
+        List<SearchHit> firstPage = invertedIndex.search("grinder", 0, 10);
+        List<SearchHit> thirdPage = invertedIndex.search("grinder", 20, 10);
+
+        // Then or assertions.
+        Assertions.assertThat(firstPage).hasSize(10);
+        Assertions.assertThat(thirdPage).hasSize(5);
+        Assertions.assertThat(firstPage.get(9).score()).isGreaterThanOrEqualTo(thirdPage.get(0).score());
+    }
+
+    @Test
+    void shouldReturnNothingForPageBeyondLastHit() {
+        // Given.
+        invertedIndex.index("1", "Grinder", "Burr grinder");
+
+        // When.
+        List<SearchHit> hits = invertedIndex.search("grinder", Integer.MAX_VALUE - 10, 10);
+
+        // Then or assertions.
+        Assertions.assertThat(hits).isEmpty();
+        Assertions.assertThatThrownBy(() -> invertedIndex.search("grinder", Integer.MAX_VALUE, 10))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void shouldReuseScoreBuffersAcrossCommonTermQueries() {
+        // Given.
+        for (int i = 0; i < 10_000; i++) {
+            invertedIndex.index(Integer.toString(i), "Grinder " + i, i % 2 == 0 ? "burr" : "blade");
+        }
+        invertedIndex.search("grinder burr", 0, 10);
+        long allocationsAfterFirstQuery = invertedIndex.scoreAllocations();
+
+        // When.
+        for (int i = 0; i < 100; i++) {
+            invertedIndex.search("grinder burr", i, 10);
+        }
+
+        // Then or assertions.
+        Assertions.assertThat(allocationsAfterFirstQuery).isPositive();
+        Assertions.assertThat(invertedIndex.scoreAllocations()).isEqualTo(allocationsAfterFirstQuery);
+        Assertions.assertThat(invertedIndex.search("grinder burr", 0, 10)).extracting(SearchHit::id)
+                .allSatisfy(id -> Assertions.assertThat(Integer.parseInt(id) % 2).isZero());
+    }
+
+    @Test
+    void shouldRoundTripPostingsThroughVarIntEncoding() {
+        // Given.
+        PostingsList postingsList = new PostingsList();
+        int[] docIds = {0, 1, 127, 128, 16_384, 2_000_000};
+
+        // When.
+        for (int docId : docIds) {
+            postingsList.add(docId, docId % 300 + 1);
+        }
+
+        // Then or assertions.
+        Iterator<Integer> expected = Arrays.stream(docIds).iterator();
+        postingsList.forEach((docId, termFrequency) -> {
+            int expectedDocId = expected.next();
+            Assertions.assertThat(docId).isEqualTo(expectedDocId);
+            Assertions.assertThat(termFrequency).isEqualTo(expectedDocId % 300 + 1);
+        });
+        Assertions.assertThat(expected).isExhausted();
+        Assertions.assertThat(postingsList.documentCount()).isEqualTo(docIds.length);
+    }
+}
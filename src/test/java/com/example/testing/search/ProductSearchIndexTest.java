@@ -0,0 +1,32 @@
+package com.example.testing.search;
+
+import com.example.testing.config.SearchProperties;
+import com.example.testing.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Stream;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex(new SearchProperties(true, 1.2f, 0.75f, 10_000),
+            new SimpleMeterRegistry());
+
+    @Test
+    void shouldKeepProductsSavedBeforeTheRebuildCursorOpens() {
+        // Given.
+        Product existing = Product.builder().id("1").name("Espresso cup").description("Porcelain").build();
+        Product saved = Product.builder().id("2").name("Latte glass").description("Double walled").build();
+
+        // When. The save lands after the rebuild started but before its cursor returns anything.
+        productSearchIndex.rebuild(() -> {
+            productSearchIndex.index(saved);
+            return Stream.of(existing);
+        });
+
+        // Then or assertions.
+        Assertions.assertThat(productSearchIndex.search("latte", 0, 10)).extracting(SearchHit::id).containsExactly("2");
+        Assertions.assertThat(productSearchIndex.search("espresso", 0, 10)).extracting(SearchHit::id).containsExactly("1");
+    }
+}
@@ -1,10 +1,17 @@
 package com.example.testing.service;
 
 import com.github.javafaker.Faker;
+import com.example.testing.cache.LocalCache;
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.config.IdFilterProperties;
+import com.example.testing.event.CategorySavedEvent;
+import com.example.testing.index.CatalogIdIndex;
 import com.example.testing.model.Category;
 import com.example.testing.model.CategoryRequest;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.repository.CategoryRepository;
 import com.example.testing.service.impl.CategoryServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -13,13 +20,17 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.example.testing.asserts.ProjectAssertions.assertThat;
 
@@ -31,6 +42,18 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private LocalCache<String, Category> categoryCache = new LocalCache<>("category", 100);
+
+    @Spy
+    private CatalogIdIndex catalogIdIndex = new CatalogIdIndex(new IdFilterProperties(true, 1000, 0.01, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoryServiceImpl categoryService;
 
@@ -72,6 +95,41 @@ class CategoryServiceTest {
         Assertions.assertThat(retrievedCategory.getDescription()).isEqualTo(category.getDescription());
     }
 
+    @Test
+    void shouldReturnCategoriesByIdsAndReportMissingIds() {
+        // Mock.
+        Category category = populateRandomCategory();
+        String missingId = UUID.randomUUID().toString();
+
+        // Given.
+        BDDMockito.given(categoryRepository.findAllById(List.of(missingId, category.getId()))).willReturn(List.of(category));
+
+        // When.
+        MultiGetResponse<Category> response = categoryService.findAllById(List.of(missingId, category.getId()));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getItems()).containsExactly(category);
+        Assertions.assertThat(response.getMissingIds()).containsExactly(missingId);
+    }
+
+    @Test
+    void shouldFindSavedCategoryAfterIdFilterWasBuilt() {
+        // Mock.
+        CategoryRequest categoryRequest = populateRandomCategoryRequest();
+        Category category = populateSavedCategory(categoryRequest);
+        catalogIdIndex.rebuildCategories(Stream::empty);
+
+        // Given.
+        BDDMockito.given(categoryRepository.save(ArgumentMatchers.any(Category.class))).willReturn(category);
+
+        // When.
+        categoryService.save(categoryRequest);
+
+        // Then or assertions.
+        Assertions.assertThat(catalogIdIndex.mightContainCategory(category.getId())).isTrue();
+        Assertions.assertThat(catalogIdIndex.mightContainCategory("123456")).isFalse();
+    }
+
     @Test
     void shouldSaveCategoryWithValidData() {
         // Mock.
@@ -89,6 +147,7 @@ class CategoryServiceTest {
                 .hasId()
                 .hasName(categoryRequest.getName())
                 .hasDescription(categoryRequest.getDescription());
+        BDDMockito.then(eventPublisher).should().publishEvent(new CategorySavedEvent(savedCategory));
     }
 
     private List<Category> populateCategoriesList() {
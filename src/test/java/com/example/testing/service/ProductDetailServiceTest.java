@@ -0,0 +1,108 @@
+package com.example.testing.service;
+
+import com.example.testing.config.ProductDetailProperties;
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import com.example.testing.model.ProductDetail;
+import com.example.testing.service.design.CategoryService;
+import com.example.testing.service.design.ProductService;
+import com.example.testing.service.impl.ProductDetailServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class ProductDetailServiceTest {
+
+    private static final Product PRODUCT = new Product("p-1", "Espresso", "Double shot", new BigDecimal("2.10"), 5, "c-1");
+    private static final Product RELATED_PRODUCT = new Product("p-2", "Ristretto", "Short shot", new BigDecimal("2.00"), 5, "c-1");
+    private static final Category CATEGORY = new Category("c-1", "Coffee", "Hot drinks");
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private ProductDetailServiceImpl productDetailService;
+
+    @BeforeEach
+    void setUp() {
+        productDetailService = new ProductDetailServiceImpl(productService, categoryService,
+                new ProductDetailProperties(Duration.ofSeconds(2), Duration.ofMillis(100), 5, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldAssembleProductCategoryAndRelatedProducts() {
+        // Given.
+        BDDMockito.given(productService.findById(PRODUCT.getId())).willReturn(PRODUCT);
+        BDDMockito.given(categoryService.findById(CATEGORY.getId())).willReturn(CATEGORY);
+        BDDMockito.given(productService.findByCategoryId(ArgumentMatchers.eq(CATEGORY.getId()), ArgumentMatchers.any()))
+                .willReturn(List.of(PRODUCT, RELATED_PRODUCT));
+
+        // When.
+        ProductDetail productDetail = productDetailService.findById(PRODUCT.getId());
+
+        // Then or assertions.
+        Assertions.assertThat(productDetail.getProduct()).isEqualTo(PRODUCT);
+        Assertions.assertThat(productDetail.getCategory()).isEqualTo(CATEGORY);
+        Assertions.assertThat(productDetail.getRelatedProducts()).containsExactly(RELATED_PRODUCT);
+        Assertions.assertThat(productDetail.getDegradedParts()).isEmpty();
+    }
+
+    @Test
+    void shouldLeaveOutOptionalPartThatMissesItsDeadline() {
+        // Given.
+        BDDMockito.given(productService.findById(PRODUCT.getId())).willReturn(PRODUCT);
+        BDDMockito.given(categoryService.findById(CATEGORY.getId())).willReturn(CATEGORY);
+        BDDMockito.given(productService.findByCategoryId(ArgumentMatchers.eq(CATEGORY.getId()), ArgumentMatchers.any()))
+                .willAnswer(invocation -> {
+                    Thread.sleep(Duration.ofSeconds(10));
+                    return List.of(RELATED_PRODUCT);
+                });
+
+        // When.
+        long start = System.nanoTime();
+        ProductDetail productDetail = productDetailService.findById(PRODUCT.getId());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then or assertions.
+        Assertions.assertThat(productDetail.getCategory()).isEqualTo(CATEGORY);
+        Assertions.assertThat(productDetail.getRelatedProducts()).isEmpty();
+        Assertions.assertThat(productDetail.getDegradedParts()).containsExactly(ProductDetail.RELATED_PRODUCTS);
+        Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldFailWhenRequiredPartFails() {
+        // Given.
+        BDDMockito.given(productService.findById(PRODUCT.getId())).willReturn(PRODUCT);
+        BDDMockito.given(categoryService.findById(CATEGORY.getId())).willThrow(new IllegalStateException("database unavailable"));
+        Mockito.lenient().when(productService.findByCategoryId(ArgumentMatchers.eq(CATEGORY.getId()), ArgumentMatchers.any()))
+                .thenReturn(List.of(RELATED_PRODUCT));
+
+        // When & assertions.
+        Assertions.assertThatThrownBy(() -> productDetailService.findById(PRODUCT.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("database unavailable");
+    }
+
+    @Test
+    void shouldReturnNullForUnknownProduct() {
+        // When.
+        ProductDetail productDetail = productDetailService.findById("unknown");
+
+        // Then or assertions.
+        Assertions.assertThat(productDetail).isNull();
+    }
+}
@@ -1,10 +1,22 @@
 package com.example.testing.service;
 
 import com.github.javafaker.Faker;
+import com.example.testing.cache.LocalCache;
+import com.example.testing.cache.OffHeapCache;
+import com.example.testing.cache.ProductSerializer;
+import com.example.testing.concurrent.RequestCoalescer;
+import com.example.testing.config.HotKeyProperties;
+import com.example.testing.config.IdFilterProperties;
+import com.example.testing.event.ProductSavedEvent;
+import com.example.testing.index.CatalogIdIndex;
+import com.example.testing.index.CatalogIds;
+import com.example.testing.model.MultiGetResponse;
 import com.example.testing.model.Product;
 import com.example.testing.model.ProductRequest;
+import com.example.testing.monitoring.HotKeyTracker;
 import com.example.testing.repository.ProductRepository;
 import com.example.testing.service.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -13,14 +25,19 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.example.testing.asserts.ProjectAssertions.assertThat;
 
@@ -32,6 +49,24 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private LocalCache<String, Product> productCache = new LocalCache<>("product", 100);
+
+    @Spy
+    private OffHeapCache<Product> productOffHeapCache = new OffHeapCache<>("product-offheap", 1 << 20, new ProductSerializer());
+
+    @Spy
+    private CatalogIdIndex catalogIdIndex = new CatalogIdIndex(new IdFilterProperties(true, 1000, 0.01, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+
+    @Spy
+    private HotKeyTracker hotKeyTracker = new HotKeyTracker(new HotKeyProperties(20, 8192, 4));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -76,6 +111,117 @@ class ProductServiceTest {
                 .isEqualTo(product);
     }
 
+    @Test
+    void shouldServeRepeatedLookupFromCache() {
+        // Mock.
+        Product product = populateRandomProduct();
+
+        // Given.
+        BDDMockito.given(productRepository.findById(product.getId())).willReturn(Optional.of(product));
+
+        // When.
+        productService.findById(product.getId());
+        Product actualProduct = productService.findById(product.getId());
+
+        // Then or assertions.
+        Assertions.assertThat(actualProduct).isEqualTo(product);
+        BDDMockito.then(productRepository).should(Mockito.times(1)).findById(product.getId());
+    }
+
+    @Test
+    void shouldServeProductFromOffHeapCacheAndPromoteIt() {
+        // Mock.
+        Product product = populateRandomProduct();
+        productOffHeapCache.put(product.getId(), product);
+
+        // When.
+        Product actualProduct = productService.findById(product.getId());
+
+        // Then or assertions.
+        Assertions.assertThat(actualProduct).isEqualTo(product);
+        Assertions.assertThat(productCache.get(product.getId())).isEqualTo(product);
+        BDDMockito.then(productRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldReadFromPrimaryWhenSecondaryHasNotReplicatedProduct() {
+        // Mock. A freshly created id, which the secondary may not have yet.
+        Product product = populateRandomProduct();
+        product.setId(CatalogIds.next());
+
+        // Given.
+        BDDMockito.given(productRepository.findById(product.getId())).willReturn(Optional.empty());
+        BDDMockito.given(productRepository.findPrimaryById(product.getId())).willReturn(Optional.of(product));
+
+        // When.
+        Product actualProduct = productService.findById(product.getId());
+
+        // Then or assertions.
+        Assertions.assertThat(actualProduct).isEqualTo(product);
+    }
+
+    @Test
+    void shouldNotRetryOnPrimaryForMissingIdThatIsNotRecent() {
+        // Mock.
+        String missingId = UUID.randomUUID().toString();
+
+        // Given.
+        BDDMockito.given(productRepository.findById(missingId)).willReturn(Optional.empty());
+
+        // When.
+        Product actualProduct = productService.findById(missingId);
+
+        // Then or assertions.
+        Assertions.assertThat(actualProduct).isNull();
+        BDDMockito.then(productRepository).should(Mockito.never()).findPrimaryById(missingId);
+    }
+
+    @Test
+    void shouldNotQueryRepositoryForIdRejectedByIdFilter() {
+        // Given.
+        catalogIdIndex.rebuildProducts(() -> Stream.of(UUID.randomUUID().toString()));
+
+        // When.
+        Product actualProduct = productService.findById("123456");
+
+        // Then or assertions.
+        Assertions.assertThat(actualProduct).isNull();
+        BDDMockito.then(productRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldReturnProductsByIdsInRequestOrderAndReportMissingIds() {
+        // Mock.
+        Product cachedProduct = populateRandomProduct();
+        Product storedProduct = populateRandomProduct();
+        String missingId = UUID.randomUUID().toString();
+        productCache.put(cachedProduct.getId(), cachedProduct);
+
+        // Given.
+        BDDMockito.given(productRepository.findAllById(List.of(storedProduct.getId(), missingId))).willReturn(List.of(storedProduct));
+
+        // When.
+        MultiGetResponse<Product> response = productService.findAllById(List.of(storedProduct.getId(), cachedProduct.getId(), missingId));
+
+        // Then or assertions.
+        Assertions.assertThat(response.getItems()).containsExactly(storedProduct, cachedProduct);
+        Assertions.assertThat(response.getMissingIds()).containsExactly(missingId);
+    }
+
+    @Test
+    void shouldCountSingleAndBatchReadsOfProductInSameKeySpace() {
+        // Mock.
+        Product product = populateRandomProduct();
+        productCache.put(product.getId(), product);
+
+        // When.
+        productService.findById(product.getId());
+        productService.findAllById(List.of(product.getId(), product.getId()));
+
+        // Then or assertions.
+        Assertions.assertThat(hotKeyTracker.estimate(HotKeyTracker.PRODUCT_READS, product.getId())).isEqualTo(2);
+    }
+
     @Test
     void shouldSaveProductWhenValidRequest() {
         // Mock.
@@ -97,6 +243,7 @@ class ProductServiceTest {
                 .hasCategoryId(productRequest.getCategoryId())
                 .hasStock(productRequest.getStock())
                 .hasPrice(productRequest.getPrice());
+        BDDMockito.then(eventPublisher).should().publishEvent(new ProductSavedEvent(savedProduct));
     }
 
     private Product populateValidProduct(ProductRequest productRequest) {
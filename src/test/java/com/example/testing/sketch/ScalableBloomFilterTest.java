@@ -0,0 +1,49 @@
+package com.example.testing.sketch;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ScalableBloomFilterTest {
+
+    @Test
+    void shouldNeverReportFalseNegativesWhileGrowing() {
+        // Given.
+        ScalableBloomFilter bloomFilter = new ScalableBloomFilter(1_000, 0.01);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+
+        // When.
+        ids.forEach(bloomFilter::put);
+
+        // Then or assertions.
+        Assertions.assertThat(ids).allMatch(bloomFilter::mightContain);
+        Assertions.assertThat(bloomFilter.bitSize()).isGreaterThan(20_000L);
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredProbability() {
+        // Given.
+        ScalableBloomFilter bloomFilter = new ScalableBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            bloomFilter.put(UUID.randomUUID().toString());
+        }
+
+        // When.
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (bloomFilter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Then or assertions.
+        Assertions.assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.testing.snapshot;
+
+import com.example.testing.model.Category;
+import com.example.testing.model.Product;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReadBackWrittenSnapshot() throws IOException {
+        // Given.
+        CatalogSnapshot snapshot = new CatalogSnapshot(
+                Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                List.of(new Product("p-1", "Crème brûlée", null, new BigDecimal("4.50"), 12, "c-1"),
+                        new Product("p-2", "Espresso", "Double shot", new BigDecimal("2.10"), 0, "c-2")),
+                List.of(new Category("c-1", "Desserts", "Sweet things"), new Category("c-2", "Drinks", null)));
+        Path file = directory.resolve("catalog.snapshot");
+
+        // When.
+        CatalogSnapshotFile.write(file, snapshot);
+        CatalogSnapshot actualSnapshot = CatalogSnapshotFile.read(file);
+
+        // Then or assertions.
+        Assertions.assertThat(actualSnapshot).usingRecursiveComparison().isEqualTo(snapshot);
+    }
+
+    @Test
+    void shouldRejectCorruptSnapshot() throws IOException {
+        // Given.
+        Path file = directory.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(file, new CatalogSnapshot(Instant.now(),
+                List.of(new Product("p-1", "Espresso", "Single shot", new BigDecimal("1.80"), 3, "c-1")), List.of()));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x7f;
+        Files.write(file, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+
+        // When & assertions.
+        Assertions.assertThatThrownBy(() -> CatalogSnapshotFile.read(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt");
+    }
+}